@@ -1,10 +1,15 @@
 package io.testproject.constants;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Project constants
  */
 public class Constants {
-    private static final String TP_BASE_URL = "https://api.testproject.io";
+    public static final String TP_API_HOST = "api.testproject.io";
+    private static final String TP_BASE_URL = "https://" + TP_API_HOST;
 
     public static final String TP_RUN_JOB_URL = TP_BASE_URL + "/v2/projects/%s/jobs/%s/run";
     public static final String TP_CHECK_EXECUTION_STATE_URL = TP_BASE_URL + "/v2/projects/%s/jobs/%s/executions/%s/state";
@@ -37,6 +42,40 @@ public class Constants {
     public static final int DEFAULT_READ_TIMEOUT = 90000;
 
     public static final int DEFAULT_WAIT_TIME = 30; // Seconds
+    public static final int DEFAULT_EXECUTIONS_WAIT_TIME = 3600; // Seconds
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    public static final long STATE_CHECK_DELAY = 5000; // Milliseconds
+    public static final long STATE_CHECK_INTERVAL = 3000; // Milliseconds
+    public static final long CALLBACK_STATE_CHECK_INTERVAL = 30000; // Milliseconds
+    public static final long ABORT_CONFIRM_TIMEOUT = 60000; // Milliseconds
+    public static final long ABORT_CONFIRM_INTERVAL = 2000; // Milliseconds
+    public static final int LATENCY_SAMPLES = 200;
+    public static final int HEDGE_MIN_SAMPLES = 20;
+    public static final int HEDGE_BUDGET_PERCENT = 5;
+    public static final int HEDGE_BUDGET_MAX_TOKENS = 10;
+    public static final int BREAKER_FAILURE_THRESHOLD = 5;
+    public static final long BREAKER_OPEN_TIME = 30000; // Milliseconds
+    public static final int MAX_CONCURRENT_REQUESTS = 16;
+    public static final int MAX_QUEUED_REQUESTS = 1024;
+    public static final int MAX_CONCURRENT_UPLOADS = 4;
+    public static final int MAX_CONCURRENT_POLLS = 64; // With virtual threads
+    public static final List<String> APP_FILE_EXTENSIONS = Collections.unmodifiableList(Arrays.asList("apk", "ipa"));
+    public static final List<String> DATA_SOURCE_FILE_EXTENSIONS = Collections.singletonList("csv");
+    public static final long METADATA_CACHE_TTL = 60000; // Milliseconds
+    public static final int WARM_UP_MAX_PROJECTS = 10;
+    public static final int SEARCH_RESULTS_LIMIT = 50;
+    public static final long NAME_INDEX_REFRESH_INTERVAL = 300000; // Milliseconds
+    public static final long NAME_INDEX_MISS_REFRESH = 10000; // Milliseconds
+    public static final long NAME_INDEX_IDLE_TIME = 3600000; // Milliseconds
+    public static final long AGENT_INVENTORY_TTL = 60000; // Milliseconds
+    public static final long AGENT_INVENTORY_IDLE_TIME = 600000; // Milliseconds
+    public static final int FINGERPRINT_DISPLAY_LENGTH = 12;
+    public static final int RESULT_CACHE_MAX_ENTRIES = 200;
+
+    public static final int COMPRESSION_MIN_SIZE = 8 * 1024; // Bytes
+    public static final int REQUEST_BODY_MEMORY_LIMIT = 1024 * 1024; // Bytes, larger JSON bodies are buffered in a temporary file
 
     public static final String AUTH_HEADER = "Authorization";
     public static final String ACCEPT = "accept";
@@ -44,21 +83,49 @@ public class Constants {
     public static final String TP_JOB_SYMBOL = "tpJobRun";
     public static final String TP_TEST_SYMBOL = "tpTestRun";
     public static final String TP_PROJ_PARAM_SYMBOL = "tpProjectParamUpdate";
+    public static final String TP_PROJ_PARAMS_SYMBOL = "tpProjectParamsUpdate";
     public static final String TP_TEST_PACKAGE_SYMBOL = "tpTestPackageUpdate";
     public static final String TP_APP_FILE_SYMBOL = "tpAppUpdateFile";
     public static final String TP_APP_URL_SYMBOL = "tpAppUpdateURL";
     public static final String TP_DATA_SOURCE_SYMBOL = "tpDataSourceUpdate";
+    public static final String TP_ARTIFACTS_SYMBOL = "tpArtifactsUpdate";
     public static final String TP_GENERATE_AGENT_CONFIG_TOKEN_SYMBOL = "tpAgentConfig";
+    public static final String TP_JOB_TRIGGER_SYMBOL = "tpJobTrigger";
+    public static final String TP_EXECUTIONS_WAIT_SYMBOL = "tpExecutionsWait";
+    public static final String TP_JOBS_RUN_SYMBOL = "tpJobsRun";
+    public static final String TP_GRAPH_RUN_SYMBOL = "tpExecutionGraph";
 
     public static final String TP_JOB_DISPLAY_NAME = "Run TestProject Job";
     public static final String TP_TEST_DISPLAY_NAME = "Run TestProject Test";
     public static final String TP_PROJ_PARAM_NAME = "Update TestProject Project Parameter";
+    public static final String TP_PROJ_PARAMS_NAME = "Update TestProject Project Parameters";
     public static final String TP_TEST_PACKAGE_NAME = "Update TestProject Test Package";
     public static final String TP_APP_FILE_NAME = "Update TestProject Mobile Application";
     public static final String TP_APP_URL_NAME = "Update TestProject Web Application";
     public static final String TP_DATA_SOURCE_NAME = "Update TestProject Data Source";
+    public static final String TP_ARTIFACTS_NAME = "Update TestProject Applications and Data Sources";
+    public static final String TP_ARTIFACT_FILE_NAME = "Artifact";
     public static final String TP_GENERATE_AGENT_CONFIG_TOKEN = "Generate TestProject Agent Configuration";
     public static final String TP_PLUGIN_CONFIGURATION = "TestProject Global Configuration";
+    public static final String TP_JOB_TRIGGER_NAME = "Trigger TestProject Job";
+    public static final String TP_EXECUTIONS_WAIT_NAME = "Wait for TestProject Executions";
+    public static final String TP_JOBS_RUN_NAME = "Run TestProject Jobs in Parallel";
+    public static final String TP_JOB_ENTRY_NAME = "Job";
+    public static final String TP_GRAPH_RUN_NAME = "Run TestProject Jobs and Tests by Dependencies";
+    public static final String TP_GRAPH_NODE_NAME = "Execution";
+    public static final String TP_STATUS_NAME = "TestProject API Status";
+
+    public static final String WAIT_MODE_ALL = "all";
+    public static final String WAIT_MODE_ANY = "any";
+
+    public static final String TP_CALLBACK_URL_NAME = "testproject-callback";
+    public static final String TP_STATUS_URL_NAME = "testproject-status";
+    public static final String TP_CALLBACK_SIGNATURE_HEADER = "X-TestProject-Signature";
+    public static final String TP_CALLBACK_SIGNATURE_PREFIX = "sha256=";
+    public static final String TP_CALLBACK_TIMESTAMP_HEADER = "X-TestProject-Timestamp";
+    public static final long TP_CALLBACK_MAX_SKEW = 300000; // Milliseconds, at most half of the replay window
+    public static final int TP_CALLBACK_MAX_SIZE = 64 * 1024; // Bytes
+    public static final long TP_CALLBACK_REPLAY_WINDOW = 600000; // Milliseconds
 
     public static final String CI_NAME = "Jenkins";
     public static final String CI_NAME_HEADER = "CI-Name";
@@ -70,6 +137,8 @@ public class Constants {
     public static final String NO_CACHE = "no-cache";
     public static final String CONTENT_LENGTH = "Content-length";
     public static final String CONTENT_TYPE = "Content-Type";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String GZIP = "gzip";
     public static final String RESOLVE_CONFLICTS = "resolveConflicts";
     public static final String DETAILS = "details";
     public static final String FORMAT = "format";
@@ -0,0 +1,39 @@
+package io.testproject.constants;
+
+/**
+ * Classes of TestProject API endpoints that share timeouts
+ */
+public enum EndpointClass {
+    /**
+     * Execution state polls
+     */
+    POLL("state poll", 15),
+    /**
+     * Read only requests (projects, jobs, agents, reports, etc.)
+     */
+    METADATA("metadata", 30),
+    /**
+     * Requests that start or change something (run, abort, update)
+     */
+    TRIGGER("trigger", 60),
+    /**
+     * File uploads
+     */
+    UPLOAD("upload", 600);
+
+    private final String displayName;
+    private final int defaultTimeoutSeconds;
+
+    EndpointClass(String displayName, int defaultTimeoutSeconds) {
+        this.displayName = displayName;
+        this.defaultTimeoutSeconds = defaultTimeoutSeconds;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getDefaultTimeoutSeconds() {
+        return defaultTimeoutSeconds;
+    }
+}
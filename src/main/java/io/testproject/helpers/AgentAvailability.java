@@ -0,0 +1,149 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import io.testproject.constants.AgentState;
+import io.testproject.constants.Constants;
+import io.testproject.model.AgentData;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Checks that the agent of an execution can run it before the execution is triggered.
+ * An execution that is sent to an unavailable agent is only failed once the step stops waiting for it,
+ * so the step fails right away instead, or uses the first available fallback agent.
+ * The check is served from the cached agents list, which is only fetched again to confirm that an agent is unavailable.
+ */
+public class AgentAvailability {
+
+    /**
+     * Agent states in which executions cannot start
+     */
+    private static final Set<AgentState> UNAVAILABLE_STATES = Collections.unmodifiableSet(EnumSet.of(
+            AgentState.Disconnected,
+            AgentState.Updating,
+            AgentState.Stopped,
+            AgentState.Uninstalling));
+
+    /**
+     * Returns the agent that should run the execution
+     * @param apiHelper An instance of ApiHelper
+     * @param agentId The ID of the selected agent
+     * @param fallbackAgents IDs or aliases of the agents to use when the selected agent is unavailable, in order of preference
+     * @param canRun Tells whether a fallback agent can run the execution (e.g. has the selected device)
+     * @param waitSeconds How long the step would have waited for the execution
+     * @return The ID of the selected agent, or of the fallback agent to use instead
+     * @throws AbortException If the selected agent and all the fallback agents are unavailable
+     */
+    public static String check(ApiHelper apiHelper,
+                               String agentId,
+                               List<String> fallbackAgents,
+                               Predicate<String> canRun,
+                               int waitSeconds) throws IOException {
+        long started = System.currentTimeMillis();
+
+        AgentData agent = find(getAgents(apiHelper, false), agentId);
+        if (isAvailable(agent))
+            return agentId;
+
+        // The cached state may be older than the agent's recovery, making sure before giving up on it
+        AgentData[] agents = getAgents(apiHelper, true);
+        agent = find(agents, agentId);
+        if (isAvailable(agent))
+            return agentId;
+
+        String reason = String.format("Agent '%s' [%s] is %s", agent.getAlias(), agent.getId(), agent.getState());
+
+        for (String fallbackAgent : fallbackAgents) {
+            AgentData fallback = find(agents, fallbackAgent);
+
+            if (fallback == null) {
+                LogHelper.Info(String.format("Fallback agent '%s' was not found", fallbackAgent));
+                continue;
+            }
+
+            if (!isAvailable(fallback)) {
+                LogHelper.Info(String.format("Fallback agent '%s' [%s] is %s", fallback.getAlias(), fallback.getId(), fallback.getState()));
+                continue;
+            }
+
+            if (!canRun.test(fallback.getId())) {
+                LogHelper.Info(String.format("Fallback agent '%s' [%s] cannot run this execution", fallback.getAlias(), fallback.getId()));
+                continue;
+            }
+
+            LogHelper.Info(String.format("%s, using fallback agent '%s' [%s] instead (checked in %d ms%s)",
+                    reason, fallback.getAlias(), fallback.getId(), System.currentTimeMillis() - started, getTimeSaved(waitSeconds)));
+            return fallback.getId();
+        }
+
+        throw new AbortException(String.format("%s%s, the execution was not triggered (checked in %d ms%s)",
+                reason,
+                fallbackAgents.isEmpty() ? "" : " and none of the fallback agents is available",
+                System.currentTimeMillis() - started,
+                getTimeSaved(waitSeconds)));
+    }
+
+    /**
+     * Parses a comma separated list of agent IDs or aliases
+     * @param value The list
+     * @return The agents, without blanks
+     */
+    public static List<String> parse(String value) {
+        List<String> agents = new ArrayList<>();
+
+        if (StringUtils.isEmpty(value))
+            return agents;
+
+        for (String agent : value.split(",")) {
+            if (!agent.trim().isEmpty())
+                agents.add(agent.trim());
+        }
+
+        return agents;
+    }
+
+    /**
+     * An agent that is missing from the list, or whose state is unknown, is left for TestProject to decide on
+     */
+    private static boolean isAvailable(AgentData agent) {
+        return agent == null || !UNAVAILABLE_STATES.contains(agent.getState());
+    }
+
+    private static AgentData[] getAgents(ApiHelper apiHelper, boolean fresh) throws IOException {
+        ApiResponse<AgentData[]> response = fresh
+                ? MetadataCache.refresh(apiHelper, Constants.TP_RETURN_ACCOUNT_AGENTS, AgentData[].class)
+                : MetadataCache.get(apiHelper, Constants.TP_RETURN_ACCOUNT_AGENTS, AgentData[].class);
+
+        // The check is best effort, the execution is triggered as usual when the agents cannot be fetched
+        if (!response.isSuccessful() || response.getData() == null) {
+            LogHelper.Debug(response.generateErrorMessage("Unable to fetch the agents list"));
+            return null;
+        }
+
+        return response.getData();
+    }
+
+    private static AgentData find(AgentData[] agents, String agent) {
+        if (agents == null)
+            return null;
+
+        for (AgentData data : agents) {
+            if (agent.equals(data.getId()))
+                return data;
+        }
+
+        for (AgentData data : agents) {
+            if (agent.equalsIgnoreCase(data.getAlias()))
+                return data;
+        }
+
+        return null;
+    }
+
+    private static String getTimeSaved(int waitSeconds) {
+        return waitSeconds > 0 ? String.format(", instead of waiting up to %d seconds for the execution", waitSeconds) : "";
+    }
+}
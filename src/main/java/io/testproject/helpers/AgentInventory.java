@@ -0,0 +1,185 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.AgentState;
+import io.testproject.constants.Constants;
+import io.testproject.model.AgentBrowser;
+import io.testproject.model.AgentData;
+import io.testproject.model.AgentDevice;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Short lived cache of the browsers and devices of every agent, shown in the test configuration page.
+ * Concurrent requests for the same inventory share one API call, and an inventory is dropped as soon as
+ * its agent reports a different version or state.
+ * While the configuration pages are in use, the inventories of all connected agents are refreshed together by {@link #sweep(ApiHelper)}.
+ */
+public class AgentInventory {
+
+    private static final Map<String, Inventory> inventories = new ConcurrentHashMap<>();
+
+    private static volatile long lastUsed;
+
+    /**
+     * Returns the browsers of an agent, from the cache when they were fetched recently
+     * @param apiHelper An instance of ApiHelper
+     * @param agentId The ID of the agent
+     * @return The response
+     */
+    public static ApiResponse<AgentBrowser[]> getBrowsers(ApiHelper apiHelper, String agentId) throws IOException {
+        Inventory inventory = get(apiHelper, agentId);
+        return inventory.browsers.get(apiHelper, String.format(Constants.TP_GET_AGENT_BROWSERS, agentId), AgentBrowser[].class);
+    }
+
+    /**
+     * Returns the mobile devices of an agent, from the cache when they were fetched recently
+     * @param apiHelper An instance of ApiHelper
+     * @param agentId The ID of the agent
+     * @return The response
+     */
+    public static ApiResponse<AgentDevice[]> getDevices(ApiHelper apiHelper, String agentId) throws IOException {
+        Inventory inventory = get(apiHelper, agentId);
+        return inventory.devices.get(apiHelper, String.format(Constants.TP_GET_AGENT_DEVICES, agentId), AgentDevice[].class);
+    }
+
+    /**
+     * Drops the inventories of the agents whose version or state has changed
+     * @param apiHelper The ApiHelper the agents were fetched with
+     * @param agents The current agents
+     */
+    public static void update(ApiHelper apiHelper, AgentData[] agents) {
+        for (AgentData agent : agents) {
+            Inventory inventory = inventories.get(getKey(apiHelper, agent.getId()));
+
+            if (inventory != null)
+                inventory.update(agent.getVersion(), agent.getState());
+        }
+    }
+
+    /**
+     * Fetches the agents and refreshes the inventories of all the connected ones at once.
+     * Does nothing when no inventory was requested recently, so an idle Jenkins does not poll the agents.
+     * @param apiHelper An instance of ApiHelper
+     */
+    public static void sweep(ApiHelper apiHelper) throws IOException {
+        if (System.currentTimeMillis() - lastUsed > Constants.AGENT_INVENTORY_IDLE_TIME) {
+            inventories.clear();
+            return;
+        }
+
+        // Also keeps the cached agent states fresh for the agent availability check
+        ApiResponse<AgentData[]> response = MetadataCache.refresh(apiHelper, Constants.TP_RETURN_ACCOUNT_AGENTS, AgentData[].class);
+
+        if (!response.isSuccessful() || response.getData() == null) {
+            LogHelper.Debug(response.generateErrorMessage("Unable to fetch the agents list"));
+            return;
+        }
+
+        for (AgentData agent : response.getData()) {
+            if (agent.getState() == AgentState.Disconnected || "Unknown".equals(agent.getOsType()))
+                continue;
+
+            Inventory inventory = inventories.computeIfAbsent(getKey(apiHelper, agent.getId()), key -> new Inventory());
+            inventory.update(agent.getVersion(), agent.getState());
+
+            // Requests are sent without waiting, so all the agents are refreshed in parallel
+            inventory.browsers.refresh(apiHelper, String.format(Constants.TP_GET_AGENT_BROWSERS, agent.getId()), AgentBrowser[].class);
+            inventory.devices.refresh(apiHelper, String.format(Constants.TP_GET_AGENT_DEVICES, agent.getId()), AgentDevice[].class);
+        }
+    }
+
+    private static Inventory get(ApiHelper apiHelper, String agentId) {
+        lastUsed = System.currentTimeMillis();
+        return inventories.computeIfAbsent(getKey(apiHelper, agentId), key -> new Inventory());
+    }
+
+    private static String getKey(ApiHelper apiHelper, String agentId) {
+        return apiHelper.getCacheKey() + " " + agentId;
+    }
+
+    private static class Inventory {
+        private final Slot<AgentBrowser[]> browsers = new Slot<>();
+        private final Slot<AgentDevice[]> devices = new Slot<>();
+        private String version;
+        private AgentState state;
+
+        synchronized void update(String version, AgentState state) {
+            if (this.version != null && (!Objects.equals(this.version, version) || this.state != state)) {
+                LogHelper.Debug(() -> "Agent has changed from v" + this.version + " (" + this.state + ") to v" + version + " (" + state + "), dropping its inventory");
+                browsers.clear();
+                devices.clear();
+            }
+
+            this.version = version;
+            this.state = state;
+        }
+    }
+
+    /**
+     * A cached response, or the request that is fetching it
+     */
+    private static class Slot<T> {
+        private CompletableFuture<ApiResponse<T>> response;
+        private long fetched;
+
+        ApiResponse<T> get(ApiHelper apiHelper, String url, Class<T> clazz) throws IOException {
+            CompletableFuture<ApiResponse<T>> current;
+
+            synchronized (this) {
+                // A request that fails right away is already dropped when fetch returns, so its future is kept here
+                current = response == null || System.currentTimeMillis() - fetched > Constants.AGENT_INVENTORY_TTL
+                        ? fetch(apiHelper, url, clazz)
+                        : response;
+            }
+
+            try {
+                return current.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a response from: " + url);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException)
+                    throw (IOException) e.getCause();
+
+                throw new IOException(e.getCause());
+            }
+        }
+
+        synchronized void refresh(ApiHelper apiHelper, String url, Class<T> clazz) {
+            // A request that is still running is as fresh as a new one
+            if (response == null || response.isDone())
+                fetch(apiHelper, url, clazz);
+        }
+
+        synchronized void clear() {
+            response = null;
+        }
+
+        /**
+         * @return The request that was sent
+         */
+        private CompletableFuture<ApiResponse<T>> fetch(ApiHelper apiHelper, String url, Class<T> clazz) {
+            CompletableFuture<ApiResponse<T>> request = apiHelper.GetAsync(url, ApiHelper.JSON_HEADERS, null, clazz);
+            response = request;
+            fetched = System.currentTimeMillis();
+
+            // Only successful responses are cached
+            request.whenComplete((result, error) -> {
+                if (error != null || !result.isSuccessful()) {
+                    synchronized (this) {
+                        if (response == request)
+                            response = null;
+                    }
+                }
+            });
+
+            return request;
+        }
+    }
+}
@@ -2,70 +2,363 @@ package io.testproject.helpers;
 
 import hudson.AbortException;
 import io.testproject.constants.Constants;
+import io.testproject.constants.EndpointClass;
+import io.testproject.plugins.PluginConfiguration;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+
 import javax.annotation.Nonnull;
 import javax.net.ssl.*;
 import java.io.*;
+import java.math.BigInteger;
 import java.net.*;
-import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 public class ApiHelper {
 
+    /**
+     * Headers that are sent with every request
+     */
+    private static final Map<String, String> DEFAULT_HEADERS;
+
+    /**
+     * Prebuilt headers for requests that expect a JSON response
+     */
+    public static final Map<String, Object> JSON_HEADERS =
+            Collections.singletonMap(Constants.ACCEPT, Constants.APPLICATION_JSON);
+
+    static {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Accept", "*/*");
+        headers.put("Accept-Encoding", "gzip, deflate");
+        headers.put("User-Agent", "TestProject JenkinsPlugin");
+        DEFAULT_HEADERS = Collections.unmodifiableMap(headers);
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Hosts that rejected a compressed request body
+     */
+    private static final Set<String> uncompressedHosts = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong uncompressedBytes = new AtomicLong();
+    private static final AtomicLong compressedBytes = new AtomicLong();
+
+    /**
+     * Recent response times of each endpoint class, used to decide when to hedge a request
+     */
+    private static final Map<EndpointClass, LatencyTracker> latencies = createLatencyTrackers();
+
+    /**
+     * Stops sending requests to an endpoint class while it keeps failing
+     */
+    private static final Map<EndpointClass, CircuitBreaker> breakers = createBreakers();
+
+    private static final HedgeBudget hedgeBudget = new HedgeBudget(Constants.HEDGE_BUDGET_PERCENT, Constants.HEDGE_BUDGET_MAX_TOKENS);
+
+    /**
+     * Sends the requests of all callers, bounding the number of concurrent requests to TestProject
+     */
+    private static final ExecutorService requestExecutor = ExecutorProvider.newExecutor(
+            "TestProject API request", Constants.MAX_CONCURRENT_REQUESTS, Constants.MAX_QUEUED_REQUESTS);
+
+    /**
+     * Sends the file uploads, which may take minutes, so they never hold the threads of state polls and configuration pages
+     */
+    private static final ExecutorService uploadExecutor = ExecutorProvider.newExecutor(
+            "TestProject API upload", Constants.MAX_CONCURRENT_UPLOADS, Constants.MAX_QUEUED_REQUESTS);
+
+    /**
+     * Marks the threads of the request engine
+     */
+    private static final ThreadLocal<Boolean> requestThread = new ThreadLocal<>();
+
+    private static final ExecutorService hedgeExecutor =
+            ExecutorProvider.newExecutor("TestProject hedged request", Constants.MAX_CONCURRENT_REQUESTS);
+
     private String apiKey;
+    private final String maskedApiKey;
+    private final String cacheKey;
+    private final Deadline deadline;
 
     public ApiHelper(String key) {
-        LogHelper.Debug(String.format("Initializing API helper. Using API key: %s.............", key.substring(0,4) + "***************"));
         this.apiKey = key;
+        this.maskedApiKey = maskApiKey(key);
+        this.cacheKey = hashApiKey(key);
+        this.deadline = null;
+        LogHelper.Debug(() -> "Initializing API helper. Using API key: " + maskedApiKey + ".............");
+    }
+
+    private ApiHelper(ApiHelper other, Deadline deadline) {
+        this.apiKey = other.apiKey;
+        this.maskedApiKey = other.maskedApiKey;
+        this.cacheKey = other.cacheKey;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return A key that separates cached responses of different API keys, without exposing the key itself
+     */
+    String getCacheKey() {
+        return cacheKey;
+    }
+
+    /**
+     * Creates a helper whose requests never wait longer than the time left until the deadline
+     * @param deadline The deadline of the caller
+     * @return A helper bound to the deadline
+     */
+    public ApiHelper withDeadline(Deadline deadline) {
+        return new ApiHelper(this, deadline);
     }
 
     public <TData> ApiResponse<TData> Post(String url, Class<TData> clazz) throws IOException {
         return Post(url, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Post(String url, HashMap<String, Object> headers, Class<TData> clazz) throws IOException {
+    public <TData> ApiResponse<TData> Post(String url, Map<String, Object> headers, Class<TData> clazz) throws IOException {
         return Post(url, headers, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Post(String url, HashMap<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
+    public <TData> ApiResponse<TData> Post(String url, Map<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
         return Post(url, headers, queryParams, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Post(String url, HashMap<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) throws IOException {
-        return execute("POST", url, headers, queryParams, body, clazz);
+    public <TData> ApiResponse<TData> Post(String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) throws IOException {
+        return await("POST", url, headers, queryParams, body, clazz);
     }
 
     public <TData> ApiResponse<TData> Get(String url, Class<TData> clazz) throws IOException {
         return Get(url, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Get(String url, HashMap<String, Object> headers, Class<TData> clazz) throws IOException {
+    public <TData> ApiResponse<TData> Get(String url, Map<String, Object> headers, Class<TData> clazz) throws IOException {
         return Get(url, headers, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Get(String url, HashMap<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
-        return execute("GET", url, headers, queryParams, null, clazz);
+    public <TData> ApiResponse<TData> Get(String url, Map<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
+        return await("GET", url, headers, queryParams, null, clazz);
     }
 
     public <TData> ApiResponse<TData> Put(String url, Class<TData> clazz) throws IOException {
         return Put(url, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Put(String url, HashMap<String, Object> headers, Class<TData> clazz) throws IOException {
+    public <TData> ApiResponse<TData> Put(String url, Map<String, Object> headers, Class<TData> clazz) throws IOException {
         return Put(url, headers, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Put(String url, HashMap<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
+    public <TData> ApiResponse<TData> Put(String url, Map<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
         return Put(url, headers, queryParams, null, clazz);
     }
 
-    public <TData> ApiResponse<TData> Put(String url, HashMap<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) throws IOException {
-        return execute("PUT", url, headers, queryParams, body, clazz);
+    public <TData> ApiResponse<TData> Put(String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) throws IOException {
+        return await("PUT", url, headers, queryParams, body, clazz);
+    }
+
+    /**
+     * Sends a POST request without blocking the calling thread.
+     * Cancelling the returned future disconnects the request.
+     */
+    public <TData> CompletableFuture<ApiResponse<TData>> PostAsync(String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) {
+        return executeAsync("POST", url, headers, queryParams, body, clazz);
     }
 
-    private <TData> ApiResponse<TData> execute(@Nonnull String method, @Nonnull String url, HashMap<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) throws IOException {
+    /**
+     * Sends a GET request without blocking the calling thread.
+     * Cancelling the returned future disconnects the request.
+     */
+    public <TData> CompletableFuture<ApiResponse<TData>> GetAsync(String url, Map<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) {
+        return executeAsync("GET", url, headers, queryParams, null, clazz);
+    }
+
+    /**
+     * Sends a PUT request without blocking the calling thread.
+     * Cancelling the returned future disconnects the request.
+     */
+    public <TData> CompletableFuture<ApiResponse<TData>> PutAsync(String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) {
+        return executeAsync("PUT", url, headers, queryParams, body, clazz);
+    }
+
+    private <TData> CompletableFuture<ApiResponse<TData>> executeAsync(@Nonnull String method, @Nonnull String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) {
+        Executor executor = classify(method, url, body) == EndpointClass.UPLOAD ? uploadExecutor : requestExecutor;
+        return submit(executor, request -> execute(method, url, headers, queryParams, body, clazz, request));
+    }
+
+    /**
+     * Sends a request on the request engine and waits for its response.
+     * An interrupted caller (for example a cancelled build) disconnects the request instead of waiting for it.
+     */
+    private <TData> ApiResponse<TData> await(@Nonnull String method, @Nonnull String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz) throws IOException {
+        // Requests made by the request engine itself run inline, so a busy engine never waits for itself
+        if (Boolean.TRUE.equals(requestThread.get()))
+            return execute(method, url, headers, queryParams, body, clazz, null);
+
+        CompletableFuture<ApiResponse<TData>> response = executeAsync(method, url, headers, queryParams, body, clazz);
+
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response from: " + url);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private <TData> ApiResponse<TData> execute(@Nonnull String method, @Nonnull String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz, InFlightRequest<TData> inFlight) throws IOException {
+        CircuitBreaker breaker = breakers.get(classify(method, url, body));
+        breaker.acquire();
+
+        try {
+            ApiResponse<TData> response = method.equals("GET") && isHedgingEnabled()
+                    ? executeHedged(url, headers, queryParams, clazz)
+                    : send(method, url, headers, queryParams, body, clazz, inFlight);
+
+            if (response.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR)
+                breaker.onFailure();
+            else
+                breaker.onSuccess();
+
+            return response;
+        } catch (IOException e) {
+            // The read timeout was shortened to the time left until the deadline, the endpoint may be healthy
+            if (e instanceof SocketTimeoutException && deadline != null && deadline.isExpired()) {
+                breaker.onIgnored();
+                SkippedRequestException skipped = new SkippedRequestException("The time frame for the request to " + url + " has expired");
+                skipped.initCause(e);
+                throw skipped;
+            }
+
+            // A cancelled request fails with whatever the disconnect causes (usually a SocketException)
+            if (inFlight != null && inFlight.isCancelled())
+                breaker.onIgnored();
+            // Configuration and deadline errors are not caused by the endpoint
+            else if (e instanceof AbortException)
+                breaker.onIgnored();
+            else if (e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException))
+                breaker.onIgnored();
+            else
+                breaker.onFailure();
+
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.onIgnored();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends an idempotent GET request, and sends it again if it takes longer than the observed p95 latency of its endpoint class.
+     * The first response is used and the other request is disconnected.
+     */
+    private <TData> ApiResponse<TData> executeHedged(String url, Map<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) throws IOException {
+        long hedgeDelay = latencies.get(classify("GET", url, null)).getPercentile95();
+        hedgeBudget.onRequest();
+
+        if (hedgeDelay < 0) // Not enough samples yet
+            return send("GET", url, headers, queryParams, null, clazz, null);
+
+        InFlightRequest<TData> primary = sendAsync(url, headers, queryParams, clazz);
+        InFlightRequest<TData> hedge = null;
+
+        try {
+            try {
+                return primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (!hedgeBudget.tryAcquire())
+                    return primary.get();
+            }
+
+            LogHelper.Debug(() -> "No response within " + hedgeDelay + "ms, hedging the request to: " + url);
+            hedge = sendAsync(url, headers, queryParams, clazz);
+
+            // The first successful response wins, the request fails only if both copies have failed
+            CompletableFuture<ApiResponse<TData>> first = new CompletableFuture<>();
+            AtomicInteger failures = new AtomicInteger();
+
+            for (InFlightRequest<TData> request : Arrays.asList(primary, hedge)) {
+                request.whenComplete((response, error) -> {
+                    if (error == null)
+                        first.complete(response);
+                    else if (failures.incrementAndGet() == 2)
+                        first.completeExceptionally(error);
+                });
+            }
+
+            return first.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response from: " + url);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            primary.cancel(true);
+
+            if (hedge != null)
+                hedge.cancel(true);
+        }
+    }
+
+    private <TData> InFlightRequest<TData> sendAsync(String url, Map<String, Object> headers, Map<String, Object> queryParams, Class<TData> clazz) {
+        return submit(hedgeExecutor, request -> send("GET", url, headers, queryParams, null, clazz, request));
+    }
+
+    /**
+     * Runs a request on the given executor
+     * @return The in flight request, which completes with the response
+     */
+    private static <TData> InFlightRequest<TData> submit(Executor executor, RequestCall<TData> call) {
+        InFlightRequest<TData> request = new InFlightRequest<>();
+
+        try {
+            executor.execute(() -> {
+                if (!request.start())
+                    return;
+
+                requestThread.set(true);
+                try {
+                    request.complete(call.call(request));
+                } catch (Throwable e) {
+                    request.completeExceptionally(e);
+                } finally {
+                    requestThread.remove();
+                    request.finish();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            request.completeExceptionally(new IOException("Too many TestProject API requests are waiting to be sent", e));
+        }
+
+        return request;
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+
+        if (cause instanceof IOException)
+            return (IOException) cause;
+
+        if (cause instanceof RuntimeException)
+            throw (RuntimeException) cause;
+
+        return new IOException(cause);
+    }
+
+    private <TData> ApiResponse<TData> send(@Nonnull String method, @Nonnull String url, Map<String, Object> headers, Map<String, Object> queryParams, Object body, Class<TData> clazz, InFlightRequest<TData> inFlight) throws IOException {
 
         HttpsURLConnection con = null;
+        boolean completed = false;
         try {
             if (apiKey == null || apiKey.trim().isEmpty()) {
                 throw new AbortException("No TestProject API key is configured. Please configure a valid API key in global configuration.");
@@ -77,8 +370,14 @@ public class ApiHelper {
                     ? new URL(url)
                     : new URL(url + "?" + query);
 
+            if (ApiTraffic.isReplaying())
+                return replay(method, uri, body, clazz);
+
             con = (HttpsURLConnection) uri.openConnection();
 
+            if (inFlight != null && !inFlight.attach(con))
+                throw new InterruptedIOException("The request was cancelled");
+
             if (method.equals("POST") || method.equals("PUT")) {
                 con.setDoOutput(true);
             }
@@ -87,62 +386,78 @@ public class ApiHelper {
             if (clazz != null)
                 con.setRequestProperty(Constants.AUTH_HEADER, apiKey); // Setting the authorization
 
-            con.setRequestProperty("Accept", "*/*");
-            con.setRequestProperty("Accept-Encoding", "gzip, deflate");
-            con.addRequestProperty("User-Agent", "TestProject JenkinsPlugin");
+            for (Map.Entry<String, String> header : DEFAULT_HEADERS.entrySet()) {
+                con.setRequestProperty(header.getKey(), header.getValue());
+            }
 
-            LogHelper.Debug("Using API key: " + apiKey.substring(0,4) + "***************");
+            LogHelper.Debug(() -> "Using API key: " + maskedApiKey);
 
             if (headers != null) { // Adding headers if any
-                for (HashMap.Entry<String, Object> header : headers.entrySet()) {
+                for (Map.Entry<String, Object> header : headers.entrySet()) {
                     con.setRequestProperty(header.getKey(), header.getValue().toString());
                 }
             }
 
-            con.setConnectTimeout(Constants.DEFAULT_CONNECT_TIMEOUT);
-            con.setReadTimeout(Constants.DEFAULT_READ_TIMEOUT);
+            EndpointClass endpointClass = classify(method, url, body);
+            int timeout = getTimeout(endpointClass);
+            con.setConnectTimeout(Math.min(timeout, Constants.DEFAULT_CONNECT_TIMEOUT));
+            con.setReadTimeout(timeout);
 
+            boolean compressed = false;
             if (body != null) {
                 LogHelper.Debug("Writing request body");
 
                 if (body instanceof File) {
-                    con.setFixedLengthStreamingMode(((File) body).length());
-
-                    LogHelper.Debug(String.format("Body is an instance of File. length: [%s]", ((File) body).length()));
-
-                    OutputStream out = new BufferedOutputStream(con.getOutputStream());
-
-                    out.write(Files.readAllBytes(((File) body).toPath()));
-                    out.flush();
-                    out.close();
+                    writeFileBody(con, new FileBody((File) body));
+                } else if (body instanceof FileBody) {
+                    writeFileBody(con, (FileBody) body);
                 } else {
-                    con.setRequestProperty("Content-Type", "application/json");
+                    // Only the TestProject API is known to decompress request bodies, files are always uploaded as they are
+                    boolean compress = isCompressionEnabled()
+                            && uri.getHost().equals(Constants.TP_API_HOST)
+                            && !uncompressedHosts.contains(uri.getHost());
 
-                    OutputStreamWriter writer = null;
-                    try {
-                        writer = new OutputStreamWriter(con.getOutputStream(), "UTF-8");
-                        writer.write(SerializationHelper.toJson(body));
-                        writer.flush();
-                        writer.close();
-                    } catch (IOException e) {
-                        LogHelper.Error(e);
-                        throw e;
-                    } finally {
-                        this.closeQuietly(writer);
-                    }
+                    con.setRequestProperty("Content-Type", "application/json");
+                    compressed = writeJsonBody(con, body, compress);
                 }
             } else if (method.equals("POST") || method.equals("PUT")) {
                 LogHelper.Debug("POST/PUT request with no body...");
                 con.setFixedLengthStreamingMode(0);
             }
 
-            LogHelper.Debug("Sending " + method.toUpperCase() + " request to: " + uri.toString());
+            LogHelper.Debug(() -> "Sending " + method.toUpperCase() + " request to: " + uri);
+            long started = System.currentTimeMillis();
             int status = con.getResponseCode();
 
-            String requestId = con.getHeaderField("requestId");
-            LogHelper.Debug(String.format("Response from TestProject: %d [requestId: %s]", status, requestId));
+            if (method.equals("GET") && status < HttpURLConnection.HTTP_INTERNAL_ERROR)
+                latencies.get(endpointClass).record(System.currentTimeMillis() - started);
+
+            if (LogHelper.isVerbose()) {
+                String requestId = con.getHeaderField("requestId");
+                LogHelper.Debug("Response from TestProject: " + status + " [requestId: " + requestId + "]");
+            }
+
+            // The server does not accept compressed bodies, sending the request again as is
+            if (compressed && status == HttpURLConnection.HTTP_UNSUPPORTED_TYPE) {
+                LogHelper.Debug(() -> uri.getHost() + " does not accept compressed request bodies, retrying uncompressed");
+                uncompressedHosts.add(uri.getHost());
+                con.disconnect();
+                return send(method, url, headers, queryParams, body, clazz, inFlight);
+            }
+
+            if (ApiTraffic.isRecording()) {
+                String content = ApiResponse.readContent(con);
+                String requestId = con.getHeaderField("RequestId");
+                String message = con.getHeaderField("Message");
+
+                ApiTraffic.record(method, uri.toString(), status, requestId, message, content, System.currentTimeMillis() - started, apiKey);
+                completed = true;
+                return new ApiResponse<>(status, requestId, message, content, clazz);
+            }
 
-            return new ApiResponse<>(con, clazz);
+            ApiResponse<TData> response = new ApiResponse<>(con, clazz);
+            completed = true;
+            return response;
         } catch (RuntimeException e) {
             if (e.getMessage() != null)
                 LogHelper.Error(e);
@@ -151,6 +466,10 @@ public class ApiHelper {
 
             throw e;
         } catch (Exception e) {
+            // A hedged request that lost the race is disconnected on purpose
+            if (inFlight != null && inFlight.isCancelled())
+                throw e;
+
             if (e.getMessage() != null) {
                 LogHelper.Error(e);
             } else {
@@ -162,11 +481,206 @@ public class ApiHelper {
 
             throw e;
         } finally {
-            if (con != null)
+            // A response that was read to the end leaves its connection in the keep-alive pool,
+            // a failed request may leave the connection in an unknown state, so it is closed
+            if (con != null && !completed)
                 con.disconnect();
         }
     }
 
+    /**
+     * Serves a request from the replay file instead of the network
+     */
+    private <TData> ApiResponse<TData> replay(String method, URL uri, Object body, Class<TData> clazz) throws IOException {
+        EndpointClass endpointClass = classify(method, uri.getPath(), body);
+        getTimeout(endpointClass); // Expired deadlines fail the same way they do with a live connection
+
+        LogHelper.Debug(() -> "Replaying " + method + " request to: " + uri);
+        long started = System.currentTimeMillis();
+        ApiTraffic.Exchange exchange = ApiTraffic.replay(method, uri.toString());
+
+        // Reading the file as it would be streamed, so its digest is computed
+        if (body instanceof FileBody) {
+            try (InputStream in = ((FileBody) body).takeStream()) {
+                IOUtils.copyLarge(in, NullOutputStream.NULL_OUTPUT_STREAM, new byte[BUFFER_SIZE]);
+            }
+        }
+
+        if (method.equals("GET") && exchange.status < HttpURLConnection.HTTP_INTERNAL_ERROR)
+            latencies.get(endpointClass).record(System.currentTimeMillis() - started);
+
+        return exchange.toResponse(clazz);
+    }
+
+    /**
+     * Writes a JSON request body, compressing it when it is large enough.
+     * The body is serialized once, in memory unless it is very large, so its length is known upfront
+     * and only bodies that are worth it are compressed.
+     * @return true if the body was sent compressed
+     */
+    static boolean writeJsonBody(HttpURLConnection con, Object body, boolean compress) throws IOException {
+        DeferredFileOutputStream json = new DeferredFileOutputStream(Constants.REQUEST_BODY_MEMORY_LIMIT, "testproject-request", ".json", null);
+        DeferredFileOutputStream compressed = null;
+
+        try {
+            try (Writer writer = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+                SerializationHelper.toJson(body, writer);
+            }
+
+            if (compress && json.getByteCount() >= Constants.COMPRESSION_MIN_SIZE) {
+                compressed = new DeferredFileOutputStream(Constants.REQUEST_BODY_MEMORY_LIMIT, "testproject-request", ".gz", null);
+
+                try (OutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+                    json.writeTo(gzip);
+                }
+
+                recordCompression(json.getByteCount(), compressed.getByteCount());
+                con.setRequestProperty(Constants.CONTENT_ENCODING, Constants.GZIP);
+            }
+
+            DeferredFileOutputStream sent = compressed != null ? compressed : json;
+            con.setFixedLengthStreamingMode(sent.getByteCount());
+
+            try (OutputStream out = con.getOutputStream()) {
+                sent.writeTo(out);
+                out.flush();
+            }
+
+            return compressed != null;
+        } catch (IOException e) {
+            LogHelper.Error(e);
+            throw e;
+        } finally {
+            deleteSpilledFile(json);
+            deleteSpilledFile(compressed);
+        }
+    }
+
+    private static void deleteSpilledFile(DeferredFileOutputStream stream) {
+        if (stream == null || stream.isInMemory() || stream.getFile() == null)
+            return;
+
+        if (!stream.getFile().delete())
+            LogHelper.Debug("Unable to delete temporary file " + stream.getFile().getPath());
+    }
+
+    /**
+     * Streams a file request body as it is, without loading it into memory
+     */
+    private void writeFileBody(HttpURLConnection con, FileBody body) throws IOException {
+        File file = body.getFile();
+        LogHelper.Debug(() -> "Body is an instance of File. length: [" + file.length() + "]");
+
+        try (InputStream in = body.takeStream()) {
+            con.setFixedLengthStreamingMode(file.length());
+
+            try (OutputStream out = con.getOutputStream()) {
+                IOUtils.copyLarge(in, out, new byte[BUFFER_SIZE]);
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * @return The class of the endpoint that a request is sent to
+     */
+    private static EndpointClass classify(String method, String url, Object body) {
+        if (body instanceof File || body instanceof FileBody)
+            return EndpointClass.UPLOAD;
+
+        if (!method.equals("GET"))
+            return EndpointClass.TRIGGER;
+
+        return url.endsWith("/state") ? EndpointClass.POLL : EndpointClass.METADATA;
+    }
+
+    /**
+     * Calculates the timeout of a request from its endpoint class and the time left until the deadline
+     * @return The timeout in milliseconds
+     * @throws AbortException If the deadline has expired
+     */
+    int getTimeout(EndpointClass endpointClass) throws AbortException {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+        long timeout = TimeUnit.SECONDS.toMillis(config != null
+                ? config.getTimeout(endpointClass)
+                : endpointClass.getDefaultTimeoutSeconds());
+
+        if (deadline != null) {
+            long remaining = deadline.remainingMillis();
+
+            if (remaining <= 0)
+                throw new SkippedRequestException("The time frame for the " + endpointClass.getDisplayName() + " request has expired");
+
+            timeout = Math.min(timeout, remaining);
+        }
+
+        return (int) timeout;
+    }
+
+    private static void recordCompression(long originalSize, long compressedSize) {
+        uncompressedBytes.addAndGet(originalSize);
+        compressedBytes.addAndGet(compressedSize);
+        LogHelper.Debug(() -> "Compressed request body from " + originalSize + " to " + compressedSize + " bytes");
+    }
+
+    private static boolean isHedgingEnabled() {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+        return config != null && config.isHedgeRequests();
+    }
+
+    private static Map<EndpointClass, LatencyTracker> createLatencyTrackers() {
+        Map<EndpointClass, LatencyTracker> trackers = new EnumMap<>(EndpointClass.class);
+
+        for (EndpointClass endpointClass : EndpointClass.values())
+            trackers.put(endpointClass, new LatencyTracker(Constants.LATENCY_SAMPLES, Constants.HEDGE_MIN_SAMPLES));
+
+        return trackers;
+    }
+
+    private static Map<EndpointClass, CircuitBreaker> createBreakers() {
+        Map<EndpointClass, CircuitBreaker> breakers = new EnumMap<>(EndpointClass.class);
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            breakers.put(endpointClass, new CircuitBreaker(endpointClass.getDisplayName(),
+                    Constants.BREAKER_FAILURE_THRESHOLD, Constants.BREAKER_OPEN_TIME));
+        }
+
+        return breakers;
+    }
+
+    /**
+     * @return The circuit breaker of every endpoint class
+     */
+    public static Map<EndpointClass, CircuitBreaker> getBreakers() {
+        return Collections.unmodifiableMap(breakers);
+    }
+
+    /**
+     * @return The number of GET requests that were sent twice
+     */
+    public static long getHedgedRequests() {
+        return hedgeBudget.getHedged();
+    }
+
+    private static boolean isCompressionEnabled() {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+        return config != null && config.isCompressRequests();
+    }
+
+    /**
+     * @return The total size of request bodies before compression
+     */
+    public static long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * @return The total size of request bodies after compression
+     */
+    public static long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
     @Nonnull
     private String generateQueryString(Map<String, Object> queryParams) throws UnsupportedEncodingException {
         if (queryParams == null || queryParams.size() == 0)
@@ -178,19 +692,83 @@ public class ApiHelper {
             if (queryString.length() > 0)
                 queryString.append("&");
 
-            queryString.append(String.format("%s=%s", param.getKey(), URLEncoder.encode(param.getValue().toString(), "UTF-8")));
+            queryString.append(param.getKey())
+                    .append('=')
+                    .append(URLEncoder.encode(param.getValue().toString(), "UTF-8"));
         }
 
         return queryString.toString();
     }
 
-    private void closeQuietly(Closeable closeable) {
+    @Nonnull
+    private static String maskApiKey(String key) {
+        if (key == null || key.length() < 4)
+            return "***************";
+
+        return key.substring(0, 4) + "***************";
+    }
+
+    /**
+     * Hashes the API key with SHA-256, so different keys never share cached responses
+     */
+    private static String hashApiKey(String key) {
+        if (key == null)
+            return "";
+
         try {
-            if (closeable != null) {
-                closeable.close();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return String.format("%064x", new BigInteger(1, digest.digest(key.getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface RequestCall<TData> {
+        ApiResponse<TData> call(InFlightRequest<TData> request) throws IOException;
+    }
+
+    /**
+     * A request that is sent on another thread. Cancelling it disconnects the connection and interrupts the sending thread.
+     */
+    private static class InFlightRequest<TData> extends CompletableFuture<ApiResponse<TData>> {
+        private HttpURLConnection connection;
+        private Thread worker;
+
+        /**
+         * @return false if the request was cancelled before it has started
+         */
+        synchronized boolean start() {
+            worker = Thread.currentThread();
+            return !isCancelled();
+        }
+
+        synchronized void finish() {
+            worker = null;
+        }
+
+        /**
+         * @return false if the request was already cancelled
+         */
+        synchronized boolean attach(HttpURLConnection connection) {
+            this.connection = connection;
+            return !isCancelled();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+            if (cancelled) {
+                synchronized (this) {
+                    if (connection != null)
+                        connection.disconnect();
+
+                    if (mayInterruptIfRunning && worker != null)
+                        worker.interrupt();
+                }
             }
-        } catch (IOException e) {
-            LogHelper.Error(e);
+
+            return cancelled;
         }
     }
 }
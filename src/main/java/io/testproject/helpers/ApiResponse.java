@@ -1,7 +1,6 @@
 package io.testproject.helpers;
 
 import io.testproject.model.ApiErrorResponseData;
-import org.apache.commons.io.IOUtils;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 
@@ -12,6 +11,8 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -20,6 +21,8 @@ import java.util.zip.GZIPInputStream;
  * @param <TData> The type of the response data
  */
 public class ApiResponse<TData> {
+    private static final Logger LOGGER = Logger.getLogger(ApiResponse.class.getName());
+    private static final int READ_BUFFER_SIZE = 8192;
 
     private int statusCode;
     private String message;
@@ -32,7 +35,30 @@ public class ApiResponse<TData> {
     ApiResponse(HttpURLConnection con, Class<TData> clazz) {
         this.myType = clazz;
 
-        parseResponse(con);
+        String messageHeader = null;
+        String content = null;
+
+        // The status is kept even if the body cannot be read, so the error message shows the real status
+        try {
+            statusCode = con.getResponseCode();
+            requestId = con.getHeaderField("RequestId");
+            messageHeader = con.getHeaderField("Message");
+            content = readContent(con);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to read the TestProject API response", e);
+            LogHelper.Error(e);
+        }
+
+        parseResponse(statusCode, requestId, messageHeader, content);
+    }
+
+    /**
+     * Creates a response from its parts, when they do not come from a live connection (e.g. a replayed response)
+     */
+    ApiResponse(int statusCode, String requestId, String message, String content, Class<TData> clazz) {
+        this.myType = clazz;
+
+        parseResponse(statusCode, requestId, message, content);
     }
 
     public boolean isSuccessful() {
@@ -67,12 +93,10 @@ public class ApiResponse<TData> {
         return prefix + (statusCode > 0 ? " - " + statusCode : "") + (message != null ? " - " + message : "") + (requestId != null ? " [" + requestId  + "]": "");
     }
 
-    private void parseResponse(@Nonnull HttpURLConnection con) {
+    private void parseResponse(int statusCode, String requestId, String messageHeader, String content) {
         try {
-            statusCode = con.getResponseCode();
-            requestId = con.getHeaderField("RequestId");
-
-            String content = getContent(con);
+            this.statusCode = statusCode;
+            this.requestId = requestId;
 
             if (statusCode >= 200 && statusCode <= 299) {
                 if (content != null) {
@@ -89,8 +113,6 @@ public class ApiResponse<TData> {
                 error = new ApiErrorResponseData("Unauthorized");
 
             } else {
-                String messageHeader = con.getHeaderField("Message");
-
                 if (messageHeader != null) {
                     message = messageHeader;
                 }
@@ -100,50 +122,48 @@ public class ApiResponse<TData> {
                 }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Unable to parse the TestProject API response", e);
+            LogHelper.Error(e);
         }
     }
 
+    /**
+     * Reads the body of a response to the end and closes it, decompressing it if needed.
+     * A body that is read to the end and closed lets the connection be reused for the next request.
+     * @return The body, or null if the response has none
+     */
     @Nullable
-    private String getContent(@Nonnull HttpURLConnection con) throws IOException {
+    static String readContent(@Nonnull HttpURLConnection con) throws IOException {
 
         // Getting response stream
         int responseCode = con.getResponseCode();
-        InputStream inputStream = null;
-        try {
-            if (200 <= responseCode && responseCode <= 299) {
-                inputStream = con.getInputStream();
-            } else {
-                inputStream = con.getErrorStream();
-            }
-
-            String encoding = con.getContentEncoding();
-            if (encoding != null)
-                LogHelper.Debug("Content encoding: " + encoding);
-
-            if (encoding != null && "gzip".equals(encoding)) {
-                inputStream = new GZIPInputStream(inputStream);
-            }
+        InputStream inputStream = 200 <= responseCode && responseCode <= 299
+                ? con.getInputStream()
+                : con.getErrorStream();
 
-            if (inputStream == null)
-                return null;
+        if (inputStream == null)
+            return null;
 
-            BufferedReader in = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+        String encoding = con.getContentEncoding();
+        if (encoding != null)
+            LogHelper.Debug(() -> "Content encoding: " + encoding);
 
-            StringBuilder response = new StringBuilder();
-            String currentLine;
+        try (InputStream raw = inputStream;
+             Reader in = new InputStreamReader("gzip".equals(encoding) ? new GZIPInputStream(raw) : raw, StandardCharsets.UTF_8)) {
 
-            while ((currentLine = in.readLine()) != null)
-                response.append(currentLine);
+            // Pre-sizing the builder when the length is known (it is not for compressed responses)
+            int contentLength = con.getContentLength();
+            StringBuilder response = new StringBuilder(contentLength > 0 ? contentLength : 256);
+            char[] buffer = new char[READ_BUFFER_SIZE];
+            int read;
 
-            in.close();
+            while ((read = in.read(buffer)) != -1)
+                response.append(buffer, 0, read);
 
             return response.toString();
-
-        } catch (IOException | NullPointerException e) {
+        } catch (IOException e) {
             LogHelper.Error(e);
+            return null;
         }
-
-        return inputStream != null ? IOUtils.toString(inputStream, StandardCharsets.UTF_8) : null;
     }
 }
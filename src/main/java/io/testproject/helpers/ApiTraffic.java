@@ -0,0 +1,315 @@
+package io.testproject.helpers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import io.testproject.constants.Constants;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the API traffic of the plugin into a replay file, or serves responses from a replay file instead of the network.
+ * A replay file holds one JSON exchange per line and is gzip compressed when its name ends with .gz.
+ * Request headers are never recorded, the API key is redacted from URLs and responses,
+ * and so are the query strings (signatures) of storage URLs, such as pre-signed upload links.
+ * <p>
+ * Recording is enabled with -Dio.testproject.record=&lt;file&gt;, replay with -Dio.testproject.replay=&lt;file&gt;.
+ * Replayed responses take as long as they took when recorded, divided by -Dio.testproject.replaySpeed (1 by default).
+ * Requests are replayed when the plugin sends them, the gaps between the recorded requests are not reproduced.
+ */
+public class ApiTraffic {
+    private static final Logger LOGGER = Logger.getLogger(ApiTraffic.class.getName());
+
+    private static final String RECORD_PROPERTY = "io.testproject.record";
+    private static final String REPLAY_PROPERTY = "io.testproject.replay";
+    private static final String REPLAY_SPEED_PROPERTY = "io.testproject.replaySpeed";
+
+    private static final String REDACTED = "***";
+
+    /**
+     * URLs with a query string, the host is captured to tell storage URLs from TestProject API URLs
+     */
+    private static final Pattern URL_WITH_QUERY = Pattern.compile("(https?://([^/?#\\s\"]+)[^?#\\s\"]*)\\?[^#\\s\"]*");
+
+    /**
+     * Keeps URLs and bodies readable in the replay file (no escaping of =, &amp;, &lt; and &gt;)
+     */
+    private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+    private static final Writer recorder;
+    private static final long recordingStarted = System.currentTimeMillis();
+
+    /**
+     * Recorded exchanges of every request (method and URL), in the order they were recorded
+     */
+    private static volatile Map<String, Deque<Exchange>> replay;
+    private static volatile double replaySpeed;
+
+    static {
+        String replayFile = System.getProperty(REPLAY_PROPERTY);
+        String recordFile = System.getProperty(RECORD_PROPERTY);
+
+        replay = replayFile != null ? load(new File(replayFile)) : null;
+        recorder = replay == null && recordFile != null ? openRecorder(new File(recordFile)) : null;
+        replaySpeed = parseSpeed(System.getProperty(REPLAY_SPEED_PROPERTY));
+    }
+
+    /**
+     * @return true if responses are served from the replay file
+     */
+    public static boolean isReplaying() {
+        return replay != null;
+    }
+
+    /**
+     * Replaces the replayed exchanges, or stops replaying.
+     * Lets tests replay traffic without the system property, which is only read when the class is loaded.
+     * @param exchanges The exchanges of every request (method and URL), or null to send requests to the network
+     * @param speed The replay speed
+     */
+    static void setReplay(Map<String, Deque<Exchange>> exchanges, double speed) {
+        replaySpeed = speed;
+        replay = exchanges;
+    }
+
+    /**
+     * @return true if exchanges are written to the replay file
+     */
+    public static boolean isRecording() {
+        return recorder != null;
+    }
+
+    /**
+     * Writes an exchange to the replay file
+     * @param apiKey The API key to redact from the exchange
+     */
+    static void record(String method, String url, int statusCode, String requestId, String message, String content, long latency, String apiKey) {
+        if (recorder == null)
+            return;
+
+        Exchange exchange = new Exchange();
+        exchange.time = System.currentTimeMillis() - recordingStarted;
+        exchange.method = method;
+        exchange.url = redact(url, apiKey);
+        exchange.status = statusCode;
+        exchange.requestId = requestId;
+        exchange.message = redact(message, apiKey);
+        exchange.content = redact(content, apiKey);
+        exchange.latency = latency;
+
+        String line = gson.toJson(exchange);
+
+        synchronized (recorder) {
+            try {
+                recorder.write(line);
+                recorder.write('\n');
+                recorder.flush();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to record a TestProject API exchange", e);
+            }
+        }
+    }
+
+    /**
+     * Serves the next recorded exchange of a request, after waiting as long as it took when recorded.
+     * The last exchange of a request is served again when the recorded ones have run out (e.g. more state checks).
+     * @return The recorded exchange
+     * @throws IOException If the request was not recorded
+     */
+    static Exchange replay(String method, String url) throws IOException {
+        Map<String, Deque<Exchange>> recorded = replay;
+        Deque<Exchange> exchanges = recorded != null ? recorded.get(method + " " + url) : null;
+
+        if (exchanges == null)
+            throw new IOException("No recorded response for " + method + " " + url);
+
+        Exchange exchange;
+        synchronized (exchanges) {
+            exchange = exchanges.size() > 1 ? exchanges.poll() : exchanges.peek();
+            exchange.served++;
+        }
+
+        try {
+            TimeUnit.MILLISECONDS.sleep((long) (exchange.latency / replaySpeed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while replaying the response of: " + url);
+        }
+
+        return exchange;
+    }
+
+    static Map<String, Deque<Exchange>> load(File file) {
+        Map<String, Deque<Exchange>> exchanges = new HashMap<>();
+        int count = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+
+            while (line != null) {
+                String next = reader.readLine();
+
+                if (!line.isEmpty()) {
+                    Exchange exchange;
+                    try {
+                        exchange = gson.fromJson(line, Exchange.class);
+                    } catch (JsonSyntaxException e) {
+                        if (next != null)
+                            throw e;
+
+                        // A recording that was not closed properly, everything up to the last complete exchange is usable
+                        LOGGER.log(Level.WARNING, "Replay file " + file + " is truncated");
+                        break;
+                    }
+
+                    exchanges.computeIfAbsent(exchange.method + " " + exchange.url, key -> new ArrayDeque<>()).add(exchange);
+                    count++;
+                }
+
+                line = next;
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Failed to load the TestProject API replay file " + file, e);
+        }
+
+        LOGGER.log(Level.INFO, "Replaying {0} TestProject API exchanges from {1}", new Object[]{count, file});
+        return exchanges;
+    }
+
+    private static InputStream open(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        if (!file.getName().endsWith(".gz"))
+            return in;
+
+        // A recording that was not closed properly has no gzip trailer, its end is read as the end of the file
+        // instead of failing the read that would return the last exchanges
+        return new FilterInputStream(new GZIPInputStream(in)) {
+            @Override
+            public int read() throws IOException {
+                try {
+                    return super.read();
+                } catch (EOFException e) {
+                    return -1;
+                }
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                try {
+                    return super.read(buffer, offset, length);
+                } catch (EOFException e) {
+                    return -1;
+                }
+            }
+        };
+    }
+
+    private static Writer openRecorder(File file) {
+        try {
+            OutputStream out = new FileOutputStream(file);
+
+            // Flushing every exchange, so a recording that is cut off is still readable
+            if (file.getName().endsWith(".gz"))
+                out = new GZIPOutputStream(out, true);
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                synchronized (writer) {
+                    try {
+                        writer.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }, "TestProject API recorder shutdown"));
+
+            LOGGER.log(Level.INFO, "Recording TestProject API traffic into {0}", file);
+            return writer;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to open the TestProject API recording file " + file, e);
+            return null;
+        }
+    }
+
+    private static double parseSpeed(String value) {
+        if (value == null)
+            return 1;
+
+        try {
+            double speed = Double.parseDouble(value);
+            if (speed > 0)
+                return speed;
+        } catch (NumberFormatException ignored) {
+        }
+
+        LOGGER.log(Level.WARNING, "Invalid replay speed {0}, replaying with the original timing", value);
+        return 1;
+    }
+
+    /**
+     * Redacts the API key, and the query strings of the URLs that do not point to the TestProject API.
+     * A redacted upload link is the same in the response that returned it and in the upload request,
+     * so the upload still matches its recorded exchange on replay.
+     */
+    static String redact(String value, String apiKey) {
+        if (value == null)
+            return null;
+
+        if (apiKey != null && !apiKey.isEmpty())
+            value = value.replace(apiKey, REDACTED);
+
+        Matcher matcher = URL_WITH_QUERY.matcher(value);
+        StringBuffer redacted = new StringBuffer();
+
+        while (matcher.find()) {
+            String replacement = matcher.group(2).equalsIgnoreCase(Constants.TP_API_HOST)
+                    ? matcher.group()
+                    : matcher.group(1) + "?" + REDACTED;
+
+            matcher.appendReplacement(redacted, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(redacted);
+
+        return redacted.toString();
+    }
+
+    /**
+     * A recorded request and its response
+     */
+    static class Exchange {
+        /**
+         * Milliseconds since the recording has started.
+         * Informational only (e.g. to spot gaps between requests), replay does not wait for it.
+         */
+        long time;
+        String method;
+        String url;
+        int status;
+        String requestId;
+        String message;
+        String content;
+        /**
+         * Milliseconds until the response was received
+         */
+        long latency;
+        /**
+         * How many times the exchange was replayed
+         */
+        transient int served;
+
+        <TData> ApiResponse<TData> toResponse(Class<TData> clazz) {
+            return new ApiResponse<>(status, requestId, message, content, clazz);
+        }
+    }
+}
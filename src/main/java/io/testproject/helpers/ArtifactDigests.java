@@ -0,0 +1,52 @@
+package io.testproject.helpers;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content digests of the artifacts (application files and URLs, data sources and test packages) that were last uploaded
+ * to every project by this plugin, so the executions that use them can be fingerprinted.
+ * Artifacts that were changed outside of Jenkins are not known.
+ */
+public class ArtifactDigests {
+
+    private static final Map<String, SortedMap<String, String>> projects = new ConcurrentHashMap<>();
+
+    /**
+     * Records the content of an artifact that was uploaded
+     * @param apiHelper The ApiHelper the artifact was uploaded with
+     * @param projectId The ID of the project
+     * @param artifactId The ID of the artifact
+     * @param digest The digest of the artifact content
+     */
+    public static void record(ApiHelper apiHelper, String projectId, String artifactId, String digest) {
+        SortedMap<String, String> artifacts = projects.computeIfAbsent(getKey(apiHelper, projectId),
+                key -> Collections.synchronizedSortedMap(new TreeMap<>()));
+
+        artifacts.put(artifactId, digest);
+    }
+
+    /**
+     * Returns the digests of the artifacts that were uploaded to a project
+     * @param apiHelper An instance of ApiHelper
+     * @param projectId The ID of the project
+     * @return The digests by artifact ID, in ID order
+     */
+    public static SortedMap<String, String> get(ApiHelper apiHelper, String projectId) {
+        SortedMap<String, String> artifacts = projects.get(getKey(apiHelper, projectId));
+
+        if (artifacts == null)
+            return Collections.emptySortedMap();
+
+        synchronized (artifacts) {
+            return new TreeMap<>(artifacts);
+        }
+    }
+
+    private static String getKey(ApiHelper apiHelper, String projectId) {
+        return apiHelper.getCacheKey() + " " + projectId;
+    }
+}
@@ -0,0 +1,119 @@
+package io.testproject.helpers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops sending requests to an endpoint class that keeps failing.
+ * After enough consecutive failures the breaker opens and requests fail fast.
+ * Once the open period is over, a single probe request is let through (half open) and its outcome closes or re-opens the breaker.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long rejected;
+
+    /**
+     * @param name The name of the endpoint class, used in messages
+     * @param failureThreshold Number of consecutive failures that opens the breaker
+     * @param openMillis How long the breaker stays open before a probe is let through
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Checks whether a request may be sent
+     * @throws SkippedRequestException If the breaker is open
+     */
+    public synchronized void acquire() throws SkippedRequestException {
+        if (state == State.OPEN) {
+            long remaining = openedAt + openMillis - System.currentTimeMillis();
+
+            if (remaining > 0) {
+                rejected++;
+                throw new SkippedRequestException(String.format(
+                        "TestProject %s requests are failing, not sending more of them for the next %d seconds",
+                        name, TimeUnit.MILLISECONDS.toSeconds(remaining) + 1));
+            }
+
+            state = State.HALF_OPEN;
+            LogHelper.Debug(() -> "Sending a probe " + name + " request to TestProject");
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                rejected++;
+                throw new SkippedRequestException(String.format("TestProject %s requests are failing, waiting for a probe request to finish", name));
+            }
+
+            probeInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED)
+            LogHelper.Info(String.format("TestProject %s requests are succeeding again", name));
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            LogHelper.Info(String.format("TestProject %s requests are failing (%d in a row), pausing them for %d seconds",
+                    name, consecutiveFailures, TimeUnit.MILLISECONDS.toSeconds(openMillis)));
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Releases a request whose outcome says nothing about the health of the endpoint (cancelled, invalid, etc.)
+     */
+    public synchronized void onIgnored() {
+        probeInFlight = false;
+
+        if (state == State.HALF_OPEN)
+            state = State.OPEN;
+    }
+
+    //region Getters
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        // An open breaker whose open period is over lets the next request through
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis)
+            return State.HALF_OPEN;
+
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+    //endregion
+}
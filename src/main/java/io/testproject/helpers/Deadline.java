@@ -0,0 +1,48 @@
+package io.testproject.helpers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a caller needs an operation to be done.
+ * Requests made on behalf of the caller use the remaining time as their timeout.
+ */
+public final class Deadline {
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @param duration How long from now the deadline expires
+     * @param unit The unit of the duration
+     * @return A deadline that expires after the given duration
+     */
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.currentTimeMillis() + unit.toMillis(duration));
+    }
+
+    /**
+     * @param expiresAt When the deadline expires (epoch milliseconds)
+     * @return A deadline that expires at the given time
+     */
+    public static Deadline at(long expiresAt) {
+        return new Deadline(expiresAt);
+    }
+
+    /**
+     * @return The time left until the deadline, or a non positive value if it has expired
+     */
+    public long remainingMillis() {
+        return expiresAt - System.currentTimeMillis();
+    }
+
+    public boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return remainingMillis() + "ms remaining";
+    }
+}
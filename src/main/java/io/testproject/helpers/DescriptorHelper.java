@@ -3,23 +3,23 @@ package io.testproject.helpers;
 import hudson.AbortException;
 import hudson.util.ListBoxModel;
 import io.testproject.constants.Constants;
+import io.testproject.model.AgentData;
+import io.testproject.model.ApplicationData;
 import io.testproject.model.JobData;
 import io.testproject.model.ProjectData;
 import io.testproject.model.TestData;
 import io.testproject.plugins.PluginConfiguration;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 public class DescriptorHelper {
     public static ListBoxModel fillProjectIdItems(ApiHelper apiHelper) {
-        HashMap<String, Object> headers = new HashMap<>();
-        headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
         ListBoxModel model = new ListBoxModel();
 
         ApiResponse<ProjectData[]> response = null;
         try {
-            response = apiHelper.Get(Constants.TP_RETURN_ACCOUNT_PROJECTS, headers, ProjectData[].class);
+            response = MetadataCache.get(apiHelper, Constants.TP_RETURN_ACCOUNT_PROJECTS, ProjectData[].class);
 
             if (!response.isSuccessful()) {
                 LogHelper.Debug(response.generateErrorMessage("Unable to fetch the projects list"));
@@ -44,16 +44,25 @@ public class DescriptorHelper {
     }
 
     public static ListBoxModel fillJobIdItems(String projectId, ApiHelper apiHelper) {
+        return fillJobIdItems(projectId, null, null, apiHelper);
+    }
+
+    /**
+     * Fills the jobs dropdown with the jobs that match a filter
+     * @param projectId The ID of the project
+     * @param filter Part of the name or ID of the job, only the top matches are listed
+     * @param selected The ID of the selected job, listed even when it does not match the filter
+     * @param apiHelper An instance of ApiHelper
+     * @return The jobs list
+     */
+    public static ListBoxModel fillJobIdItems(String projectId, String filter, String selected, ApiHelper apiHelper) {
         if (projectId.isEmpty()) {
             return new ListBoxModel();
         }
 
-        HashMap<String, Object> headers = new HashMap<>();
-        headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
         ApiResponse<JobData[]> response = null;
         try {
-            response = apiHelper.Get(String.format(Constants.TP_RETURN_PROJECT_JOBS, projectId), headers, JobData[].class);
+            response = MetadataCache.get(apiHelper, String.format(Constants.TP_RETURN_PROJECT_JOBS, projectId), JobData[].class);
 
             if (!response.isSuccessful()) {
                 String message = response.generateErrorMessage("Unable to fetch the project's jobs list");
@@ -63,11 +72,8 @@ public class DescriptorHelper {
 
             ListBoxModel model = new ListBoxModel();
             model.add("Select a job to execute from the selected project (You must select a project first)", "");
-            for (JobData job : response.getData()) {
-                model.add(
-                        job.getName() + " [" + job.getId() + "]",
-                        job.getId());
-            }
+            addMatches(model, MetadataCache.getIndex(response, JobData::getName, JobData::getId), filter, selected, null,
+                    job -> job.getName() + " [" + job.getId() + "]", JobData::getId);
 
             return model;
         } catch (IOException | NullPointerException e) {
@@ -78,16 +84,25 @@ public class DescriptorHelper {
     }
 
     public static ListBoxModel fillTestIdItems(String projectId, ApiHelper apiHelper) {
+        return fillTestIdItems(projectId, null, null, apiHelper);
+    }
+
+    /**
+     * Fills the tests dropdown with the tests that match a filter
+     * @param projectId The ID of the project
+     * @param filter Part of the name or ID of the test, only the top matches are listed
+     * @param selected The ID of the selected test, listed even when it does not match the filter
+     * @param apiHelper An instance of ApiHelper
+     * @return The tests list
+     */
+    public static ListBoxModel fillTestIdItems(String projectId, String filter, String selected, ApiHelper apiHelper) {
         if (projectId.isEmpty()) {
             return new ListBoxModel();
         }
 
-        HashMap<String, Object> headers = new HashMap<>();
-        headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
         ApiResponse<TestData[]> response = null;
         try {
-            response = apiHelper.Get(String.format(Constants.TP_RETURN_PROJECT_TESTS, projectId), headers, TestData[].class);
+            response = MetadataCache.get(apiHelper, String.format(Constants.TP_RETURN_PROJECT_TESTS, projectId), TestData[].class);
 
             if (!response.isSuccessful()) {
                 String message = response.generateErrorMessage("Unable to fetch the project's tests list");
@@ -97,10 +112,96 @@ public class DescriptorHelper {
 
             ListBoxModel model = new ListBoxModel();
             model.add("Select a test to execute from the selected project (You must select a project first)", "");
-            for (TestData test : response.getData()) {
-                model.add(
-                        test.getName() + " [" + test.getId() + "]",
-                        test.getId());
+            addMatches(model, MetadataCache.getIndex(response, TestData::getName, TestData::getId), filter, selected, null,
+                    test -> test.getName() + " [" + test.getId() + "]", TestData::getId);
+
+            return model;
+        } catch (IOException | NullPointerException e) {
+            LogHelper.Error(e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Fills the applications dropdown with the applications that match a filter
+     * @param projectId The ID of the project
+     * @param filter Part of the name or ID of the application, only the top matches are listed
+     * @param selected The ID of the selected application, listed even when it does not match the filter
+     * @param apiHelper An instance of ApiHelper
+     * @param web true to list web applications, false to list mobile applications
+     * @return The applications list
+     */
+    public static ListBoxModel fillAppIdItems(String projectId, String filter, String selected, ApiHelper apiHelper, boolean web) {
+        if (projectId.isEmpty()) {
+            return new ListBoxModel();
+        }
+
+        try {
+            ApiResponse<ApplicationData[]> response = MetadataCache.get(apiHelper, String.format(Constants.TP_RETURN_APP_FILE, projectId), ApplicationData[].class);
+
+            if (!response.isSuccessful()) {
+                throw new AbortException(response.generateErrorMessage("Unable to fetch the applications list"));
+            }
+
+            ListBoxModel model = new ListBoxModel();
+            model.add("Select an application", "");
+            addMatches(model, MetadataCache.getIndex(response, ApplicationData::getName, ApplicationData::getId), filter, selected,
+                    application -> application.getPlatform().equals("Web") == web,
+                    application -> (web ? "" : application.getPlatform() + ": ") + application.getName() + " [" + application.getId() + "]",
+                    ApplicationData::getId);
+
+            return model;
+        } catch (IOException | NullPointerException e) {
+            LogHelper.Error(e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds the top matches of a filter to a dropdown, and an entry asking to refine the filter when there are more matches than listed.
+     * The selected item is always listed, so reopening a configuration does not lose it.
+     */
+    static <T> void addMatches(ListBoxModel model, NameIndex<T> index, String filter, String selected, Predicate<T> include,
+                               Function<T, String> label, Function<T, String> id) {
+        NameIndex.Page<T> page = index.search(filter, include, Constants.SEARCH_RESULTS_LIMIT);
+
+        T current = index.find(selected);
+        if (current != null && !page.getItems().contains(current) && (include == null || include.test(current)))
+            model.add(label.apply(current), id.apply(current));
+
+        for (T item : page.getItems())
+            model.add(label.apply(item), id.apply(item));
+
+        if (page.hasMore())
+            model.add("More results, refine the filter above (showing " + page.getItems().size() + " of " + page.getTotal() + " matches)", "");
+    }
+
+    /**
+     * Fills the agents dropdown
+     * @param apiHelper An instance of ApiHelper
+     * @param emptySelection The text of the empty selection
+     * @return The agents list
+     */
+    public static ListBoxModel fillAgentIdItems(ApiHelper apiHelper, String emptySelection) {
+        try {
+            ApiResponse<AgentData[]> response = MetadataCache.get(apiHelper, Constants.TP_RETURN_ACCOUNT_AGENTS, AgentData[].class);
+
+            if (!response.isSuccessful()) {
+                throw new AbortException(response.generateErrorMessage("Unable to fetch the agents list"));
+            }
+
+            AgentInventory.update(apiHelper, response.getData());
+
+            ListBoxModel model = new ListBoxModel();
+            model.add(emptySelection, "");
+            for (AgentData agent : response.getData()) {
+                if (agent.getOsType().equals("Unknown"))
+                    continue;
+
+                model.add(agent.getAlias() + " (v" + agent.getVersion() + " on " + agent.getOsType() + ") [" + agent.getId() + "]",
+                        agent.getId());
             }
 
             return model;
@@ -0,0 +1,91 @@
+package io.testproject.helpers;
+
+import io.testproject.plugins.PluginConfiguration;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes execution completion callbacks to the builds that are waiting for them.
+ * Several builds may watch the same execution, each of them registers its own listener.
+ */
+public class ExecutionCallbacks {
+
+    /**
+     * How long to remember a callback that arrived before anyone started waiting for the execution
+     */
+    private static final long EARLY_CALLBACK_RETENTION = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Map<String, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+    private static final Map<String, Long> earlyCallbacks = new ConcurrentHashMap<>();
+
+    /**
+     * @return true if a callback secret is configured, meaning that callbacks can be accepted
+     */
+    public static boolean isEnabled() {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+        return config != null && config.getCallbackSecret() != null
+                && !config.getCallbackSecret().getPlainText().isEmpty();
+    }
+
+    /**
+     * Registers a listener that is invoked when a completion callback for the execution is received
+     * @param executionId The ID of the execution
+     * @param listener The listener to invoke
+     */
+    public static void register(String executionId, Runnable listener) {
+        listeners.compute(executionId, (id, current) -> {
+            Set<Runnable> registered = current != null ? current : ConcurrentHashMap.newKeySet();
+            registered.add(listener);
+            return registered;
+        });
+
+        // The execution might have finished before we started waiting for it, the callback is kept for the other watches
+        if (earlyCallbacks.containsKey(executionId))
+            listener.run();
+    }
+
+    /**
+     * Removes a listener, the other listeners of the execution are kept
+     * @param executionId The ID of the execution
+     * @param listener The listener that was registered
+     */
+    public static void unregister(String executionId, Runnable listener) {
+        listeners.computeIfPresent(executionId, (id, registered) -> {
+            registered.remove(listener);
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    /**
+     * Notifies the listeners of the execution that it has completed
+     * @param executionId The ID of the execution
+     * @return true if a build was waiting for the execution
+     */
+    public static boolean complete(String executionId) {
+        Set<Runnable> registered = listeners.get(executionId);
+
+        if (registered != null && !registered.isEmpty()) {
+            for (Runnable listener : registered)
+                listener.run();
+
+            return true;
+        }
+
+        pruneEarlyCallbacks();
+        earlyCallbacks.put(executionId, System.currentTimeMillis());
+        return false;
+    }
+
+    private static void pruneEarlyCallbacks() {
+        long threshold = System.currentTimeMillis() - EARLY_CALLBACK_RETENTION;
+
+        for (Iterator<Long> it = earlyCallbacks.values().iterator(); it.hasNext(); ) {
+            if (it.next() < threshold)
+                it.remove();
+        }
+    }
+}
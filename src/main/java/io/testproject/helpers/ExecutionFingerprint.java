@@ -0,0 +1,74 @@
+package io.testproject.helpers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.testproject.constants.ExecutionType;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Fingerprint of the inputs of an execution: the test/job, its execution parameters
+ * and the content of the artifacts that were uploaded to its project.
+ * Executions with the same fingerprint run the same tests on the same inputs.
+ */
+public class ExecutionFingerprint {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * Computes the fingerprint of an execution
+     * @param executionType Test or job
+     * @param projectId The ID of the project
+     * @param itemId The ID of the test/job
+     * @param requestBody The body of the run request (execution parameters, agent, browser and device)
+     * @param artifacts The digests of the artifacts uploaded to the project, by artifact ID
+     * @return Hex encoded SHA-256 of the inputs
+     */
+    public static String of(ExecutionType executionType, String projectId, String itemId, JsonObject requestBody, SortedMap<String, String> artifacts) {
+        JsonObject digests = new JsonObject();
+        artifacts.forEach(digests::addProperty);
+
+        JsonObject inputs = new JsonObject();
+        inputs.addProperty("type", executionType.name());
+        inputs.addProperty("projectId", projectId);
+        inputs.addProperty("itemId", itemId);
+        inputs.add("request", normalize(requestBody));
+        inputs.add("artifacts", digests);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            return String.format("%064x", new BigInteger(1, digest.digest(inputs.toString().getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sorts the members of every object, so parameters that were only written in a different order are the same input
+     */
+    private static JsonElement normalize(JsonElement element) {
+        if (element.isJsonObject()) {
+            JsonObject sorted = new JsonObject();
+            element.getAsJsonObject().entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(member -> sorted.add(member.getKey(), normalize(member.getValue())));
+
+            return sorted;
+        }
+
+        if (element.isJsonArray()) {
+            JsonArray items = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray())
+                items.add(normalize(item));
+
+            return items;
+        }
+
+        return element;
+    }
+}
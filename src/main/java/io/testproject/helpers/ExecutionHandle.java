@@ -0,0 +1,63 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import io.testproject.constants.ExecutionType;
+
+/**
+ * Identifies a running execution between the step that triggered it and the step that waits for it.
+ * Handles are passed around in pipelines as plain strings in the form TYPE:projectId:itemId:executionId.
+ */
+public class ExecutionHandle {
+    private static final String SEPARATOR = ":";
+
+    private final ExecutionType type;
+    private final String projectId;
+    private final String itemId;
+    private final String executionId;
+
+    public ExecutionHandle(ExecutionType type, String projectId, String itemId, String executionId) {
+        this.type = type;
+        this.projectId = projectId;
+        this.itemId = itemId;
+        this.executionId = executionId;
+    }
+
+    public ExecutionType getType() {
+        return type;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    /**
+     * Parses a handle that was returned by a trigger step
+     * @param handle The handle string
+     * @return The parsed handle
+     */
+    public static ExecutionHandle parse(String handle) throws AbortException {
+        String[] parts = handle != null ? handle.trim().split(SEPARATOR) : new String[0];
+
+        if (parts.length != 4)
+            throw new AbortException(String.format("Invalid execution handle '%s'", handle));
+
+        try {
+            return new ExecutionHandle(ExecutionType.valueOf(parts[0]), parts[1], parts[2], parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new AbortException(String.format("Invalid execution handle '%s'", handle));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type + SEPARATOR + projectId + SEPARATOR + itemId + SEPARATOR + executionId;
+    }
+}
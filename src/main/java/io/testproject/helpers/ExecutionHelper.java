@@ -6,6 +6,9 @@ import hudson.AbortException;
 import hudson.FilePath;
 import io.testproject.constants.Constants;
 import io.testproject.constants.ExecutionType;
+import io.testproject.model.AgentBrowser;
+import io.testproject.model.AgentDevice;
+import io.testproject.model.ExecutionResponseData;
 import io.testproject.model.ExecutionStateResponseData;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
@@ -23,12 +26,13 @@ import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.StringWriter;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class ExecutionHelper {
@@ -45,8 +49,18 @@ public class ExecutionHelper {
     private FilePath filePath;
     private ApiHelper apiHelper;
 
+    private int failFastThreshold;
+    private final AtomicBoolean failFastUnavailableLogged = new AtomicBoolean();
+    private List<String> fallbackAgents = Collections.emptyList();
+    private boolean deduplicate;
+    private SharedExecution.Member shared;
+    private int reuseResultsMinutes;
+    private String resultKey;
+    private ResultCache.Result reusedResult;
+    private Object buildNumber;
+    private String junitReport;
     private boolean aborting;
-    private Timer stateTimer;
+    private CompletableFuture<ExecutionStateResponseData> currentWatch;
 
     /**
      * Constructor for 'RunTest' build step
@@ -120,6 +134,95 @@ public class ExecutionHelper {
         this.apiHelper = apiHelper;
     }
 
+    /**
+     * Aborts the execution as soon as the given number of tests have failed (0 = wait for the execution to finish)
+     * @param failFastThreshold Number of failed tests that aborts the execution
+     */
+    public void setFailFastThreshold(int failFastThreshold) {
+        this.failFastThreshold = failFastThreshold;
+    }
+
+    /**
+     * Runs the execution on the first available fallback agent when the selected agent is unavailable
+     * @param fallbackAgents IDs or aliases of the fallback agents, in order of preference
+     */
+    public void setFallbackAgents(List<String> fallbackAgents) {
+        this.fallbackAgents = fallbackAgents;
+    }
+
+    /**
+     * Joins a running execution with identical inputs instead of triggering a new one, when waiting for the execution
+     * @param deduplicate true to share identical executions
+     */
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    /**
+     * Reuses a recent passing result of an execution with identical inputs instead of running it again, when waiting for the execution
+     * @param reuseResultsMinutes How old a reused result can be (0 = always run the execution)
+     */
+    public void setReuseResultsMinutes(int reuseResultsMinutes) {
+        this.reuseResultsMinutes = reuseResultsMinutes;
+    }
+
+    /**
+     * Computes the fingerprint of the execution inputs, once the project and the test/job IDs are resolved
+     * @return The fingerprint
+     */
+    public String getFingerprint() throws AbortException {
+        return ExecutionFingerprint.of(executionType, projectId, itemId, generateRequestBody(), ArtifactDigests.get(apiHelper, projectId));
+    }
+
+    /**
+     * Looks for a recent passing result of an execution with identical inputs.
+     * The artifact digests are only known for uploads this Jenkins has made since it started,
+     * without them a changed application or test package would go unnoticed, so the execution runs again.
+     * @return The result to reuse, or null to run the execution
+     */
+    ResultCache.Result findReusableResult() throws AbortException {
+        SortedMap<String, String> artifacts = ArtifactDigests.get(apiHelper, projectId);
+
+        if (artifacts.isEmpty()) {
+            LogHelper.Info("Not reusing earlier results: no artifact uploads to this project were recorded since Jenkins started, so changed artifacts could not be detected");
+            return null;
+        }
+
+        String fingerprint = ExecutionFingerprint.of(executionType, projectId, itemId, generateRequestBody(), artifacts);
+        resultKey = apiHelper.getCacheKey() + " " + fingerprint;
+        ResultCache.Result result = ResultCache.find(resultKey, reuseResultsMinutes);
+
+        if (result != null)
+            LogHelper.Info(String.format("Reusing the passing result of execution %s that build %s has run %d minutes ago with identical inputs (fingerprint %s)",
+                    result.getExecutionId(),
+                    result.getBuild(),
+                    TimeUnit.MILLISECONDS.toMinutes(result.getAge()),
+                    fingerprint.substring(0, Constants.FINGERPRINT_DISPLAY_LENGTH)));
+
+        return result;
+    }
+
+    /**
+     * @return The ID of the agent that runs the execution, which may be a fallback agent once the execution was triggered
+     */
+    public String getAgentId() {
+        return agentId;
+    }
+
+    /**
+     * @return The ID of the project, resolved from its name once the execution was triggered
+     */
+    public String getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * @return The ID of the test/job, resolved from its name once the execution was triggered
+     */
+    public String getItemId() {
+        return itemId;
+    }
+
     public JsonObject generateRequestBody() throws AbortException {
         JsonObject executionData = null;
 
@@ -149,6 +252,142 @@ public class ExecutionHelper {
         return executionData;
     }
 
+    /**
+     * Tells whether an agent has the browser or the device the test was configured to run on
+     * @param agentId The ID of the agent
+     * @return true if the agent can run the execution
+     */
+    private boolean canRun(String agentId) {
+        try {
+            if (!StringUtils.isEmpty(device)) {
+                ApiResponse<AgentDevice[]> response = AgentInventory.getDevices(apiHelper, agentId);
+                return response.isSuccessful() && response.getData() != null
+                        && Arrays.stream(response.getData()).anyMatch(agentDevice -> device.equals(agentDevice.getUdid()));
+            }
+
+            if (!StringUtils.isEmpty(browser)) {
+                ApiResponse<AgentBrowser[]> response = AgentInventory.getBrowsers(apiHelper, agentId);
+                return response.isSuccessful() && response.getData() != null
+                        && Arrays.stream(response.getData()).anyMatch(agentBrowser -> browser.equals(agentBrowser.getType()));
+            }
+        } catch (IOException e) {
+            LogHelper.Debug("Unable to fetch the inventory of agent " + agentId + ": " + e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Triggers the test/job execution
+     * @param buildNumber The number of the Jenkins build that triggers the execution
+     * @return The ID of the new execution
+     */
+    public String triggerExecution(Object buildNumber) throws IOException {
+        // Pipelines may refer to the project and the test/job by name
+        projectId = NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, projectId);
+        itemId = NameResolver.resolve(apiHelper,
+                executionType == ExecutionType.JOB ? NameResolver.Kind.JOB : NameResolver.Kind.TEST, projectId, itemId);
+        this.buildNumber = buildNumber;
+
+        // Running the execution again would only prove the same result
+        if (reuseResultsMinutes > 0 && waitToFinishSeconds > 0) {
+            reusedResult = findReusableResult();
+            if (reusedResult != null)
+                return reusedResult.getExecutionId();
+        }
+
+        // Failing (or moving to a fallback agent) now, rather than once the step stops waiting for the execution
+        if (!StringUtils.isEmpty(agentId))
+            agentId = AgentAvailability.check(apiHelper, agentId, fallbackAgents, this::canRun, waitToFinishSeconds);
+
+        if (deduplicate && waitToFinishSeconds > 0) {
+            String executionId = joinSharedExecution(buildNumber);
+            if (executionId != null)
+                return executionId;
+        }
+
+        try {
+            String executionId = startExecution(buildNumber);
+
+            if (shared != null)
+                shared.started(executionId);
+
+            return executionId;
+        } catch (IOException | RuntimeException e) {
+            if (shared != null) {
+                shared.failed(e);
+                shared = null;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Joins the running execution with the same inputs (and fail fast threshold), if there is one
+     * @param buildNumber The number of the Jenkins build that triggers the execution
+     * @return The ID of the joined execution, or null if this build has to trigger the execution
+     */
+    private String joinSharedExecution(Object buildNumber) throws IOException {
+        String fingerprint = getFingerprint();
+        shared = SharedExecution.join(apiHelper.getCacheKey() + " " + fingerprint + " " + failFastThreshold, buildNumber);
+
+        if (shared.isOwner())
+            return null;
+
+        try {
+            String executionId = shared.awaitExecutionId();
+
+            if (executionId != null) {
+                LogHelper.Info(String.format("Joining execution %s that build %s has triggered with identical inputs (fingerprint %s)",
+                        executionId, shared.getBuild(), fingerprint.substring(0, Constants.FINGERPRINT_DISPLAY_LENGTH)));
+                return executionId;
+            }
+        } catch (InterruptedException e) {
+            shared.release();
+            shared = null;
+            throw new InterruptedIOException("The build was cancelled while waiting for build " + buildNumber + " to trigger the execution");
+        }
+
+        LogHelper.Info(String.format("Build %s was unable to trigger the identical execution, triggering it again", shared.getBuild()));
+        shared.release();
+        shared = null;
+
+        return null;
+    }
+
+    private String startExecution(Object buildNumber) throws IOException {
+        HashMap<String, Object> headers = new HashMap<>();
+        headers.put(Constants.CI_NAME_HEADER, Constants.CI_NAME);
+        headers.put(Constants.CI_BUILD_HEADER, buildNumber);
+
+        String url = executionType == ExecutionType.JOB
+                ? Constants.TP_RUN_JOB_URL
+                : Constants.TP_RUN_TEST_URL;
+
+        ApiResponse<ExecutionResponseData> response = apiHelper.Post(
+                String.format(url, projectId, itemId),
+                headers,
+                null,
+                generateRequestBody(),
+                ExecutionResponseData.class);
+
+        if (!response.isSuccessful()) {
+            throw new AbortException(response.generateErrorMessage(
+                    "Unable to trigger TestProject " + (executionType == ExecutionType.JOB ? "job" : "test")));
+        }
+
+        if (response.getData() == null || StringUtils.isEmpty(response.getData().getId())) {
+            throw new AbortException(response.generateErrorMessage("TestProject did not return an execution id"));
+        }
+
+        String executionId = response.getData().getId();
+        LogHelper.Info("Execution id: " + executionId);
+
+        return executionId;
+    }
+
     public void waitForItemFinish(String executionId) throws IOException, InterruptedException {
         if (waitToFinishSeconds == 0) {
             LogHelper.Info("Will not wait for execution to finish");
@@ -156,67 +395,168 @@ public class ExecutionHelper {
             return;
         }
 
+        if (reusedResult != null) {
+            finishExecution(executionId, reusedResult.getState());
+            return;
+        }
+
         Calendar itemTimeout = Calendar.getInstance();
         itemTimeout.add(Calendar.SECOND, waitToFinishSeconds);
         LogHelper.Info(String.format("Will wait %s seconds for execution to finish (not later than %s)", waitToFinishSeconds, itemTimeout.getTime().toString()));
 
-        // Waiting for execution to finish
-        final ExecutionStateResponseData[] executionState = {null};
-        final CountDownLatch latch = new CountDownLatch(1);
+        if (failFastThreshold > 0)
+            LogHelper.Info(String.format("Will abort the execution once %d tests have failed", failFastThreshold));
 
-        stateTimer = new Timer();
-        TimerTask stateCheckTask = new TimerTask() {
-            public void run() {
-                try {
-                    if (latch.getCount() == 0) {
-                        cancel(); // Timeout reached, canceling timer
-                        return;
-                    }
+        // Waiting for execution to finish, state polls never run past the wait time frame
+        Deadline deadline = Deadline.after(waitToFinishSeconds, TimeUnit.SECONDS);
+        ExecutionStateResponseData executionState;
+        try {
+            // Identical executions share one watch, without a deadline since every build waits for a different time
+            CompletableFuture<ExecutionStateResponseData> watch = shared != null
+                    ? shared.watch(() -> watchExecution(executionId))
+                    : watchExecution(executionId, deadline);
+
+            executionState = awaitExecution(watch, waitToFinishSeconds);
+        } catch (InterruptedException e) {
+            LogHelper.Info("The build was cancelled");
+            if (isLastWaiter(executionId))
+                abortAndConfirm(executionId);
+            throw e;
+        } catch (IOException e) {
+            // Nobody will read the results of an execution that is no longer watched
+            if (isLastWaiter(executionId))
+                abortAndConfirm(executionId);
+            throw e;
+        }
 
-                    LogHelper.Debug("Checking execution state...");
-                    executionState[0] = checkExecutionState(executionId);
+        // The watch stops early when the failure threshold is crossed
+        if (!executionState.hasFinished()) {
+            LogHelper.Info(String.format("%d of %s tests have failed, aborting the execution (fail fast)",
+                    executionState.getFailedTests(),
+                    executionState.getTotalTests() != null ? executionState.getTotalTests() : "?"));
+            if (isLastWaiter(executionId))
+                abortExecution(executionId);
+        }
 
-                    if (executionState[0] != null) {
-                        if (executionState[0].hasFinished()) {
-                            LogHelper.Info("Execution has finished - state: " + executionState[0].getState());
-                            latch.countDown(); // Releasing the latch
-                        } else {
-                            LogHelper.Debug(String.format("%s agent is still executing the %s %s", executionState[0].getAgent(), executionType, (executionState[0].getTarget() != null ? " on " + executionState[0].getTarget() : "")));
-                        }
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                    cancel();
-                }
-            }
-        };
+        try {
+            finishExecution(executionId, executionState);
+        } finally {
+            if (shared != null)
+                shared.release();
+        }
+
+        if (resultKey != null)
+            ResultCache.store(resultKey, new ResultCache.Result(executionId, executionState, buildNumber, junitReport));
+    }
+
+    /**
+     * Stops waiting for a shared execution
+     * @param executionId The ID of the execution
+     * @return true if no other build waits for the execution, so it can be aborted
+     */
+    private boolean isLastWaiter(String executionId) {
+        if (shared == null || shared.release())
+            return true;
+
+        LogHelper.Info(String.format("Leaving execution %s running for the %d other builds that wait for it",
+                executionId, shared.getOtherWaiters()));
+        return false;
+    }
+
+    /**
+     * Starts watching the execution on the shared polling engine
+     * @param executionId The ID of the execution
+     * @return A future that completes with the terminal state of the execution
+     */
+    public CompletableFuture<ExecutionStateResponseData> watchExecution(String executionId) {
+        return watchExecution(executionId, null);
+    }
 
-        stateTimer.scheduleAtFixedRate(stateCheckTask, 5000, 3000); // Will check for execution state every 3 seconds starting after 5 seconds
-        boolean tpItemCompleted = latch.await(waitToFinishSeconds, TimeUnit.SECONDS); // Waiting for timeout or the latch to reach 0
-        stateTimer.cancel();
-        LogHelper.Debug("Latch result: " + tpItemCompleted);
+    /**
+     * Starts watching the execution on the shared polling engine
+     * @param executionId The ID of the execution
+     * @param deadline Limits the timeout of every state poll to the time left, may be null
+     * @return A future that completes with the terminal state of the execution
+     */
+    public CompletableFuture<ExecutionStateResponseData> watchExecution(String executionId, Deadline deadline) {
+        // The state URL does not change between polls, building it once
+        final String stateUrl = getExecutionStateUrl(executionId);
+        final ApiHelper stateApiHelper = deadline != null ? apiHelper.withDeadline(deadline) : apiHelper;
+
+        currentWatch = ExecutionPoller.watch(
+                executionId,
+                () -> checkExecutionState(stateApiHelper, stateUrl),
+                state -> LogHelper.Debug(() -> state.getAgent() + " agent is still executing the " + executionType + " " + (state.getTarget() != null ? " on " + state.getTarget() : "")),
+                failFastThreshold > 0 ? this::hasCrossedFailureThreshold : null);
+
+        return currentWatch;
+    }
+
+    /**
+     * @return true if the running execution has reported enough failed tests to abort it
+     */
+    boolean hasCrossedFailureThreshold(ExecutionStateResponseData state) {
+        if (failFastThreshold <= 0)
+            return false;
 
-        if (!tpItemCompleted || executionState[0] == null || !executionState[0].hasFinished()) {
+        // The test counts are optional in the state response, without them the execution runs to the end
+        if (state.getFailedTests() == null) {
+            if (failFastUnavailableLogged.compareAndSet(false, true))
+                LogHelper.Info("TestProject does not report the failed tests of this execution while it runs, fail fast is unavailable");
+
+            return false;
+        }
+
+        return state.getFailedTests() >= failFastThreshold;
+    }
+
+    /**
+     * Waits for a watched execution to finish
+     * @param watch The watch returned by {@link #watchExecution(String)}
+     * @param timeoutSeconds How long to wait
+     * @return The terminal state of the execution
+     */
+    public static ExecutionStateResponseData awaitExecution(CompletableFuture<ExecutionStateResponseData> watch, int timeoutSeconds) throws IOException, InterruptedException {
+        try {
+            ExecutionStateResponseData state = watch.get(timeoutSeconds, TimeUnit.SECONDS);
+
+            if (state.hasFinished())
+                LogHelper.Info("Execution has finished - state: " + state.getState());
+
+            return state;
+        } catch (TimeoutException | CancellationException e) {
             throw new AbortException("The execution did not finish within the defined time frame");
+        } catch (ExecutionException e) {
+            throw new AbortException("Unable to get execution state: " + e.getCause().getMessage());
+        } finally {
+            watch.cancel(false);
         }
+    }
 
-        if (tpItemCompleted && !StringUtils.isEmpty(junitResultsFile)) {
+    /**
+     * Stores the JUnit report and fails if the execution has finished with errors or was aborted by fail fast
+     * @param executionId The ID of the execution
+     * @param executionState The terminal state of the execution, or the state that crossed the failure threshold
+     */
+    public void finishExecution(String executionId, ExecutionStateResponseData executionState) throws IOException {
+        if (!StringUtils.isEmpty(junitResultsFile)) {
             LogHelper.Info(String.format("Generating an XML report for execution '%s'", executionId));
             File outputFile = getJUnitFilePath(filePath);
 
-            if (outputFile == null)
-                return;
-
-            if (!getJUnitXMLReport(outputFile, filePath, executionId))
+            if (outputFile != null && !getJUnitXMLReport(outputFile, filePath, executionId))
                 LogHelper.Info(String.format("Failed to generate a JUnit XML report for execution '%s'", executionId));
         }
 
-        if (!executionState[0].getReport().isEmpty()) {
-            LogHelper.Info("Report: " + executionState[0].getReport());
+        if (executionState.getReport() != null && !executionState.getReport().isEmpty()) {
+            LogHelper.Info("Report: " + executionState.getReport());
+        }
+
+        if (!executionState.hasFinished()) {
+            throw new AbortException(String.format("The execution was aborted after %d tests have failed", executionState.getFailedTests()));
         }
 
-        if (executionState[0].hasFinishedWithErrors()) {
-            String error = executionState[0].getMessage();
+        if (executionState.hasFinishedWithErrors()) {
+            String error = executionState.getMessage();
 
             throw new AbortException("The execution has finish with errors" + (error != null ? ": " + error : ""));
         }
@@ -224,13 +564,16 @@ public class ExecutionHelper {
         LogHelper.Info("The execution has finished successfully!");
     }
 
-    private ExecutionStateResponseData checkExecutionState(String executionId) throws IOException {
+    private String getExecutionStateUrl(String executionId) {
         String url = executionType == ExecutionType.JOB
                 ? Constants.TP_CHECK_EXECUTION_STATE_URL
                 : Constants.TP_CHECK_TEST_EXECUTION_STATE_URL;
 
-        ApiResponse<ExecutionStateResponseData> response = apiHelper.Get(
-                String.format(url, projectId, itemId, executionId), ExecutionStateResponseData.class);
+        return String.format(url, projectId, itemId, executionId);
+    }
+
+    private static ExecutionStateResponseData checkExecutionState(ApiHelper apiHelper, String stateUrl) throws IOException {
+        ApiResponse<ExecutionStateResponseData> response = apiHelper.Get(stateUrl, ExecutionStateResponseData.class);
 
         if (response.isSuccessful()) {
             if (response.getData() != null) {
@@ -249,8 +592,8 @@ public class ExecutionHelper {
         aborting = true;
         LogHelper.Info("Aborting TestProject execution: " + executionId + "...");
 
-        if (stateTimer != null) // Canceling the state stateTimer
-            stateTimer.cancel();
+        if (currentWatch != null) // Stopping the state polling
+            currentWatch.cancel(false);
 
         try {
             String url = executionType == ExecutionType.JOB
@@ -272,6 +615,67 @@ public class ExecutionHelper {
         }
     }
 
+    /**
+     * Aborts the execution and waits a bounded time for TestProject to confirm that it has stopped.
+     * The abort is sent even if the current thread was interrupted by a cancelled build.
+     * @param executionId The ID of the execution
+     * @return true if the execution was confirmed to have stopped
+     */
+    public boolean abortAndConfirm(String executionId) {
+        boolean interrupted = Thread.interrupted();
+
+        try {
+            long abortStarted = System.currentTimeMillis();
+            abortExecution(executionId);
+
+            return confirmAborted(executionId, abortStarted, abortStarted + Constants.ABORT_CONFIRM_TIMEOUT);
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Polls the state of an aborted execution until it has stopped
+     * @param executionId The ID of the execution
+     * @param abortStarted When the abort was sent (epoch milliseconds)
+     * @param deadline When to stop polling (epoch milliseconds)
+     * @return true if the execution was confirmed to have stopped
+     */
+    public boolean confirmAborted(String executionId, long abortStarted, long deadline) {
+        String stateUrl = getExecutionStateUrl(executionId);
+        ApiHelper stateApiHelper = apiHelper.withDeadline(Deadline.at(deadline));
+
+        while (true) {
+            try {
+                ExecutionStateResponseData state = checkExecutionState(stateApiHelper, stateUrl);
+
+                if (state.hasFinished()) {
+                    LogHelper.Info(String.format("Execution %s has stopped - state: %s, the agent was reclaimed %d seconds after the abort",
+                            executionId, state.getState(), TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - abortStarted)));
+                    return true;
+                }
+            } catch (IOException e) {
+                LogHelper.Debug(() -> "Unable to confirm the abort of execution " + executionId + ": " + e.getMessage());
+            }
+
+            if (System.currentTimeMillis() + Constants.ABORT_CONFIRM_INTERVAL > deadline)
+                break;
+
+            try {
+                Thread.sleep(Constants.ABORT_CONFIRM_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        LogHelper.Info(String.format("Unable to confirm that execution %s has stopped within %d seconds after the abort",
+                executionId, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - abortStarted)));
+
+        return false;
+    }
+
     private File getJUnitFilePath(FilePath filePath) {
         try {
             File file = new File(junitResultsFile);
@@ -314,6 +718,36 @@ public class ExecutionHelper {
     }
 
     private boolean getJUnitXMLReport(File outputFile, FilePath filePath, String executionId) throws IOException {
+        String report;
+        if (reusedResult != null)
+            report = reusedResult.getReport(() -> fetchJUnitXMLReport(executionId));
+        else if (shared != null)
+            report = shared.getReport(() -> fetchJUnitXMLReport(executionId));
+        else
+            report = fetchJUnitXMLReport(executionId);
+
+        junitReport = report;
+
+        if (report == null)
+            return false;
+
+        try {
+            FilePath fp = new FilePath(filePath, outputFile.getPath());
+            fp.write(report, "UTF-8");
+
+            LogHelper.Info(String.format("JUnit XML report for execution '%s' was stored in '%s'", executionId, fp.getRemote()));
+        } catch (Exception e) {
+            LogHelper.Error(e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The formatted JUnit XML report of the execution, or null if it could not be fetched
+     */
+    private String fetchJUnitXMLReport(String executionId) throws IOException {
         HashMap<String, Object> headers = new HashMap<>();
 
         Map<String, Object> queries = new HashMap<>();
@@ -352,19 +786,13 @@ public class ExecutionHelper {
 
                     transformer.transform(new DOMSource(response.getData()), streamResult);
 
-                    FilePath fp = new FilePath(filePath, outputFile.getPath());
-                    fp.write(stringWriter.toString(), "UTF-8");
-
-                    LogHelper.Info(String.format("JUnit XML report for execution '%s' was stored in '%s'", executionId, fp.getRemote()));
+                    return stringWriter.toString();
                 } catch (Exception e) {
                     LogHelper.Error(e);
-                    return false;
                 }
-
-                return true;
             }
         }
 
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,173 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+import io.testproject.model.ExecutionStateResponseData;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Shared polling engine that watches executions until they reach a terminal state.
+ * All waits share a pool of workers, instead of a timer thread per wait.
+ * A watch has at most one state check queued at a time, so the queue never grows beyond the number of watches.
+ */
+public class ExecutionPoller {
+
+    /**
+     * Number of consecutive failed state checks after which a watch gives up.
+     * Checks that were skipped (open circuit breaker, expired deadline) are not counted.
+     */
+    private static final int MAX_CONSECUTIVE_FAILURES = 5;
+
+    /**
+     * Only schedules the state checks, which run on the workers
+     */
+    private static final ScheduledExecutorService scheduler = createScheduler();
+
+    /**
+     * Blocked virtual threads are cheap, so more checks can wait for their responses at the same time
+     */
+    private static final ExecutorService workers = ExecutorProvider.newExecutor(
+            "TestProject execution poller",
+            ExecutorProvider.isVirtual() ? Constants.MAX_CONCURRENT_POLLS : Constants.DEFAULT_MAX_CONCURRENCY,
+            Constants.MAX_QUEUED_REQUESTS);
+
+    /**
+     * Checks the current state of an execution
+     */
+    public interface StateSource {
+        ExecutionStateResponseData check() throws IOException;
+    }
+
+    /**
+     * Starts watching an execution. Cancelling the returned future stops the watch.
+     * @param executionId The ID of the execution
+     * @param source Checks the state of the execution
+     * @param onProgress Invoked with every non-terminal state
+     * @return A future that completes with the terminal state of the execution
+     */
+    public static CompletableFuture<ExecutionStateResponseData> watch(String executionId, StateSource source, Consumer<ExecutionStateResponseData> onProgress) {
+        return watch(executionId, source, onProgress, null);
+    }
+
+    /**
+     * Starts watching an execution. Cancelling the returned future stops the watch.
+     * @param executionId The ID of the execution
+     * @param source Checks the state of the execution
+     * @param onProgress Invoked with every non-terminal state
+     * @param stopWhen Completes the watch with a non-terminal state that matches it, may be null
+     * @return A future that completes with the terminal (or matching) state of the execution
+     */
+    public static CompletableFuture<ExecutionStateResponseData> watch(String executionId, StateSource source,
+                                                                      Consumer<ExecutionStateResponseData> onProgress,
+                                                                      Predicate<ExecutionStateResponseData> stopWhen) {
+        Watch watch = new Watch(source, onProgress, stopWhen);
+
+        // With callbacks, polling is only a safety net in case a callback is lost
+        long pollInterval = ExecutionCallbacks.isEnabled()
+                ? Constants.CALLBACK_STATE_CHECK_INTERVAL
+                : Constants.STATE_CHECK_INTERVAL;
+
+        ScheduledFuture<?> polling = scheduler.scheduleWithFixedDelay(() -> dispatch(watch), Constants.STATE_CHECK_DELAY, pollInterval, TimeUnit.MILLISECONDS);
+
+        // A completion callback triggers an immediate state check instead of waiting for the next poll
+        Runnable listener = () -> {
+            LogHelper.Debug("Received a completion callback for execution " + executionId);
+            dispatch(watch);
+        };
+        ExecutionCallbacks.register(executionId, listener);
+
+        watch.result.whenComplete((state, error) -> {
+            polling.cancel(false);
+            ExecutionCallbacks.unregister(executionId, listener);
+        });
+
+        return watch.result;
+    }
+
+    private static void dispatch(Watch watch) {
+        // The queued check will see the latest state anyway
+        if (!watch.queued.compareAndSet(false, true))
+            return;
+
+        try {
+            workers.execute(watch);
+        } catch (RejectedExecutionException e) {
+            watch.queued.set(false);
+            LogHelper.Debug("Skipping a state check, too many checks are running");
+        }
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "TestProject execution poll scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+
+        return executor;
+    }
+
+    private static class Watch implements Runnable {
+        private final StateSource source;
+        private final Consumer<ExecutionStateResponseData> onProgress;
+        private final Predicate<ExecutionStateResponseData> stopWhen;
+        private final CompletableFuture<ExecutionStateResponseData> result = new CompletableFuture<>();
+        private final ReentrantLock checking = new ReentrantLock();
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private int failures;
+
+        Watch(StateSource source, Consumer<ExecutionStateResponseData> onProgress, Predicate<ExecutionStateResponseData> stopWhen) {
+            this.source = source;
+            this.onProgress = onProgress;
+            this.stopWhen = stopWhen;
+        }
+
+        @Override
+        public void run() {
+            queued.set(false);
+
+            // Checks requested while another check is running (poll or callback) are merged into one more check
+            pending.set(true);
+
+            while (pending.get() && !result.isDone() && checking.tryLock()) {
+                try {
+                    if (pending.getAndSet(false))
+                        check();
+                } finally {
+                    checking.unlock();
+                }
+            }
+        }
+
+        private void check() {
+            try {
+                LogHelper.Debug("Checking execution state...");
+                ExecutionStateResponseData state = source.check();
+                failures = 0;
+
+                if (state.hasFinished() || (stopWhen != null && stopWhen.test(state))) {
+                    result.complete(state);
+                } else if (onProgress != null) {
+                    onProgress.accept(state);
+                }
+            } catch (SkippedRequestException e) {
+                // The breaker protects the endpoint while it recovers, the execution itself may still be running fine
+                LogHelper.Debug("Skipping a state check: " + e.getMessage());
+            } catch (IOException e) {
+                LogHelper.Error(e);
+
+                if (++failures >= MAX_CONSECUTIVE_FAILURES)
+                    result.completeExceptionally(e);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
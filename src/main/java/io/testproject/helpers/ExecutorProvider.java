@@ -0,0 +1,196 @@
+package io.testproject.helpers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the executors that run blocking work (requests, state checks, uploads).
+ * On runtimes with virtual threads (Java 21+) every task gets its own virtual thread, so thousands of waiting
+ * tasks cost almost nothing. Elsewhere a bounded pool of daemon platform threads is used.
+ * Virtual threads are looked up by reflection, so the plugin still runs on Java 8.
+ */
+public class ExecutorProvider {
+    private static final Logger LOGGER = Logger.getLogger(ExecutorProvider.class.getName());
+
+    /**
+     * Set to false to always use platform threads
+     */
+    private static final String VIRTUAL_THREADS_PROPERTY = "io.testproject.virtualThreads";
+
+    private static final Method ofVirtual;
+    private static final Method builderName;
+    private static final Method builderFactory;
+
+    static {
+        Method virtual = null;
+        Method name = null;
+        Method factory = null;
+
+        if (Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+            try {
+                Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                virtual = Thread.class.getMethod("ofVirtual");
+                name = builder.getMethod("name", String.class, long.class);
+                factory = builder.getMethod("factory");
+            } catch (ReflectiveOperationException e) {
+                virtual = null;
+            }
+        }
+
+        ofVirtual = virtual;
+        builderName = name;
+        builderFactory = factory;
+
+        LOGGER.log(Level.FINE, "TestProject plugin is using {0} threads", ofVirtual != null ? "virtual" : "platform");
+    }
+
+    /**
+     * @return true if the executors run their tasks on virtual threads
+     */
+    public static boolean isVirtual() {
+        return ofVirtual != null;
+    }
+
+    /**
+     * Creates an executor with an unbounded queue
+     * @param name The name of the threads
+     * @param maxConcurrency Maximum number of tasks that run at the same time
+     * @return The executor
+     */
+    public static ExecutorService newExecutor(String name, int maxConcurrency) {
+        return newExecutor(name, maxConcurrency, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an executor
+     * @param name The name of the threads
+     * @param maxConcurrency Maximum number of tasks that run at the same time
+     * @param queueCapacity Maximum number of tasks that wait for their turn, further tasks are rejected
+     * @return The executor
+     */
+    public static ExecutorService newExecutor(String name, int maxConcurrency, int queueCapacity) {
+        ThreadFactory virtualFactory = createVirtualThreadFactory(name);
+
+        if (virtualFactory != null)
+            return new VirtualThreadExecutor(virtualFactory, maxConcurrency, queueCapacity);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    private static ThreadFactory createVirtualThreadFactory(String name) {
+        if (ofVirtual == null)
+            return null;
+
+        try {
+            Object builder = ofVirtual.invoke(null);
+            builder = builderName.invoke(builder, name + " ", 0L);
+            return (ThreadFactory) builderFactory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to create virtual threads, using platform threads", e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts a virtual thread per task. The threads beyond the concurrency limit wait for a permit,
+     * which costs nothing more than the parked virtual thread.
+     */
+    private static class VirtualThreadExecutor extends AbstractExecutorService {
+        private final ThreadFactory factory;
+        private final Semaphore running;
+        private final Semaphore queued;
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private volatile boolean shutdown;
+
+        VirtualThreadExecutor(ThreadFactory factory, int maxConcurrency, int queueCapacity) {
+            this.factory = factory;
+            this.running = new Semaphore(maxConcurrency);
+            this.queued = new Semaphore((int) Math.min(Integer.MAX_VALUE, (long) maxConcurrency + queueCapacity));
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown || !queued.tryAcquire())
+                throw new RejectedExecutionException("The executor is " + (shutdown ? "shut down" : "full"));
+
+            Thread thread = factory.newThread(() -> {
+                try {
+                    running.acquire();
+                    try {
+                        command.run();
+                    } finally {
+                        running.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    queued.release();
+                    threads.remove(Thread.currentThread());
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+
+            for (Thread thread : threads)
+                thread.interrupt();
+
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && threads.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+            for (Thread thread : new ArrayList<>(threads)) {
+                long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0)
+                    return isTerminated();
+
+                TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+            }
+
+            return isTerminated();
+        }
+    }
+}
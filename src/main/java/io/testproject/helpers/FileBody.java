@@ -0,0 +1,82 @@
+package io.testproject.helpers;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A file request body that computes the digest of its content while it is being streamed
+ */
+public class FileBody implements Closeable {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final File file;
+    private final MessageDigest digest;
+    private InputStream stream;
+
+    public FileBody(File file) throws IOException {
+        this.file = file;
+
+        try {
+            this.digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long length() {
+        return file.length();
+    }
+
+    /**
+     * Opens the file ahead of time so streaming can start as soon as the request is ready
+     */
+    public synchronized void open() throws IOException {
+        if (stream != null)
+            return;
+
+        digest.reset();
+        stream = new DigestInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())), digest);
+    }
+
+    /**
+     * Hands over the open stream to the caller. A following call opens the file again (e.g. when a request is retried).
+     * @return Stream of the file content that updates the digest as it is read
+     */
+    synchronized InputStream takeStream() throws IOException {
+        open();
+
+        InputStream current = stream;
+        stream = null;
+        return current;
+    }
+
+    /**
+     * @return Hex encoded SHA-256 of the content that was streamed
+     */
+    public synchronized String getDigest() {
+        MessageDigest snapshot;
+        try {
+            snapshot = (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            snapshot = digest;
+        }
+
+        return String.format("%064x", new BigInteger(1, snapshot.digest()));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
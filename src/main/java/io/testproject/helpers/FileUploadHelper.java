@@ -14,6 +14,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.*;
 
 public class FileUploadHelper {
     private final ApiHelper apiHelper;
@@ -24,6 +25,18 @@ public class FileUploadHelper {
     private final FilePath filePath;
     private final ArrayList<String> validExtensions;
 
+    /**
+     * Runs the upload link requests in parallel to the file preparation
+     */
+    private static final ExecutorService STAGE_EXECUTOR =
+            ExecutorProvider.newExecutor("TestProject upload stage", Constants.DEFAULT_MAX_CONCURRENCY);
+
+    private String digest;
+    private long validationMillis;
+    private volatile long linkMillis;
+    private long uploadMillis;
+    private long confirmationMillis;
+
     public FileUploadHelper(
             ApiHelper apiHelper,
             String projectId,
@@ -52,19 +65,78 @@ public class FileUploadHelper {
     }
 
     public void updateFile() throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+
+        // Requesting the upload link in the background while the local file is being prepared
+        CompletableFuture<String> uploadLinkFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                String link = getUploadLink();
+                linkMillis = System.currentTimeMillis() - start;
+                return link;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, STAGE_EXECUTOR);
+
+        try (FileBody body = prepareFile()) {
+            validationMillis = System.currentTimeMillis() - start;
+
+            // Waiting for the upload link, uploading starts as soon as it arrives
+            String uploadLink = await(uploadLinkFuture);
+            long waitEnd = System.currentTimeMillis();
+
+            // Uploading the file to S3, the digest is computed while the file is streamed
+            uploadFile(uploadLink, body);
+            long uploadEnd = System.currentTimeMillis();
+            uploadMillis = uploadEnd - waitEnd;
+            digest = body.getDigest();
+
+            // Confirm the new file upload
+            confirmNewFile(body.getFile().getName());
+            confirmationMillis = System.currentTimeMillis() - uploadEnd;
+            ArtifactDigests.record(apiHelper, projectId, artifactId, digest);
+        } finally {
+            uploadLinkFuture.cancel(true);
+        }
+
+        LogHelper.Info(String.format("Successfully updated the artifact '%s' in TestProject with file '%s' (SHA-256: %s)", artifactId, path, digest));
+        LogHelper.Info(String.format("Upload stages: file preparation %d ms, upload link %d ms (in parallel), upload %d ms, confirmation %d ms, total %d ms",
+                validationMillis, linkMillis, uploadMillis, confirmationMillis, System.currentTimeMillis() - start));
+    }
+
+    /**
+     * Validates the file and opens it, so it is ready to be streamed when the upload link arrives
+     */
+    private FileBody prepareFile() throws IOException, InterruptedException {
         // Validate the file path and generates a File object
         File file = getFileToUpload(path, filePath, validExtensions);
 
-        // Sending a request to get an upload link
-        String uploadLink = getUploadLink();
+        FileBody body = new FileBody(file);
+        body.open();
 
-        // Uploading the file to S3
-        uploadFile(uploadLink, file);
+        return body;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
 
-        // Confirm the new file upload
-        confirmNewFile(file.getName());
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+
+            throw new IOException(cause);
+        }
+    }
 
-        LogHelper.Info(String.format("Successfully updated the artifact '%s' in TestProject with file '%s'", artifactId, path));
+    /**
+     * @return Hex encoded SHA-256 of the uploaded file, available after a successful update
+     */
+    public String getDigest() {
+        return digest;
     }
 
     private String getUploadLink() throws IOException {
@@ -87,7 +159,8 @@ public class FileUploadHelper {
         return response.getData().getUrl();
     }
 
-    private boolean uploadFile(String uploadLink, File file) throws IOException {
+    private boolean uploadFile(String uploadLink, FileBody body) throws IOException {
+        File file = body.getFile();
         LogHelper.Info(String.format("Uploading the artifact '%s' to TestProject", file.getPath()));
 
         HashMap<String, Object> headers = new HashMap<>();
@@ -98,7 +171,7 @@ public class FileUploadHelper {
                 uploadLink,
                 headers,
                 null,
-                file,
+                body,
                 null);
 
         if (response == null || !response.isSuccessful())
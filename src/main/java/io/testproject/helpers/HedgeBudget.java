@@ -0,0 +1,53 @@
+package io.testproject.helpers;
+
+/**
+ * Token bucket that limits hedged requests to a share of the recent requests.
+ * Every hedgeable request adds a fraction of a token and every hedge takes a whole token.
+ * The bucket holds a few tokens at most, so a long quiet period does not pay for a burst of hedges when the API slows down.
+ */
+public class HedgeBudget {
+    /**
+     * Tokens are counted in hundredths, so a request adds exactly its percent
+     */
+    private static final int TOKEN = 100;
+
+    private final int percent;
+    private final int capacity;
+    private int balance;
+    private long hedged;
+
+    /**
+     * @param percent The share of requests that may be hedged
+     * @param maxTokens The number of hedges that can be saved up
+     */
+    public HedgeBudget(int percent, int maxTokens) {
+        this.percent = percent;
+        this.capacity = maxTokens * TOKEN;
+    }
+
+    /**
+     * Adds the share of a request that could be hedged to the budget
+     */
+    public synchronized void onRequest() {
+        balance = Math.min(capacity, balance + percent);
+    }
+
+    /**
+     * @return true if another hedged request fits in the budget
+     */
+    public synchronized boolean tryAcquire() {
+        if (balance < TOKEN)
+            return false;
+
+        balance -= TOKEN;
+        hedged++;
+        return true;
+    }
+
+    /**
+     * @return The number of hedged requests so far
+     */
+    public synchronized long getHedged() {
+        return hedged;
+    }
+}
@@ -0,0 +1,53 @@
+package io.testproject.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent response times of an endpoint and estimates their 95th percentile
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private final int minSamples;
+    private int count;
+    private int next;
+    private long percentile95 = -1;
+    private boolean stale;
+
+    /**
+     * @param capacity How many recent samples to keep
+     * @param minSamples How many samples are needed before a percentile is reported
+     */
+    public LatencyTracker(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        stale = true;
+    }
+
+    /**
+     * @return The 95th percentile of the recent samples in milliseconds, or -1 if there are not enough samples yet
+     */
+    public synchronized long getPercentile95() {
+        if (count < minSamples)
+            return -1;
+
+        // Sorting a copy only when new samples have arrived since the last estimate
+        if (stale) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentile95 = sorted[(int) Math.ceil(count * 0.95) - 1];
+            stale = false;
+        }
+
+        return percentile95;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+}
@@ -4,6 +4,7 @@ import hudson.model.TaskListener;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 
 import java.io.PrintStream;
+import java.util.function.Supplier;
 
 public class LogHelper {
     private static PrintStream logger;
@@ -39,6 +40,24 @@ public class LogHelper {
         printMessage(message);
     }
 
+    /**
+     * Prints a debug message that is only built when verbose logging is enabled
+     * @param message Supplier of the message to print
+     */
+    public static void Debug(Supplier<String> message) {
+        if (!isVerbose())
+            return;
+
+        printMessage(message.get());
+    }
+
+    /**
+     * @return true if debug messages will actually be printed
+     */
+    public static boolean isVerbose() {
+        return verbose && logger != null;
+    }
+
     private static void printMessage(String message) {
         if (logger == null)
             return;
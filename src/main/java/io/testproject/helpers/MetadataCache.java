@@ -0,0 +1,93 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short lived cache of metadata lists (projects, jobs, tests, agents) that are shown in the configuration pages.
+ * Only successful responses are cached, so an error is never shown for longer than it lasts.
+ */
+public class MetadataCache {
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Search indexes of the cached responses, dropped together with the responses they were built from
+     */
+    private static final Map<ApiResponse<?>, NameIndex<?>> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Returns a fresh cached response, or fetches and caches it
+     * @param apiHelper An instance of ApiHelper
+     * @param url The URL of the metadata list
+     * @param clazz The type of the response data
+     * @return The response
+     */
+    @SuppressWarnings("unchecked")
+    public static <TData> ApiResponse<TData> get(ApiHelper apiHelper, String url, Class<TData> clazz) throws IOException {
+        String key = apiHelper.getCacheKey() + " " + url;
+        Entry entry = entries.get(key);
+
+        if (entry != null && entry.isFresh() && clazz.isInstance(entry.response.getData())) {
+            LogHelper.Debug(() -> "Using cached response of " + url);
+            return (ApiResponse<TData>) entry.response;
+        }
+
+        return refresh(apiHelper, url, clazz);
+    }
+
+    /**
+     * Fetches a response and caches it, replacing the cached one
+     * @param apiHelper An instance of ApiHelper
+     * @param url The URL of the metadata list
+     * @param clazz The type of the response data
+     * @return The response
+     */
+    public static <TData> ApiResponse<TData> refresh(ApiHelper apiHelper, String url, Class<TData> clazz) throws IOException {
+        ApiResponse<TData> response = apiHelper.Get(url, ApiHelper.JSON_HEADERS, clazz);
+
+        if (response.isSuccessful() && response.getData() != null)
+            entries.put(apiHelper.getCacheKey() + " " + url, new Entry(response));
+
+        return response;
+    }
+
+    /**
+     * Returns the search index of a list response, building it once for every cached response
+     * @param response A successful list response
+     * @param name Returns the name of an item
+     * @param id Returns the ID of an item
+     * @return The search index
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> NameIndex<T> getIndex(ApiResponse<T[]> response, Function<T, String> name, Function<T, String> id) {
+        return (NameIndex<T>) indexes.computeIfAbsent(response, key -> new NameIndex<>(response.getData(), name, id));
+    }
+
+    /**
+     * Drops all the cached responses, for example when the API key changes
+     */
+    public static void clear() {
+        entries.clear();
+        indexes.clear();
+    }
+
+    private static class Entry {
+        private final ApiResponse<?> response;
+        private final long created = System.currentTimeMillis();
+
+        Entry(ApiResponse<?> response) {
+            this.response = response;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - created < Constants.METADATA_CACHE_TTL;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package io.testproject.helpers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.testproject.constants.AgentState;
+import io.testproject.constants.ExecutionState;
+import io.testproject.model.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hand-written Gson adapters for the API model classes.
+ * The properties of every model are declared once with accessor references, so reading and writing
+ * a model never goes through reflection. Enum constants are looked up by name in a prebuilt map.
+ */
+class ModelTypeAdapters implements TypeAdapterFactory {
+
+    private static final Map<Class<?>, Model<?>> models = new HashMap<>();
+    private static final Map<Class<?>, Map<String, ?>> enums = new HashMap<>();
+
+    static {
+        enumeration(ExecutionState.class);
+        enumeration(AgentState.class);
+
+        model(AgentBrowser.class, AgentBrowser::new)
+                .property("type", String.class, AgentBrowser::getType, AgentBrowser::setType)
+                .property("version", String.class, AgentBrowser::getVersion, AgentBrowser::setVersion);
+
+        model(AgentData.class, AgentData::new)
+                .property("id", String.class, AgentData::getId, AgentData::setId)
+                .property("alias", String.class, AgentData::getAlias, AgentData::setAlias)
+                .property("version", String.class, AgentData::getVersion, AgentData::setVersion)
+                .property("machineName", String.class, AgentData::getMachineName, AgentData::setMachineName)
+                .property("osType", String.class, AgentData::getOsType, AgentData::setOsType)
+                .property("osVersion", String.class, AgentData::getOsVersion, AgentData::setOsVersion)
+                .property("state", AgentState.class, AgentData::getState, AgentData::setState);
+
+        model(AgentDevice.class, AgentDevice::new)
+                .property("udid", String.class, AgentDevice::getUdid, AgentDevice::setUdid)
+                .property("name", String.class, AgentDevice::getName, AgentDevice::setName)
+                .property("model", String.class, AgentDevice::getModel, AgentDevice::setModel)
+                .property("osType", String.class, AgentDevice::getOsType, AgentDevice::setOsType)
+                .property("osVersion", String.class, AgentDevice::getOsVersion, AgentDevice::setOsVersion);
+
+        model(AgentDockerConfigData.class, AgentDockerConfigData::new)
+                .property("config", String.class, AgentDockerConfigData::getConfig, AgentDockerConfigData::setConfig)
+                .property("agentGuid", String.class, AgentDockerConfigData::getAgentGuid, AgentDockerConfigData::setAgentGuid);
+
+        model(AgentDockerConfigGenerationRequestData.class, AgentDockerConfigGenerationRequestData::new)
+                .property("alias", String.class, AgentDockerConfigGenerationRequestData::getAlias, AgentDockerConfigGenerationRequestData::setAlias)
+                .property("jobId", String.class, AgentDockerConfigGenerationRequestData::getJobId, AgentDockerConfigGenerationRequestData::setJobId)
+                .property("jobParameters", JsonObject.class, AgentDockerConfigGenerationRequestData::getJobParameters, AgentDockerConfigGenerationRequestData::setJobParameters);
+
+        // The error getters return an empty string for a missing error, which is written back as missing
+        model(ApiErrorResponse.class, ApiErrorResponse::new)
+                .property("error", String.class, e -> e.getError().isEmpty() ? null : e.getError(), ApiErrorResponse::setError)
+                .property("data", Object.class, ApiErrorResponse::getData, ApiErrorResponse::setData);
+
+        model(ApiErrorResponseData.class, ApiErrorResponseData::new)
+                .property("error", String.class, e -> e.getError().isEmpty() ? null : e.getError(), ApiErrorResponseData::setError)
+                .property("data", Object.class, ApiErrorResponseData::getData, ApiErrorResponseData::setData);
+
+        model(ApplicationData.class, ApplicationData::new)
+                .property("id", String.class, ApplicationData::getId, ApplicationData::setId)
+                .property("name", String.class, ApplicationData::getName, ApplicationData::setName)
+                .property("platform", String.class, ApplicationData::getPlatform, ApplicationData::setPlatform)
+                .property("url", String.class, ApplicationData::getUrl, ApplicationData::setUrl)
+                .property("fileName", String.class, ApplicationData::getFileName, ApplicationData::setFileName);
+
+        model(DataSourceData.class, DataSourceData::new)
+                .property("id", String.class, DataSourceData::getId, DataSourceData::setId)
+                .property("projectId", String.class, DataSourceData::getProjectId, DataSourceData::setProjectId)
+                .property("name", String.class, DataSourceData::getName, DataSourceData::setName)
+                .property("type", String.class, DataSourceData::getType, DataSourceData::setType)
+                .property("fileName", String.class, DataSourceData::getFileName, DataSourceData::setFileName);
+
+        model(ExecutionCallbackData.class, ExecutionCallbackData::new)
+                .property("executionId", String.class, ExecutionCallbackData::getExecutionId, ExecutionCallbackData::setExecutionId)
+                .property("state", ExecutionState.class, ExecutionCallbackData::getState, ExecutionCallbackData::setState);
+
+        model(ExecutionResponseData.class, ExecutionResponseData::new)
+                .property("id", String.class, ExecutionResponseData::getId, ExecutionResponseData::setId);
+
+        model(ExecutionStateResponseData.class, ExecutionStateResponseData::new)
+                .property("state", ExecutionState.class, ExecutionStateResponseData::getState, ExecutionStateResponseData::setState)
+                .property("target", String.class, ExecutionStateResponseData::getTarget, ExecutionStateResponseData::setTarget)
+                .property("app", String.class, ExecutionStateResponseData::getApp, ExecutionStateResponseData::setApp)
+                .property("agent", String.class, ExecutionStateResponseData::getAgent, ExecutionStateResponseData::setAgent)
+                .property("message", String.class, ExecutionStateResponseData::getMessage, ExecutionStateResponseData::setMessage)
+                .property("report", String.class, ExecutionStateResponseData::getReport, ExecutionStateResponseData::setReport)
+                .property("failedTests", Integer.class, ExecutionStateResponseData::getFailedTests, ExecutionStateResponseData::setFailedTests)
+                .property("totalTests", Integer.class, ExecutionStateResponseData::getTotalTests, ExecutionStateResponseData::setTotalTests);
+
+        model(FileNameData.class, FileNameData::new)
+                .property("fileName", String.class, FileNameData::getFileName, FileNameData::setFileName);
+
+        model(JobData.class, JobData::new)
+                .property("id", String.class, JobData::getId, JobData::setId)
+                .property("name", String.class, JobData::getName, JobData::setName);
+
+        model(MethodData.class, MethodData::new)
+                .property("method", String.class, MethodData::getMethod, MethodData::setMethod);
+
+        model(ProjectData.class, ProjectData::new)
+                .property("id", String.class, ProjectData::getId, ProjectData::setId)
+                .property("name", String.class, ProjectData::getName, ProjectData::setName)
+                .property("description", String.class, ProjectData::getDescription, ProjectData::setDescription);
+
+        model(ProjectParameterData.class, ProjectParameterData::new)
+                .property("id", String.class, ProjectParameterData::getId, ProjectParameterData::setId)
+                .property("name", String.class, ProjectParameterData::getName, ProjectParameterData::setName)
+                .property("description", String.class, ProjectParameterData::getDescription, ProjectParameterData::setDescription)
+                .property("value", String.class, ProjectParameterData::getValue, ProjectParameterData::setValue);
+
+        model(RunJobData.class, RunJobData::new)
+                .property("agentId", String.class, RunJobData::getAgentId, RunJobData::setAgentId)
+                .property("queue", Boolean.class, RunJobData::isQueue, RunJobData::setQueue);
+
+        model(TestData.class, TestData::new)
+                .property("id", String.class, TestData::getId, TestData::setId)
+                .property("name", String.class, TestData::getName, TestData::setName);
+
+        model(TestPackageData.class, TestPackageData::new)
+                .property("id", String.class, TestPackageData::getId, TestPackageData::setId)
+                .property("name", String.class, TestPackageData::getName, TestPackageData::setName)
+                .property("description", String.class, TestPackageData::getDescription, TestPackageData::setDescription);
+
+        model(UploadLinkData.class, UploadLinkData::new)
+                .property("url", String.class, UploadLinkData::getUrl, UploadLinkData::setUrl)
+                .property("method", MethodData.class, UploadLinkData::getMethod, UploadLinkData::setMethod);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> clazz = type.getRawType();
+
+        Model<?> model = models.get(clazz);
+        if (model != null)
+            return (TypeAdapter<T>) new ModelAdapter<>(gson, model);
+
+        Map<String, ?> constants = enums.get(clazz);
+        if (constants != null)
+            return (TypeAdapter<T>) new EnumAdapter<>(constants);
+
+        return null;
+    }
+
+    /**
+     * @return The model classes that have adapters
+     */
+    static Set<Class<?>> getModelClasses() {
+        return Collections.unmodifiableSet(models.keySet());
+    }
+
+    /**
+     * @param clazz A model class
+     * @return The names of the properties declared for the class
+     */
+    static List<String> getPropertyNames(Class<?> clazz) {
+        List<String> names = new ArrayList<>();
+        for (Property<?, ?> property : models.get(clazz).properties)
+            names.add(property.name);
+
+        return names;
+    }
+
+    private static <T> Model<T> model(Class<T> clazz, Supplier<T> constructor) {
+        Model<T> model = new Model<>(constructor);
+        models.put(clazz, model);
+        return model;
+    }
+
+    private static <E extends Enum<E>> void enumeration(Class<E> clazz) {
+        Map<String, E> constants = new HashMap<>();
+        for (E constant : clazz.getEnumConstants())
+            constants.put(constant.name(), constant);
+
+        enums.put(clazz, constants);
+    }
+
+    /**
+     * The declared properties of a model class
+     */
+    private static class Model<T> {
+        private final Supplier<T> constructor;
+        private final List<Property<T, ?>> properties = new ArrayList<>();
+
+        Model(Supplier<T> constructor) {
+            this.constructor = constructor;
+        }
+
+        <V> Model<T> property(String name, Class<V> type, Function<T, V> getter, BiConsumer<T, V> setter) {
+            properties.add(new Property<>(name, type, getter, setter));
+            return this;
+        }
+    }
+
+    private static class Property<T, V> {
+        private final String name;
+        private final Class<V> type;
+        private final Function<T, V> getter;
+        private final BiConsumer<T, V> setter;
+
+        Property(String name, Class<V> type, Function<T, V> getter, BiConsumer<T, V> setter) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    /**
+     * A property bound to the adapter of its value type
+     */
+    private static class BoundProperty<T, V> {
+        private final Property<T, V> property;
+        private final TypeAdapter<V> adapter;
+
+        BoundProperty(Gson gson, Property<T, V> property) {
+            this.property = property;
+            this.adapter = gson.getAdapter(property.type);
+        }
+
+        void read(JsonReader in, T target) throws IOException {
+            V value = adapter.read(in);
+
+            // Missing values keep the defaults of the model, as they do with reflective parsing
+            if (value != null)
+                property.setter.accept(target, value);
+        }
+
+        void write(JsonWriter out, T source) throws IOException {
+            out.name(property.name);
+            adapter.write(out, property.getter.apply(source));
+        }
+    }
+
+    private static class ModelAdapter<T> extends TypeAdapter<T> {
+        private final Supplier<T> constructor;
+        private final List<BoundProperty<T, ?>> properties = new ArrayList<>();
+        private final Map<String, BoundProperty<T, ?>> byName = new HashMap<>();
+
+        ModelAdapter(Gson gson, Model<T> model) {
+            this.constructor = model.constructor;
+
+            for (Property<T, ?> property : model.properties) {
+                BoundProperty<T, ?> bound = new BoundProperty<>(gson, property);
+                properties.add(bound);
+                byName.put(property.name, bound);
+            }
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            T target = constructor.get();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                BoundProperty<T, ?> property = byName.get(in.nextName());
+
+                if (property != null)
+                    property.read(in, target);
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+
+            return target;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            // Null values are dropped by the writer unless the Gson instance serializes nulls
+            out.beginObject();
+            for (BoundProperty<T, ?> property : properties)
+                property.write(out, value);
+            out.endObject();
+        }
+    }
+
+    private static class EnumAdapter<E extends Enum<E>> extends TypeAdapter<E> {
+        private final Map<String, E> constants;
+
+        @SuppressWarnings("unchecked")
+        EnumAdapter(Map<String, ?> constants) {
+            this.constants = (Map<String, E>) constants;
+        }
+
+        @Override
+        public E read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            // Unknown states are read as null, the same as the default enum adapter
+            return constants.get(in.nextString());
+        }
+
+        @Override
+        public void write(JsonWriter out, E value) throws IOException {
+            out.value(value != null ? value.name() : null);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.testproject.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Search index over the names and IDs of a metadata list (tests, jobs, applications).
+ * Items whose name starts with the query come first (found by binary search over the sorted names),
+ * followed by items whose name or ID contains the query, both in name order.
+ *
+ * @param <T> The type of the indexed items
+ */
+public class NameIndex<T> {
+
+    private final T[] items;
+    private final String[] names;
+    private final String[] ids;
+
+    /**
+     * Item positions, sorted by name
+     */
+    private final Integer[] byName;
+
+    /**
+     * Lower case names in name order, for binary search
+     */
+    private final String[] sortedNames;
+
+    public NameIndex(T[] items, Function<T, String> name, Function<T, String> id) {
+        this.items = items;
+        this.names = new String[items.length];
+        this.ids = new String[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            names[i] = normalize(name.apply(items[i]));
+            ids[i] = normalize(id.apply(items[i]));
+        }
+
+        byName = new Integer[items.length];
+        for (int i = 0; i < items.length; i++)
+            byName[i] = i;
+        Arrays.sort(byName, (a, b) -> names[a].compareTo(names[b]));
+
+        sortedNames = new String[items.length];
+        for (int i = 0; i < items.length; i++)
+            sortedNames[i] = names[byName[i]];
+    }
+
+    /**
+     * Finds the items that match a query
+     * @param query The text to look for, an empty query matches all the items in their original order
+     * @param include Limits the search to some of the items, or null to search all of them
+     * @param limit The maximal number of matches to return
+     * @return The first matches
+     */
+    public Page<T> search(String query, Predicate<T> include, int limit) {
+        String text = normalize(query);
+        Page<T> page = new Page<>(limit);
+
+        if (text.isEmpty()) {
+            for (T item : items) {
+                if (include == null || include.test(item))
+                    page.offer(item);
+            }
+
+            return page;
+        }
+
+        // Prefix matches are a contiguous range of the sorted names
+        int first = Arrays.binarySearch(sortedNames, text);
+        if (first < 0)
+            first = -first - 1;
+
+        int last = first;
+        while (last < sortedNames.length && sortedNames[last].startsWith(text)) {
+            T item = items[byName[last]];
+            if (include == null || include.test(item))
+                page.offer(item);
+
+            last++;
+        }
+
+        for (int i = 0; i < byName.length; i++) {
+            if (i >= first && i < last)
+                continue;
+
+            int position = byName[i];
+            if ((names[position].contains(text) || ids[position].contains(text))
+                    && (include == null || include.test(items[position])))
+                page.offer(items[position]);
+        }
+
+        return page;
+    }
+
+    /**
+     * Finds an item by its ID
+     * @param id The ID of the item
+     * @return The item, or null if there is no item with this ID
+     */
+    public T find(String id) {
+        String text = normalize(id);
+        if (text.isEmpty())
+            return null;
+
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i].equals(text))
+                return items[i];
+        }
+
+        return null;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * The first matches of a search, and the number of all the matches
+     */
+    public static class Page<T> {
+        private final int limit;
+        private final List<T> items = new ArrayList<>();
+        private int total;
+
+        Page(int limit) {
+            this.limit = limit;
+        }
+
+        private void offer(T item) {
+            if (items.size() < limit)
+                items.add(item);
+
+            total++;
+        }
+
+        /**
+         * @return The first matches, up to the limit
+         */
+        public List<T> getItems() {
+            return Collections.unmodifiableList(items);
+        }
+
+        /**
+         * @return The number of all the matches
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return true if there are more matches than the ones returned
+         */
+        public boolean hasMore() {
+            return items.size() < total;
+        }
+    }
+}
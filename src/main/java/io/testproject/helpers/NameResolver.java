@@ -0,0 +1,250 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import io.testproject.model.*;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the names of projects, jobs, tests, applications, data sources, parameters and test packages to their IDs,
+ * so pipeline steps can refer to them by name.
+ * Resolution is served from an in-memory index of every list (scope) that was used. A scope is fetched once, fetched again
+ * when a value is not found in it, and refreshed in the background while names are resolved from it.
+ * Values that are neither a known ID nor a known name are used as they are, and so are all values when a list cannot be fetched.
+ */
+public class NameResolver {
+    private static final Logger LOGGER = Logger.getLogger(NameResolver.class.getName());
+
+    /**
+     * The kinds of items that can be referred to by name
+     */
+    public enum Kind {
+        PROJECT("project", Constants.TP_RETURN_ACCOUNT_PROJECTS, ProjectData[].class, ProjectData::getId, ProjectData::getName),
+        JOB("job", Constants.TP_RETURN_PROJECT_JOBS, JobData[].class, JobData::getId, JobData::getName),
+        TEST("test", Constants.TP_RETURN_PROJECT_TESTS, TestData[].class, TestData::getId, TestData::getName),
+        APPLICATION("application", Constants.TP_RETURN_APP_FILE, ApplicationData[].class, ApplicationData::getId, ApplicationData::getName),
+        DATA_SOURCE("data source", Constants.TP_RETURN_DATA_SOURCES, DataSourceData[].class, DataSourceData::getId, DataSourceData::getName),
+        PARAMETER("parameter", Constants.TP_RETURN_PROJECT_PARAMETERS, ProjectParameterData[].class, ProjectParameterData::getId, ProjectParameterData::getName),
+        TEST_PACKAGE("test package", Constants.TP_RETURN_TEST_PACKAGES, TestPackageData[].class, TestPackageData::getId, TestPackageData::getName);
+
+        private final String displayName;
+        private final String url;
+        private final Class<? extends Object[]> listClass;
+        private final Function<Object, String> id;
+        private final Function<Object, String> name;
+
+        @SuppressWarnings("unchecked")
+        <T> Kind(String displayName, String url, Class<T[]> listClass, Function<T, String> id, Function<T, String> name) {
+            this.displayName = displayName;
+            this.url = url;
+            this.listClass = listClass;
+            this.id = (Function<Object, String>) id;
+            this.name = (Function<Object, String>) name;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * @return true if the items of this kind belong to a project
+         */
+        boolean isProjectItem() {
+            return this != PROJECT;
+        }
+    }
+
+    /**
+     * The format of TestProject IDs (22 characters of URL safe Base64)
+     */
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{22}");
+
+    private static final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves a name to the ID of the item it refers to
+     * @param apiHelper An instance of ApiHelper
+     * @param kind The kind of the item
+     * @param projectId The ID of the project the item belongs to (ignored for projects)
+     * @param value The name or the ID of the item
+     * @return The ID of the item, or the value itself if it is not a known name
+     * @throws AbortException If the name refers to more than one item
+     */
+    public static String resolve(ApiHelper apiHelper, Kind kind, String projectId, String value) throws AbortException {
+        if (StringUtils.isEmpty(value))
+            return value;
+
+        String scopeId = kind.isProjectItem() ? projectId : "";
+        Scope scope = scopes.computeIfAbsent(apiHelper.getCacheKey() + " " + kind + " " + scopeId,
+                key -> new Scope(apiHelper.getCacheKey(), kind, scopeId));
+
+        // Steps that are configured with IDs never wait for (or depend on) the list
+        if (!scope.namesUsed && ID_PATTERN.matcher(value).matches())
+            return value;
+
+        String id = scope.lookup(value);
+
+        // An unknown value may be an item that was created (or renamed) since the list was fetched
+        if (id == null && refresh(apiHelper, scope, value))
+            id = scope.lookup(value);
+
+        if (id == null)
+            return value;
+
+        if (!id.equals(value))
+            LogHelper.Info(String.format("Using %s '%s' [%s]", kind.getDisplayName(), value, id));
+
+        return id;
+    }
+
+    /**
+     * Fetches the list of a scope after a miss, name resolution is best effort so a failure leaves the value as it is
+     * @return true if the list was fetched
+     */
+    private static boolean refresh(ApiHelper apiHelper, Scope scope, String value) {
+        try {
+            return scope.refresh(apiHelper, Constants.NAME_INDEX_MISS_REFRESH);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to fetch the TestProject " + scope.kind.getDisplayName() + " names", e);
+            LogHelper.Debug(String.format("Unable to fetch the %s names, using '%s' as it is: %s",
+                    scope.kind.getDisplayName(), value, e.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * Refreshes the scopes that names were resolved from recently, and drops the scopes that are no longer used
+     * @param apiHelper An ApiHelper with the configured API key, scopes of other API keys are not refreshed
+     */
+    public static void refresh(ApiHelper apiHelper) {
+        long now = System.currentTimeMillis();
+
+        for (Iterator<Scope> iterator = scopes.values().iterator(); iterator.hasNext(); ) {
+            Scope scope = iterator.next();
+
+            if (now - scope.lastUsed > Constants.NAME_INDEX_IDLE_TIME) {
+                iterator.remove();
+                continue;
+            }
+
+            if (!scope.namesUsed || !scope.cacheKey.equals(apiHelper.getCacheKey()))
+                continue;
+
+            try {
+                scope.refresh(apiHelper, Constants.NAME_INDEX_REFRESH_INTERVAL / 2);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to refresh the TestProject " + scope.kind.getDisplayName() + " names", e);
+            }
+        }
+    }
+
+    /**
+     * The names and IDs of one list, e.g. the tests of a project
+     */
+    private static class Scope {
+        private final String cacheKey;
+        private final Kind kind;
+        private final String projectId;
+
+        private volatile Snapshot snapshot;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean namesUsed;
+
+        Scope(String cacheKey, Kind kind, String projectId) {
+            this.cacheKey = cacheKey;
+            this.kind = kind;
+            this.projectId = projectId;
+        }
+
+        /**
+         * @return The ID of the item, or null if the value is neither an ID nor a name in this scope
+         */
+        String lookup(String value) throws AbortException {
+            lastUsed = System.currentTimeMillis();
+
+            Snapshot current = snapshot;
+            if (current == null)
+                return null;
+
+            if (current.ids.contains(value))
+                return value;
+
+            List<String> ids = current.byName.get(value.toLowerCase(Locale.ROOT));
+            if (ids == null)
+                return null;
+
+            if (ids.size() > 1)
+                throw new AbortException(String.format("There are %d %ss named '%s' (%s), please use the ID instead",
+                        ids.size(), kind.getDisplayName(), value, String.join(", ", ids)));
+
+            namesUsed = true;
+            return ids.get(0);
+        }
+
+        /**
+         * Fetches the list again, unless it was fetched less than the given time ago
+         * @return true if the list was fetched
+         */
+        synchronized boolean refresh(ApiHelper apiHelper, long minInterval) throws IOException {
+            Snapshot current = snapshot;
+            if (current != null && System.currentTimeMillis() - current.fetched < minInterval)
+                return false;
+
+            String url = kind.isProjectItem() ? String.format(kind.url, projectId) : kind.url;
+            ApiResponse<? extends Object[]> response = apiHelper.Get(url, ApiHelper.JSON_HEADERS, kind.listClass);
+
+            if (!response.isSuccessful() || response.getData() == null) {
+                LogHelper.Debug(response.generateErrorMessage("Unable to fetch the " + kind.getDisplayName() + " names"));
+                return false;
+            }
+
+            Snapshot fetched = new Snapshot(kind, response.getData());
+
+            // Keeping the current index when nothing has changed
+            if (current != null && current.fingerprint == fetched.fingerprint) {
+                current.fetched = fetched.fetched;
+                return true;
+            }
+
+            LOGGER.log(Level.FINE, "TestProject {0} names have changed, indexed {1} items",
+                    new Object[]{kind.getDisplayName(), fetched.ids.size()});
+            snapshot = fetched;
+            return true;
+        }
+    }
+
+    private static class Snapshot {
+        private final Set<String> ids = new HashSet<>();
+        private final Map<String, List<String>> byName = new HashMap<>();
+        private final long fingerprint;
+        private volatile long fetched = System.currentTimeMillis();
+
+        Snapshot(Kind kind, Object[] items) {
+            long hash = 1;
+
+            for (Object item : items) {
+                String id = kind.id.apply(item);
+                String name = kind.name.apply(item);
+                hash = 31 * hash + Objects.hashCode(id);
+                hash = 31 * hash + Objects.hashCode(name);
+
+                if (id == null)
+                    continue;
+
+                ids.add(id);
+                if (name != null)
+                    byName.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>(1)).add(id);
+            }
+
+            fingerprint = hash;
+        }
+    }
+}
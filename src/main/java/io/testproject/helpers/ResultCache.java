@@ -0,0 +1,109 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+import io.testproject.model.ExecutionStateResponseData;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recent passing results by the fingerprint of their execution inputs, so a step whose inputs have not changed
+ * can reuse the result (and the JUnit report) instead of running the same tests again.
+ * Results are kept in memory, up to {@link Constants#RESULT_CACHE_MAX_ENTRIES}, and are not kept across restarts.
+ */
+public class ResultCache {
+
+    /**
+     * Results in the order they were stored, the oldest result is dropped first
+     */
+    private static final Map<String, Result> results = new LinkedHashMap<>();
+
+    /**
+     * Finds a passing result of an execution with the same inputs
+     * @param key The fingerprint of the execution inputs (and the API key)
+     * @param maxAgeMinutes How old the result can be
+     * @return The result, or null if there is no recent passing result
+     */
+    public static synchronized Result find(String key, int maxAgeMinutes) {
+        Result result = results.get(key);
+
+        if (result == null || result.getAge() > TimeUnit.MINUTES.toMillis(maxAgeMinutes))
+            return null;
+
+        return result;
+    }
+
+    /**
+     * Stores a passing result
+     * @param key The fingerprint of the execution inputs (and the API key)
+     * @param result The result
+     */
+    public static synchronized void store(String key, Result result) {
+        if (!result.getState().hasFinishedSuccessfully())
+            return;
+
+        // Re-inserting, so the entry moves to the end of the eviction order
+        results.remove(key);
+        results.put(key, result);
+
+        for (Iterator<Result> iterator = results.values().iterator(); results.size() > Constants.RESULT_CACHE_MAX_ENTRIES; ) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * The terminal state and the JUnit report of a passing execution
+     */
+    public static class Result {
+        private final String executionId;
+        private final ExecutionStateResponseData state;
+        private final Object build;
+        private final long created = System.currentTimeMillis();
+        private String report;
+
+        public Result(String executionId, ExecutionStateResponseData state, Object build, String report) {
+            this.executionId = executionId;
+            this.state = state;
+            this.build = build;
+            this.report = report;
+        }
+
+        public String getExecutionId() {
+            return executionId;
+        }
+
+        public ExecutionStateResponseData getState() {
+            return state;
+        }
+
+        /**
+         * @return The build that ran the execution
+         */
+        public Object getBuild() {
+            return build;
+        }
+
+        /**
+         * @return How long ago the result was stored (milliseconds)
+         */
+        public long getAge() {
+            return System.currentTimeMillis() - created;
+        }
+
+        /**
+         * Returns the JUnit report of the execution, fetching it if it was not stored with the result
+         * @param source Fetches the report
+         * @return The report, or null if it could not be fetched
+         */
+        public synchronized String getReport(SharedExecution.ReportSource source) throws IOException {
+            if (report == null)
+                report = source.fetch();
+
+            return report;
+        }
+    }
+}
@@ -5,14 +5,25 @@ import com.google.gson.GsonBuilder;
 
 public class SerializationHelper {
 
-    private static Gson gson = new GsonBuilder().create();
+    private static Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapters())
+            .create();
 
     public static <T> T fromJson(String jsonString, Class<T> clazz) {
-        LogHelper.Debug("Deserializing: " + jsonString);
+        LogHelper.Debug(() -> "Deserializing: " + jsonString);
         return gson.fromJson(jsonString, clazz);
     }
 
     public static String toJson(Object data) {
         return gson.toJson(data);
     }
+
+    /**
+     * Serializes the object directly into the given writer without building an intermediate string
+     * @param data The object to serialize
+     * @param writer The writer to serialize into
+     */
+    public static void toJson(Object data, Appendable writer) {
+        gson.toJson(data, writer);
+    }
 }
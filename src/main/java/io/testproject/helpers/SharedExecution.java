@@ -0,0 +1,199 @@
+package io.testproject.helpers;
+
+import io.testproject.model.ExecutionStateResponseData;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An execution that is shared by the builds that asked for identical executions while it was running.
+ * The first build triggers the execution, the others join it: all of them wait on a single state watch,
+ * share its terminal state and JUnit report, and the execution is only aborted when the last of them stops waiting.
+ * Once the execution has finished, the next identical request triggers a new execution.
+ */
+public class SharedExecution {
+
+    private static final Map<String, SharedExecution> executions = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final Object build;
+    private final CompletableFuture<String> executionId = new CompletableFuture<>();
+
+    private CompletableFuture<ExecutionStateResponseData> watch;
+    private String report;
+    private int waiters;
+    private boolean closed;
+
+    /**
+     * Fetches the JUnit report of the execution
+     */
+    public interface ReportSource {
+        String fetch() throws IOException;
+    }
+
+    private SharedExecution(String key, Object build) {
+        this.key = key;
+        this.build = build;
+    }
+
+    /**
+     * Joins the running execution with the given key, or registers a new one that the caller has to trigger
+     * @param key Identifies identical executions
+     * @param build The build that asks for the execution
+     * @return The membership of the caller in the shared execution
+     */
+    public static Member join(String key, Object build) {
+        while (true) {
+            SharedExecution created = new SharedExecution(key, build);
+            SharedExecution current = executions.putIfAbsent(key, created);
+
+            if (current == null)
+                return created.add(true);
+
+            Member member = current.tryAdd();
+            if (member != null)
+                return member;
+
+            // The execution has just finished
+            executions.remove(key, current);
+        }
+    }
+
+    private synchronized Member add(boolean owner) {
+        waiters++;
+        return new Member(owner);
+    }
+
+    private synchronized Member tryAdd() {
+        return closed ? null : add(false);
+    }
+
+    private synchronized void close() {
+        closed = true;
+        executions.remove(key, this);
+    }
+
+    /**
+     * The participation of one build in a shared execution
+     */
+    public class Member {
+        private final boolean owner;
+        private boolean released;
+
+        private Member(boolean owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * @return true if this build has to trigger the execution
+         */
+        public boolean isOwner() {
+            return owner;
+        }
+
+        /**
+         * @return The build that triggered the execution
+         */
+        public Object getBuild() {
+            return build;
+        }
+
+        /**
+         * Shares the execution that the owner has triggered
+         * @param id The ID of the execution
+         */
+        public void started(String id) {
+            executionId.complete(id);
+        }
+
+        /**
+         * Lets the builds that have joined know that the execution could not be triggered
+         * @param error The reason
+         */
+        public void failed(Throwable error) {
+            close();
+            executionId.completeExceptionally(error);
+        }
+
+        /**
+         * Waits for the owner to trigger the execution
+         * @return The ID of the execution, or null if the owner was unable to trigger it
+         */
+        public String awaitExecutionId() throws InterruptedException {
+            try {
+                return executionId.get();
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Starts watching the execution on the first call, and returns a view of the shared watch
+         * that can be cancelled without affecting the other builds
+         * @param starter Starts the watch
+         * @return A future that completes with the state the watch has ended with
+         */
+        public CompletableFuture<ExecutionStateResponseData> watch(Supplier<CompletableFuture<ExecutionStateResponseData>> starter) {
+            synchronized (SharedExecution.this) {
+                if (watch == null) {
+                    watch = starter.get();
+
+                    // A new identical request triggers a new execution once this one is over
+                    watch.whenComplete((state, error) -> close());
+                }
+
+                return watch.thenApply(Function.identity());
+            }
+        }
+
+        /**
+         * Returns the JUnit report of the execution, fetching it once for all the builds
+         * @param source Fetches the report
+         * @return The report, or null if it could not be fetched
+         */
+        public String getReport(ReportSource source) throws IOException {
+            synchronized (SharedExecution.this) {
+                if (report == null)
+                    report = source.fetch();
+
+                return report;
+            }
+        }
+
+        /**
+         * @return The number of the other builds that wait for the execution
+         */
+        public int getOtherWaiters() {
+            synchronized (SharedExecution.this) {
+                return released ? waiters : waiters - 1;
+            }
+        }
+
+        /**
+         * Stops waiting for the execution, the watch is stopped when no build waits for it anymore
+         * @return true if no other build waits for the execution
+         */
+        public boolean release() {
+            synchronized (SharedExecution.this) {
+                if (!released) {
+                    released = true;
+                    waiters--;
+                }
+
+                if (waiters > 0)
+                    return false;
+
+                close();
+                if (watch != null)
+                    watch.cancel(false);
+
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+
+/**
+ * A request that was not sent because its endpoint class is paused by a circuit breaker,
+ * or that was cut short because the deadline of the caller has expired.
+ * Neither says anything about the health of the endpoint, so callers that retry (e.g. state polls)
+ * should skip the attempt instead of counting it as a failure.
+ */
+public class SkippedRequestException extends AbortException {
+
+    public SkippedRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,171 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.ExecutionState;
+import io.testproject.model.ExecutionStateResponseData;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks a single execution that is started and watched by a multi-execution step
+ */
+public class TrackedExecution {
+    public static final String STATE_NOT_STARTED = "NotStarted";
+    public static final String STATE_TRIGGER_FAILED = "TriggerFailed";
+    public static final String STATE_RUNNING = "Running";
+
+    private final String name;
+    private final Map<String, String> attributes;
+    private final ExecutionHelper executionHelper;
+    private String executionId;
+    private CompletableFuture<ExecutionStateResponseData> watch;
+    private String state = STATE_NOT_STARTED;
+    private String report;
+    private boolean passed;
+    private long started;
+    private long finished;
+    private long abortStarted;
+
+    /**
+     * @param name A readable name of the execution, used in the log
+     * @param attributes Attributes that identify the execution in the results
+     * @param executionHelper The helper used to trigger and watch the execution
+     */
+    public TrackedExecution(String name, Map<String, String> attributes, ExecutionHelper executionHelper) {
+        this.name = name;
+        this.attributes = attributes;
+        this.executionHelper = executionHelper;
+    }
+
+    /**
+     * Triggers the execution and starts watching it
+     * @param buildNumber The number of the Jenkins build that triggers the execution
+     * @param deadline When the execution must have finished
+     * @param onComplete Called when the watch has completed in any way
+     * @return false if the execution could not be triggered
+     */
+    public boolean trigger(Object buildNumber, Deadline deadline, Runnable onComplete) {
+        LogHelper.Info(String.format("Starting TestProject %s...", name));
+
+        try {
+            started = System.currentTimeMillis();
+            executionId = executionHelper.triggerExecution(buildNumber);
+            state = STATE_RUNNING;
+            watch = executionHelper.watchExecution(executionId, deadline);
+            watch.whenComplete((data, error) -> onComplete.run());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LogHelper.Info(String.format("Unable to start TestProject %s: %s", name, e.getMessage()));
+
+            // Triggered but not watched, so nothing else would abort it
+            if (executionId != null && watch == null)
+                executionHelper.abortExecution(executionId);
+
+            state = STATE_TRIGGER_FAILED;
+            finished = System.currentTimeMillis();
+            return false;
+        }
+    }
+
+    /**
+     * Collects the final state once the watch has completed
+     */
+    public void complete() {
+        finished = System.currentTimeMillis();
+
+        if (watch.isCancelled()) {
+            state = ExecutionState.Aborted.name();
+            return;
+        }
+
+        try {
+            ExecutionStateResponseData data = watch.join();
+            state = String.valueOf(data.getState());
+            passed = data.hasFinishedSuccessfully();
+            report = data.getReport();
+        } catch (RuntimeException e) {
+            state = ExecutionState.Unknown.name();
+        }
+
+        LogHelper.Info(String.format("TestProject %s has finished - state: %s (%d seconds)", name, state, getDurationSeconds()));
+    }
+
+    /**
+     * Marks an execution that will never be triggered
+     * @param reason Why the execution is skipped
+     */
+    public void skip(String reason) {
+        state = ExecutionState.Skipped.name();
+        LogHelper.Info(String.format("Skipping TestProject %s: %s", name, reason));
+    }
+
+    /**
+     * Aborts the execution if it is still running
+     * @return true if an abort was sent
+     */
+    public boolean abort() {
+        if (watch == null || watch.isDone())
+            return false;
+
+        abortStarted = System.currentTimeMillis();
+        executionHelper.abortExecution(executionId);
+
+        return true;
+    }
+
+    /**
+     * Waits for an aborted execution to stop
+     * @param deadline When to stop waiting (epoch milliseconds)
+     */
+    public void confirmAborted(long deadline) {
+        if (abortStarted > 0)
+            executionHelper.confirmAborted(executionId, abortStarted, deadline);
+    }
+
+    //region Getters
+    public String getName() {
+        return name;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public long getStarted() {
+        return started;
+    }
+
+    public long getFinished() {
+        return finished;
+    }
+
+    public long getDurationSeconds() {
+        return started > 0 ? TimeUnit.MILLISECONDS.toSeconds(finished - started) : 0;
+    }
+    //endregion
+
+    /**
+     * @return The attributes of the execution along with its final state
+     */
+    public Map<String, String> toResult() {
+        Map<String, String> result = new LinkedHashMap<>(attributes);
+        result.put("executionId", executionId != null ? executionId : "");
+        result.put("state", state);
+        result.put("report", report != null ? report : "");
+        result.put("durationSeconds", String.valueOf(getDurationSeconds()));
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -36,6 +36,11 @@ public class AgentData {
      */
     private String osVersion;
 
+    /**
+     * The current state of the agent
+     */
+    private AgentState state;
+
     public void setAlias(String alias) {
         this.alias = alias;
     }
@@ -83,4 +88,12 @@ public class AgentData {
     public String getOsType() {
         return osType;
     }
+
+    public AgentState getState() {
+        return state;
+    }
+
+    public void setState(AgentState state) {
+        this.state = state;
+    }
 }
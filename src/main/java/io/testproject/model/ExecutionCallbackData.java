@@ -0,0 +1,34 @@
+package io.testproject.model;
+
+import io.testproject.constants.ExecutionState;
+
+/**
+ * Execution completion callback payload
+ */
+public class ExecutionCallbackData {
+    /**
+     * The ID of the execution that has finished
+     */
+    private String executionId;
+
+    /**
+     * The final state of the execution
+     */
+    private ExecutionState state;
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId) {
+        this.executionId = executionId;
+    }
+
+    public ExecutionState getState() {
+        return state;
+    }
+
+    public void setState(ExecutionState state) {
+        this.state = state;
+    }
+}
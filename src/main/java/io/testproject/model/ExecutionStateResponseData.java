@@ -36,6 +36,16 @@ public class ExecutionStateResponseData {
      */
     private String report;
 
+    /**
+     * Number of tests that have failed so far, when reported while executing
+     */
+    private Integer failedTests;
+
+    /**
+     * Total number of tests in the execution, when reported while executing
+     */
+    private Integer totalTests;
+
     public ExecutionState getState() {
         return state;
     }
@@ -84,6 +94,22 @@ public class ExecutionStateResponseData {
         this.report = report;
     }
 
+    public Integer getFailedTests() {
+        return failedTests;
+    }
+
+    public void setFailedTests(Integer failedTests) {
+        this.failedTests = failedTests;
+    }
+
+    public Integer getTotalTests() {
+        return totalTests;
+    }
+
+    public void setTotalTests(Integer totalTests) {
+        this.totalTests = totalTests;
+    }
+
     public boolean hasFinished() {
         return state == ExecutionState.Passed
                 || state == ExecutionState.Failed
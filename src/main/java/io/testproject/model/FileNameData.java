@@ -5,12 +5,19 @@ public class FileNameData {
     /**
      * The name of the apk/ipa file
      */
-    private final String fileName;
+    private String fileName;
 
     public String getFileName() {
         return fileName;
     }
 
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public FileNameData() {
+    }
+
     public FileNameData(String fileName) {
         this.fileName = fileName;
     }
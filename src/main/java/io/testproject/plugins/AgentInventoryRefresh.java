@@ -0,0 +1,38 @@
+package io.testproject.plugins;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.AgentInventory;
+import io.testproject.helpers.ApiHelper;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.IOException;
+
+/**
+ * Refreshes the browsers and devices of all the agents together, so the test configuration page is served from memory
+ */
+@Extension
+public class AgentInventoryRefresh extends AsyncPeriodicWork {
+
+    public AgentInventoryRefresh() {
+        super("TestProject agent inventory refresh");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        // More often than the inventories expire, so the cached ones are always fresh
+        return Constants.AGENT_INVENTORY_TTL / 2;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+
+        if (config == null || StringUtils.isEmpty(config.getApiKey()))
+            return;
+
+        AgentInventory.sweep(new ApiHelper(config.getApiKey()));
+    }
+}
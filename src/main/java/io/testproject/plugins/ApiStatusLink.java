@@ -0,0 +1,52 @@
+package io.testproject.plugins;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.CircuitBreaker;
+
+import java.util.Collection;
+
+/**
+ * Shows the health of the TestProject API as seen by the plugin, under Manage Jenkins
+ */
+@Extension
+public class ApiStatusLink extends ManagementLink {
+
+    @Override
+    public String getIconFileName() {
+        return "network.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Constants.TP_STATUS_NAME;
+    }
+
+    @Override
+    public String getUrlName() {
+        return Constants.TP_STATUS_URL_NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "State of the circuit breakers and request statistics of the TestProject API";
+    }
+
+    public Collection<CircuitBreaker> getBreakers() {
+        return ApiHelper.getBreakers().values();
+    }
+
+    public long getHedgedRequests() {
+        return ApiHelper.getHedgedRequests();
+    }
+
+    public long getUncompressedBytes() {
+        return ApiHelper.getUncompressedBytes();
+    }
+
+    public long getCompressedBytes() {
+        return ApiHelper.getCompressedBytes();
+    }
+}
@@ -0,0 +1,125 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.testproject.constants.Constants;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+
+/**
+ * A single application or data source file that should be updated by {@link UpdateArtifacts}
+ */
+public class ArtifactFile extends AbstractDescribableImpl<ArtifactFile> {
+
+    public static final String TYPE_APPLICATION = "application";
+    public static final String TYPE_DATA_SOURCE = "dataSource";
+
+    //region Private members
+    private final String type;
+    private final String artifactId;
+    private final String filePath;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public ArtifactFile(String type, String artifactId, String filePath) {
+        this.type = type;
+        this.artifactId = artifactId;
+        this.filePath = filePath;
+    }
+    //endregion
+
+    //region Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+    //endregion
+
+    /**
+     * @return true for an application file, false for a data source file
+     * @throws AbortException If the type is neither an application nor a data source
+     */
+    public boolean isApplication() throws AbortException {
+        if (TYPE_APPLICATION.equalsIgnoreCase(type))
+            return true;
+
+        if (TYPE_DATA_SOURCE.equalsIgnoreCase(type))
+            return false;
+
+        throw new AbortException(String.format("Invalid type '%s' of '%s'. Only '%s' and '%s' are allowed.",
+                type, artifactId, TYPE_APPLICATION, TYPE_DATA_SOURCE));
+    }
+
+    /**
+     * @return The action name that FileUploadHelper uses to pick the upload endpoints
+     */
+    public String getActionName() throws AbortException {
+        return isApplication()
+                ? Constants.TP_APP_FILE_SYMBOL
+                : Constants.TP_DATA_SOURCE_SYMBOL;
+    }
+
+    public ArrayList<String> getValidExtensions() throws AbortException {
+        return isApplication()
+                ? new ArrayList<>(Constants.APP_FILE_EXTENSIONS)
+                : new ArrayList<>(Constants.DATA_SOURCE_FILE_EXTENSIONS);
+    }
+
+    @Override
+    public String toString() {
+        String name = TYPE_APPLICATION.equalsIgnoreCase(type)
+                ? "application"
+                : TYPE_DATA_SOURCE.equalsIgnoreCase(type) ? "data source" : "artifact";
+
+        return name + " '" + artifactId + "'";
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<ArtifactFile> {
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_ARTIFACT_FILE_NAME;
+        }
+
+        public ListBoxModel doFillTypeItems() {
+            ListBoxModel model = new ListBoxModel();
+            model.add("Mobile application (apk/ipa)", TYPE_APPLICATION);
+            model.add("Data source (csv)", TYPE_DATA_SOURCE);
+
+            return model;
+        }
+
+        public FormValidation doCheckArtifactId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("The application/data source Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckFilePath(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("The file path cannot be empty");
+
+            return FormValidation.ok();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.testproject.plugins;
+
+import com.google.gson.JsonSyntaxException;
+import hudson.Extension;
+import hudson.model.UnprotectedRootAction;
+import hudson.security.csrf.CrumbExclusion;
+import hudson.util.Secret;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ExecutionCallbacks;
+import io.testproject.helpers.SerializationHelper;
+import io.testproject.model.ExecutionCallbackData;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Receives signed execution completion callbacks, so waiting builds don't have to rely on polling
+ */
+@Extension
+public class ExecutionCallbackAction implements UnprotectedRootAction {
+    private static final Logger LOGGER = Logger.getLogger(ExecutionCallbackAction.class.getName());
+
+    /**
+     * Signatures of the callbacks that were accepted recently (epoch milliseconds)
+     */
+    private static final Map<String, Long> acceptedSignatures = new ConcurrentHashMap<>();
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return Constants.TP_CALLBACK_URL_NAME;
+    }
+
+    /**
+     * Handles a completion callback. The body is a JSON object containing the executionId, and it must be
+     * signed with HMAC-SHA256 using the callback secret from the global configuration.
+     * The signed timestamp header must be within a few minutes of the Jenkins clock.
+     */
+    @RequirePOST
+    public HttpResponse doIndex(StaplerRequest req) throws IOException {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+        Secret secret = config != null ? config.getCallbackSecret() : null;
+
+        if (secret == null || secret.getPlainText().isEmpty())
+            return HttpResponses.notFound();
+
+        byte[] body = IOUtils.toByteArray(new BoundedInputStream(req.getInputStream(), Constants.TP_CALLBACK_MAX_SIZE));
+
+        String timestamp = req.getHeader(Constants.TP_CALLBACK_TIMESTAMP_HEADER);
+        if (!isSignatureValid(secret.getPlainText(), timestamp, body, req.getHeader(Constants.TP_CALLBACK_SIGNATURE_HEADER)))
+            return HttpResponses.forbidden();
+
+        // Old callbacks are rejected, so a captured one cannot be replayed once it has left the replay window
+        if (!isTimestampFresh(timestamp, System.currentTimeMillis())) {
+            LOGGER.log(Level.FINE, "Rejecting a completion callback with timestamp {0}", timestamp);
+            return HttpResponses.forbidden();
+        }
+
+        // A replayed callback is acknowledged, but the waiting builds are not notified again
+        if (isReplay(req.getHeader(Constants.TP_CALLBACK_SIGNATURE_HEADER), System.currentTimeMillis())) {
+            LOGGER.log(Level.FINE, "Ignoring a replayed completion callback");
+            return HttpResponses.ok();
+        }
+
+        ExecutionCallbackData data;
+        try {
+            data = SerializationHelper.fromJson(new String(body, StandardCharsets.UTF_8), ExecutionCallbackData.class);
+        } catch (JsonSyntaxException e) {
+            return HttpResponses.error(HttpServletResponse.SC_BAD_REQUEST, "Invalid callback payload");
+        }
+
+        if (data == null || StringUtils.isEmpty(data.getExecutionId()))
+            return HttpResponses.error(HttpServletResponse.SC_BAD_REQUEST, "Missing executionId");
+
+        boolean waiting = ExecutionCallbacks.complete(data.getExecutionId());
+        LOGGER.log(Level.FINE, "Completion callback for execution {0} (state: {1}, waiting build: {2})",
+                new Object[]{data.getExecutionId(), data.getState(), waiting});
+
+        return HttpResponses.ok();
+    }
+
+    /**
+     * Verifies the signature of a callback, which is the HMAC-SHA256 of the timestamp, a dot and the body
+     * @param secret The callback secret
+     * @param timestamp The value of the timestamp header
+     * @param body The body of the callback
+     * @param signature The value of the signature header
+     * @return true if the signature matches
+     */
+    static boolean isSignatureValid(String secret, String timestamp, byte[] body, String signature) {
+        if (timestamp == null || signature == null || !signature.startsWith(Constants.TP_CALLBACK_SIGNATURE_PREFIX))
+            return false;
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            mac.update((timestamp + ".").getBytes(StandardCharsets.UTF_8));
+            String expected = String.format("%064x", new BigInteger(1, mac.doFinal(body)));
+            String actual = signature.substring(Constants.TP_CALLBACK_SIGNATURE_PREFIX.length()).toLowerCase();
+
+            // Constant time comparison
+            return MessageDigest.isEqual(
+                    expected.getBytes(StandardCharsets.US_ASCII),
+                    actual.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            LOGGER.log(Level.WARNING, "Unable to verify the callback signature", e);
+            return false;
+        }
+    }
+
+    /**
+     * @param timestamp The value of the timestamp header (epoch seconds)
+     * @param now The current time (epoch milliseconds)
+     * @return true if the callback was sent within the allowed clock skew
+     */
+    static boolean isTimestampFresh(String timestamp, long now) {
+        try {
+            long sent = TimeUnit.SECONDS.toMillis(Long.parseLong(timestamp.trim()));
+            return Math.abs(now - sent) <= Constants.TP_CALLBACK_MAX_SKEW;
+        } catch (NumberFormatException | NullPointerException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remembers the signature of an accepted callback
+     * @param signature The signature of the callback
+     * @param now The current time (epoch milliseconds)
+     * @return true if a callback with the same signature was accepted within the replay window
+     */
+    static boolean isReplay(String signature, long now) {
+        acceptedSignatures.values().removeIf(accepted -> now - accepted > Constants.TP_CALLBACK_REPLAY_WINDOW);
+
+        return acceptedSignatures.putIfAbsent(signature.toLowerCase(Locale.ROOT), now) != null;
+    }
+
+    /**
+     * Callbacks are sent by an external service that has no crumb, they are authenticated by their signature instead
+     */
+    @Extension
+    public static class CallbackCrumbExclusion extends CrumbExclusion {
+        @Override
+        public boolean process(HttpServletRequest req, HttpServletResponse resp, FilterChain chain) throws IOException, ServletException {
+            String pathInfo = req.getPathInfo();
+
+            if (pathInfo != null && (pathInfo.equals("/" + Constants.TP_CALLBACK_URL_NAME) || pathInfo.equals("/" + Constants.TP_CALLBACK_URL_NAME + "/"))) {
+                chain.doFilter(req, resp);
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
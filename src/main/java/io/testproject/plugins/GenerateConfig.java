@@ -12,6 +12,7 @@ import io.testproject.helpers.ApiHelper;
 import io.testproject.helpers.ApiResponse;
 import io.testproject.helpers.DescriptorHelper;
 import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.NameResolver;
 import io.testproject.model.AgentDockerConfigData;
 import io.testproject.model.AgentDockerConfigGenerationRequestData;
 import org.apache.commons.lang.StringUtils;
@@ -127,7 +128,7 @@ public class GenerateConfig extends Step {
         return data;
     }
 
-    private AgentDockerConfigGenerationRequestData generateRequestBody() throws AbortException {
+    private AgentDockerConfigGenerationRequestData generateRequestBody() throws IOException {
         JsonObject jobParams = null;
 
         try {
@@ -150,7 +151,9 @@ public class GenerateConfig extends Step {
             body.setAlias(alias);
 
         if (!StringUtils.isEmpty(jobId)) {
-            body.setJobId(jobId);
+            // The project is only needed to refer to the job by name
+            body.setJobId(StringUtils.isEmpty(projectId) ? jobId : NameResolver.resolve(apiHelper, NameResolver.Kind.JOB,
+                    NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, projectId), jobId));
 
             if (jobParams != null)
                 body.setJobParameters(jobParams);
@@ -188,9 +191,10 @@ public class GenerateConfig extends Step {
             return null;
         }
 
-        public ListBoxModel doFillJobIdItems(@QueryParameter String projectId) {
+        public ListBoxModel doFillJobIdItems(@QueryParameter String projectId, @QueryParameter String jobFilter,
+                                             @QueryParameter String jobId) {
             try {
-                return DescriptorHelper.fillJobIdItems(projectId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+                return DescriptorHelper.fillJobIdItems(projectId, jobFilter, jobId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
             } catch (Exception e) {
                 LogHelper.Error(e);
             }
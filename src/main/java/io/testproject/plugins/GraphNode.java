@@ -0,0 +1,213 @@
+package io.testproject.plugins;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import io.testproject.constants.Constants;
+import io.testproject.constants.ExecutionType;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.ExecutionHelper;
+import io.testproject.helpers.TrackedExecution;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A job or a test that is executed by {@link RunExecutionGraph} once the executions it depends on have passed
+ */
+public class GraphNode extends AbstractDescribableImpl<GraphNode> {
+
+    //region Private members
+    private final String id;
+    private final String projectId;
+    private String jobId;
+    private String testId;
+    private String agentId;
+    private String browser;
+    private String device;
+    private String executionParameters;
+    private String dependsOn;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public GraphNode(String id, String projectId) {
+        this.id = id;
+        this.projectId = projectId;
+        this.jobId = "";
+        this.testId = "";
+        this.agentId = "";
+        this.browser = "";
+        this.device = "";
+        this.executionParameters = "";
+        this.dependsOn = "";
+    }
+    //endregion
+
+    //region Setters & Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    @DataBoundSetter
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    @DataBoundSetter
+    public void setTestId(String testId) {
+        this.testId = testId;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @DataBoundSetter
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    @DataBoundSetter
+    public void setBrowser(String browser) {
+        this.browser = browser;
+    }
+
+    public String getDevice() {
+        return device;
+    }
+
+    @DataBoundSetter
+    public void setDevice(String device) {
+        this.device = device;
+    }
+
+    public String getExecutionParameters() {
+        return executionParameters;
+    }
+
+    @DataBoundSetter
+    public void setExecutionParameters(String executionParameters) {
+        this.executionParameters = executionParameters;
+    }
+
+    public String getDependsOn() {
+        return dependsOn;
+    }
+
+    @DataBoundSetter
+    public void setDependsOn(String dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+    //endregion
+
+    /**
+     * @return true if the node executes a test rather than a job
+     */
+    public boolean isTest() {
+        return StringUtils.isNotEmpty(testId);
+    }
+
+    /**
+     * @return The IDs of the nodes this node depends on
+     */
+    public List<String> getDependencies() {
+        Set<String> dependencies = new LinkedHashSet<>();
+
+        if (dependsOn == null)
+            return new ArrayList<>(dependencies);
+
+        for (String dependency : dependsOn.split(",")) {
+            if (!dependency.trim().isEmpty())
+                dependencies.add(dependency.trim());
+        }
+
+        return new ArrayList<>(dependencies);
+    }
+
+    /**
+     * Creates a tracker that triggers and watches this node
+     * @param apiHelper An instance of ApiHelper
+     * @return The tracker of the node
+     */
+    TrackedExecution track(ApiHelper apiHelper) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("id", id);
+        attributes.put("projectId", projectId);
+        attributes.put(isTest() ? "testId" : "jobId", isTest() ? testId : jobId);
+
+        ExecutionHelper executionHelper = isTest()
+                ? new ExecutionHelper(projectId, testId, agentId, browser, device, executionParameters,
+                        0, ExecutionType.TEST, null, null, apiHelper)
+                : new ExecutionHelper(projectId, jobId, agentId, executionParameters,
+                        0, ExecutionType.JOB, null, null, apiHelper);
+
+        return new TrackedExecution(toString(), attributes, executionHelper);
+    }
+
+    @Override
+    public String toString() {
+        return "'" + id + "' (" + (isTest() ? "test '" + testId : "job '" + jobId) + "')";
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<GraphNode> {
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_GRAPH_NODE_NAME;
+        }
+
+        public FormValidation doCheckId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Id cannot be empty");
+
+            if (value.contains(","))
+                return FormValidation.error("Id cannot contain commas");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckProjectId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Project Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckTestId(@QueryParameter String value, @QueryParameter String jobId) {
+
+            if (value.isEmpty() && jobId.isEmpty())
+                return FormValidation.error("Either a Job Id or a Test Id must be provided");
+
+            if (!value.isEmpty() && !jobId.isEmpty())
+                return FormValidation.error("Only one of Job Id and Test Id can be provided");
+
+            return FormValidation.ok();
+        }
+    }
+}
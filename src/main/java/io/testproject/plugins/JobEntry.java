@@ -0,0 +1,124 @@
+package io.testproject.plugins;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import io.testproject.constants.Constants;
+import io.testproject.constants.ExecutionType;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.ExecutionHelper;
+import io.testproject.helpers.TrackedExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single job that should be executed by {@link RunJobs}
+ */
+public class JobEntry extends AbstractDescribableImpl<JobEntry> {
+
+    //region Private members
+    private final String projectId;
+    private final String jobId;
+    private String agentId;
+    private String executionParameters;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public JobEntry(String projectId, String jobId) {
+        this.projectId = projectId;
+        this.jobId = jobId;
+        this.agentId = "";
+        this.executionParameters = "";
+    }
+    //endregion
+
+    //region Setters & Getters
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @DataBoundSetter
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    public String getExecutionParameters() {
+        return executionParameters;
+    }
+
+    @DataBoundSetter
+    public void setExecutionParameters(String executionParameters) {
+        this.executionParameters = executionParameters;
+    }
+    //endregion
+
+    /**
+     * Creates a tracker that triggers and watches this job
+     * @param apiHelper An instance of ApiHelper
+     * @return The tracker of the job
+     */
+    TrackedExecution track(ApiHelper apiHelper) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("projectId", projectId);
+        attributes.put("jobId", jobId);
+
+        ExecutionHelper executionHelper = new ExecutionHelper(
+                projectId,
+                jobId,
+                agentId,
+                executionParameters,
+                0,
+                ExecutionType.JOB,
+                null,
+                null,
+                apiHelper);
+
+        return new TrackedExecution(toString(), attributes, executionHelper);
+    }
+
+    @Override
+    public String toString() {
+        return "job '" + jobId + "' (project '" + projectId + "')";
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<JobEntry> {
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_JOB_ENTRY_NAME;
+        }
+
+        public FormValidation doCheckProjectId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Project Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckJobId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Job Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.testproject.plugins;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.NameResolver;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Keeps the names that pipeline steps refer to up to date in the background, so builds resolve them from memory
+ */
+@Extension
+public class NameIndexRefresh extends AsyncPeriodicWork {
+
+    public NameIndexRefresh() {
+        super("TestProject name index refresh");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return Constants.NAME_INDEX_REFRESH_INTERVAL;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+
+        if (config == null || StringUtils.isEmpty(config.getApiKey()))
+            return;
+
+        NameResolver.refresh(new ApiHelper(config.getApiKey()));
+    }
+}
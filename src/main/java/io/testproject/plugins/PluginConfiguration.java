@@ -1,6 +1,9 @@
 package io.testproject.plugins;
 
 import hudson.Extension;
+import hudson.util.Secret;
+import io.testproject.constants.EndpointClass;
+import io.testproject.helpers.MetadataCache;
 import jenkins.model.GlobalConfiguration;
 import net.sf.json.JSONObject;
 import org.jenkinsci.Symbol;
@@ -13,6 +16,14 @@ public class PluginConfiguration extends GlobalConfiguration {
 
     private String apiKey;
     private boolean verbose;
+    private boolean compressRequests;
+    private boolean hedgeRequests;
+    private boolean warmUp;
+    private Secret callbackSecret;
+    private int pollTimeout;
+    private int metadataTimeout;
+    private int triggerTimeout;
+    private int uploadTimeout;
 
     public String getApiKey() {
         return apiKey;
@@ -20,6 +31,9 @@ public class PluginConfiguration extends GlobalConfiguration {
 
     @DataBoundSetter
     public void setApiKey(String apiKey) {
+        if (apiKey == null || !apiKey.equals(this.apiKey))
+            MetadataCache.clear();
+
         this.apiKey = apiKey;
         save();
     }
@@ -34,6 +48,105 @@ public class PluginConfiguration extends GlobalConfiguration {
         save();
     }
 
+    public boolean isCompressRequests() {
+        return compressRequests;
+    }
+
+    @DataBoundSetter
+    public void setCompressRequests(boolean compressRequests) {
+        this.compressRequests = compressRequests;
+        save();
+    }
+
+    public boolean isHedgeRequests() {
+        return hedgeRequests;
+    }
+
+    @DataBoundSetter
+    public void setHedgeRequests(boolean hedgeRequests) {
+        this.hedgeRequests = hedgeRequests;
+        save();
+    }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    @DataBoundSetter
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+        save();
+    }
+
+    public Secret getCallbackSecret() {
+        return callbackSecret;
+    }
+
+    @DataBoundSetter
+    public void setCallbackSecret(Secret callbackSecret) {
+        this.callbackSecret = callbackSecret;
+        save();
+    }
+
+    public int getPollTimeout() {
+        return pollTimeout > 0 ? pollTimeout : EndpointClass.POLL.getDefaultTimeoutSeconds();
+    }
+
+    @DataBoundSetter
+    public void setPollTimeout(int pollTimeout) {
+        this.pollTimeout = pollTimeout;
+        save();
+    }
+
+    public int getMetadataTimeout() {
+        return metadataTimeout > 0 ? metadataTimeout : EndpointClass.METADATA.getDefaultTimeoutSeconds();
+    }
+
+    @DataBoundSetter
+    public void setMetadataTimeout(int metadataTimeout) {
+        this.metadataTimeout = metadataTimeout;
+        save();
+    }
+
+    public int getTriggerTimeout() {
+        return triggerTimeout > 0 ? triggerTimeout : EndpointClass.TRIGGER.getDefaultTimeoutSeconds();
+    }
+
+    @DataBoundSetter
+    public void setTriggerTimeout(int triggerTimeout) {
+        this.triggerTimeout = triggerTimeout;
+        save();
+    }
+
+    public int getUploadTimeout() {
+        return uploadTimeout > 0 ? uploadTimeout : EndpointClass.UPLOAD.getDefaultTimeoutSeconds();
+    }
+
+    @DataBoundSetter
+    public void setUploadTimeout(int uploadTimeout) {
+        this.uploadTimeout = uploadTimeout;
+        save();
+    }
+
+    /**
+     * @param endpointClass The class of the endpoint
+     * @return The timeout of requests to the endpoint class, in seconds
+     */
+    public int getTimeout(EndpointClass endpointClass) {
+        switch (endpointClass) {
+            case POLL:
+                return getPollTimeout();
+            case METADATA:
+                return getMetadataTimeout();
+            case TRIGGER:
+                return getTriggerTimeout();
+            case UPLOAD:
+                return getUploadTimeout();
+            default:
+                return endpointClass.getDefaultTimeoutSeconds();
+        }
+    }
+
     public PluginConfiguration() {
         load();
     }
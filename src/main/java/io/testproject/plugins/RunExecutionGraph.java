@@ -0,0 +1,369 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.Deadline;
+import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.TrackedExecution;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.steps.*;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs a dependency graph of TestProject jobs and tests.
+ * Every node is started as soon as all of its dependencies have passed, so independent branches run in parallel.
+ */
+public class RunExecutionGraph extends Step {
+
+    //region Private members
+    private List<GraphNode> nodes;
+    private int maxConcurrency;
+    private int waitSeconds;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public RunExecutionGraph(List<GraphNode> nodes) {
+        this.nodes = nodes != null ? nodes : new ArrayList<>();
+        this.maxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+        this.waitSeconds = Constants.DEFAULT_EXECUTIONS_WAIT_TIME;
+    }
+    //endregion
+
+    //region Setters & Getters
+    public List<GraphNode> getNodes() {
+        return nodes;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getWaitSeconds() {
+        return waitSeconds;
+    }
+
+    @DataBoundSetter
+    public void setWaitSeconds(int waitSeconds) {
+        this.waitSeconds = waitSeconds;
+    }
+    //endregion
+
+    @Override
+    public StepExecution start(StepContext stepContext) {
+        LogHelper.SetLogger(stepContext, PluginConfiguration.getInstance().isVerbose());
+        return new RunExecutionGraphExecution(this, stepContext);
+    }
+
+    /**
+     * Runs the graph
+     * @param buildNumber The number of the Jenkins build that triggers the executions
+     * @return The result of every node and the critical path of the graph
+     */
+    public Map<String, Object> runGraph(Object buildNumber) throws IOException, InterruptedException {
+        List<GraphNode> order = sortNodes();
+
+        int concurrency = maxConcurrency > 0 ? maxConcurrency : Constants.DEFAULT_MAX_CONCURRENCY;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        LogHelper.Info(String.format("Running a graph of %d TestProject executions, up to %d at a time", order.size(), concurrency));
+
+        ApiHelper apiHelper = new ApiHelper(PluginConfiguration.getInstance().getApiKey());
+        Map<String, TrackedExecution> runs = new LinkedHashMap<>();
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+
+        for (GraphNode node : order) {
+            runs.put(node.getId(), node.track(apiHelper));
+            pending.put(node.getId(), node.getDependencies().size());
+            dependents.put(node.getId(), new ArrayList<>());
+
+            for (String dependency : node.getDependencies())
+                dependents.get(dependency).add(node.getId());
+
+            if (node.getDependencies().isEmpty())
+                ready.add(node.getId());
+        }
+
+        Map<TrackedExecution, String> ids = new IdentityHashMap<>();
+        for (Map.Entry<String, TrackedExecution> entry : runs.entrySet())
+            ids.put(entry.getValue(), entry.getKey());
+
+        BlockingQueue<TrackedExecution> completed = new LinkedBlockingQueue<>();
+        Set<TrackedExecution> running = new LinkedHashSet<>();
+        long graphStarted = System.currentTimeMillis();
+
+        try {
+            while (!ready.isEmpty() || !running.isEmpty()) {
+                while (!ready.isEmpty() && running.size() < concurrency) {
+                    String id = ready.poll();
+                    TrackedExecution run = runs.get(id);
+
+                    if (run.trigger(buildNumber, Deadline.at(deadline), () -> completed.add(run)))
+                        running.add(run);
+                    else
+                        skipDependents(id, runs, dependents);
+                }
+
+                if (running.isEmpty())
+                    continue;
+
+                TrackedExecution run = RunJobs.takeCompleted(completed, deadline, "executions");
+                String id = ids.get(run);
+
+                if (!RunJobs.onCompleted(run, running)) {
+                    skipDependents(id, runs, dependents);
+                    continue;
+                }
+
+                for (String dependent : dependents.get(id)) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0)
+                        ready.add(dependent);
+                }
+            }
+        } catch (InterruptedException | IOException | RuntimeException e) {
+            RunJobs.abortAll(running);
+            throw e;
+        }
+
+        long wallClockSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - graphStarted);
+
+        List<Map<String, String>> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        long sequentialSeconds = 0;
+
+        for (TrackedExecution run : runs.values()) {
+            results.add(run.toResult());
+            sequentialSeconds += run.getDurationSeconds();
+
+            if (!run.isPassed())
+                failures.add(run + ": " + run.getState());
+        }
+
+        List<String> criticalPath = new ArrayList<>();
+        long criticalPathSeconds = findCriticalPath(order, id -> runs.get(id).getDurationSeconds(), criticalPath);
+
+        LogHelper.Info(String.format("%d of %d TestProject executions have passed in %d seconds",
+                runs.size() - failures.size(), runs.size(), wallClockSeconds));
+        LogHelper.Info(String.format("Critical path: %s (%d seconds, %d seconds when run sequentially)",
+                StringUtils.join(criticalPath, " -> "), criticalPathSeconds, sequentialSeconds));
+
+        if (!failures.isEmpty())
+            throw new AbortException("Some TestProject executions did not pass: " + StringUtils.join(failures, ", "));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nodes", results);
+        result.put("criticalPath", criticalPath);
+        result.put("criticalPathSeconds", criticalPathSeconds);
+        result.put("durationSeconds", wallClockSeconds);
+
+        return result;
+    }
+
+    /**
+     * Validates the graph and sorts its nodes so that every node comes after its dependencies
+     * @return The sorted nodes
+     * @throws AbortException If the graph is invalid or contains a cycle
+     */
+    List<GraphNode> sortNodes() throws AbortException {
+        if (nodes.isEmpty())
+            throw new AbortException("At least one node must be provided");
+
+        Map<String, GraphNode> byId = new LinkedHashMap<>();
+
+        for (GraphNode node : nodes) {
+            if (StringUtils.isEmpty(node.getId()))
+                throw new AbortException("The id of every node must be provided");
+
+            if (StringUtils.isEmpty(node.getProjectId()))
+                throw new AbortException("The project id of node '" + node.getId() + "' must be provided");
+
+            if (StringUtils.isEmpty(node.getJobId()) == StringUtils.isEmpty(node.getTestId()))
+                throw new AbortException("Either a job id or a test id of node '" + node.getId() + "' must be provided");
+
+            if (byId.put(node.getId(), node) != null)
+                throw new AbortException("The node id '" + node.getId() + "' is used more than once");
+        }
+
+        Map<String, Integer> pending = new HashMap<>();
+        Deque<GraphNode> ready = new ArrayDeque<>();
+
+        for (GraphNode node : nodes) {
+            for (String dependency : node.getDependencies()) {
+                if (!byId.containsKey(dependency))
+                    throw new AbortException("Node '" + node.getId() + "' depends on an unknown node '" + dependency + "'");
+            }
+
+            pending.put(node.getId(), node.getDependencies().size());
+
+            if (node.getDependencies().isEmpty())
+                ready.add(node);
+        }
+
+        List<GraphNode> order = new ArrayList<>();
+
+        while (!ready.isEmpty()) {
+            GraphNode node = ready.poll();
+            order.add(node);
+
+            for (GraphNode other : nodes) {
+                if (other.getDependencies().contains(node.getId())
+                        && pending.merge(other.getId(), -1, Integer::sum) == 0)
+                    ready.add(other);
+            }
+        }
+
+        if (order.size() < nodes.size()) {
+            List<String> cycle = new ArrayList<>();
+
+            for (GraphNode node : nodes) {
+                if (pending.get(node.getId()) > 0)
+                    cycle.add(node.getId());
+            }
+
+            throw new AbortException("The dependencies of the following nodes form a cycle: " + StringUtils.join(cycle, ", "));
+        }
+
+        return order;
+    }
+
+    /**
+     * Skips all the nodes that directly or indirectly depend on a node that did not pass
+     */
+    private static void skipDependents(String id, Map<String, TrackedExecution> runs, Map<String, List<String>> dependents) {
+        Deque<String> skipped = new ArrayDeque<>(dependents.get(id));
+
+        while (!skipped.isEmpty()) {
+            String dependent = skipped.poll();
+            TrackedExecution run = runs.get(dependent);
+
+            if (!TrackedExecution.STATE_NOT_STARTED.equals(run.getState()))
+                continue;
+
+            run.skip("dependency '" + id + "' did not pass");
+            skipped.addAll(dependents.get(dependent));
+        }
+    }
+
+    /**
+     * Finds the longest chain of dependent executions by their actual durations
+     * @param order The nodes, sorted so that every node comes after its dependencies
+     * @param durationSeconds The duration of the execution of a node (by node ID)
+     * @param path Receives the IDs of the nodes on the critical path
+     * @return The duration of the critical path in seconds
+     */
+    static long findCriticalPath(List<GraphNode> order, ToLongFunction<String> durationSeconds, List<String> path) {
+        Map<String, Long> length = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String last = null;
+
+        for (GraphNode node : order) {
+            String slowest = null;
+
+            for (String dependency : node.getDependencies()) {
+                if (slowest == null || length.get(dependency) > length.get(slowest))
+                    slowest = dependency;
+            }
+
+            long longest = 0;
+
+            if (slowest != null) {
+                longest = length.get(slowest);
+                previous.put(node.getId(), slowest);
+            }
+
+            length.put(node.getId(), longest + durationSeconds.applyAsLong(node.getId()));
+
+            if (last == null || length.get(node.getId()) > length.get(last))
+                last = node.getId();
+        }
+
+        for (String id = last; id != null; id = previous.get(id))
+            path.add(0, id);
+
+        return last != null ? length.get(last) : 0;
+    }
+
+    public static class RunExecutionGraphExecution extends SynchronousNonBlockingStepExecution<Map<String, Object>> {
+        private final transient RunExecutionGraph step;
+        private static final long serialVersionUID = 1L;
+
+        protected RunExecutionGraphExecution(@Nonnull RunExecutionGraph step, @Nonnull StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected Map<String, Object> run() throws Exception {
+            try {
+                Run<?, ?> run = getContext().get(Run.class);
+                return step.runGraph(run != null ? run.getNumber() : "");
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new AbortException(e.getMessage());
+            }
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+        public static final int defaultMaxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+        public static final int defaultWaitSeconds = Constants.DEFAULT_EXECUTIONS_WAIT_TIME;
+
+        public DescriptorImpl() {}
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(TaskListener.class, Run.class));
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_GRAPH_RUN_NAME;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return Constants.TP_GRAPH_RUN_SYMBOL;
+        }
+
+        public FormValidation doCheckMaxConcurrency(@QueryParameter int value) {
+
+            if (value < 1)
+                return FormValidation.error("Concurrent executions must be at least 1");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckWaitSeconds(@QueryParameter int value) {
+
+            if (value < 10)
+                return FormValidation.error("Wait for executions to finish must be at least 10 seconds");
+
+            return FormValidation.ok();
+        }
+    }
+}
@@ -55,6 +55,10 @@ public class RunJob extends Builder implements SimpleBuildStep {
     private int waitJobFinishSeconds;
     private String executionParameters;
     private String junitResultsFile;
+    private int failFastThreshold;
+    private String fallbackAgents;
+    private boolean deduplicate;
+    private int reuseResultsMinutes;
 
     private ApiHelper apiHelper;
     private ExecutionHelper executionHelper;
@@ -117,6 +121,42 @@ public class RunJob extends Builder implements SimpleBuildStep {
         this.junitResultsFile = junitResultsFile;
     }
 
+    public int getFailFastThreshold() {
+        return failFastThreshold;
+    }
+
+    @DataBoundSetter
+    public void setFailFastThreshold(int failFastThreshold) {
+        this.failFastThreshold = failFastThreshold;
+    }
+
+    public String getFallbackAgents() {
+        return fallbackAgents;
+    }
+
+    @DataBoundSetter
+    public void setFallbackAgents(String fallbackAgents) {
+        this.fallbackAgents = fallbackAgents;
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    @DataBoundSetter
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public int getReuseResultsMinutes() {
+        return reuseResultsMinutes;
+    }
+
+    @DataBoundSetter
+    public void setReuseResultsMinutes(int reuseResultsMinutes) {
+        this.reuseResultsMinutes = reuseResultsMinutes;
+    }
+
     //endregion
 
     //region Constructors
@@ -156,10 +196,14 @@ public class RunJob extends Builder implements SimpleBuildStep {
                 getJunitResultsFile(),
                 filePath,
                 apiHelper);
+        executionHelper.setFailFastThreshold(getFailFastThreshold());
+        executionHelper.setFallbackAgents(AgentAvailability.parse(getFallbackAgents()));
+        executionHelper.setDeduplicate(isDeduplicate());
+        executionHelper.setReuseResultsMinutes(getReuseResultsMinutes());
     }
 
     @Override
-    public void perform(@Nonnull Run<?, ?> run, @Nonnull FilePath filePath, @Nonnull Launcher launcher, @Nonnull TaskListener taskListener) throws AbortException {
+    public void perform(@Nonnull Run<?, ?> run, @Nonnull FilePath filePath, @Nonnull Launcher launcher, @Nonnull TaskListener taskListener) throws InterruptedException, IOException {
         try {
             PluginConfiguration config = PluginConfiguration.getInstance();
             this.apiHelper = new ApiHelper(config.getApiKey());
@@ -174,6 +218,8 @@ public class RunJob extends Builder implements SimpleBuildStep {
                 throw new AbortException("The job id cannot be empty");
 
             triggerJob(run.getNumber(), filePath);
+        } catch (InterruptedException e) {
+            throw e;
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
@@ -185,42 +231,15 @@ public class RunJob extends Builder implements SimpleBuildStep {
     }
 
     private void triggerJob(Object buildNumber, FilePath filePath) throws Exception {
-        try {
-            init(filePath);
-
-            String logMsg = StringUtils.isEmpty(getAgentId())
-                    ? String.format("Starting TestProject job %s under project %s using the default agent...", this.jobId, this.projectId)
-                    : String.format("Starting TestProject job %s under project %s using agent %s...", this.jobId, this.projectId, this.agentId);
-            LogHelper.Info(logMsg);
-
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.CI_NAME_HEADER, Constants.CI_NAME);
-            headers.put(Constants.CI_BUILD_HEADER, buildNumber);
-
-            ApiResponse<ExecutionResponseData> response = apiHelper.Post(
-                    String.format(Constants.TP_RUN_JOB_URL, projectId, jobId),
-                    headers,
-                    null,
-                    executionHelper.generateRequestBody(),
-                    ExecutionResponseData.class);
-
-            if (response.isSuccessful()) {
-                if (response.getData() != null) {
-                    ExecutionResponseData data = response.getData();
-                    executionId = data.getId();
-                    LogHelper.Info("Execution id: " + executionId);
-
-                    executionHelper.waitForItemFinish(executionId);
-                }
-            } else {
-                throw new AbortException(response.generateErrorMessage("Unable to trigger TestProject job"));
-            }
-        } catch (InterruptedException ie) {
-            LogHelper.Error(ie);
-            if (executionId != null) {
-                executionHelper.abortExecution(executionId);
-            }
-        }
+        init(filePath);
+
+        String logMsg = StringUtils.isEmpty(getAgentId())
+                ? String.format("Starting TestProject job %s under project %s using the default agent...", this.jobId, this.projectId)
+                : String.format("Starting TestProject job %s under project %s using agent %s...", this.jobId, this.projectId, this.agentId);
+        LogHelper.Info(logMsg);
+
+        executionId = executionHelper.triggerExecution(buildNumber);
+        executionHelper.waitForItemFinish(executionId);
     }
 
     @Extension
@@ -275,6 +294,21 @@ public class RunJob extends Builder implements SimpleBuildStep {
             return FormValidation.ok();
         }
 
+        public FormValidation doCheckReuseResultsMinutes(@QueryParameter int value) {
+            if (value < 0)
+                return FormValidation.error("The age of reused results cannot be negative (0 = Don't reuse)");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckFailFastThreshold(@QueryParameter int value) {
+
+            if (value < 0)
+                return FormValidation.error("Failed tests to abort the job cannot be negative (0 = Don't abort)");
+
+            return FormValidation.ok();
+        }
+
         public FormValidation doCheckExecutionParameters(@QueryParameter String value, @QueryParameter String agentId) {
 
             // Initial state where the user has just started to create the build step
@@ -321,38 +355,15 @@ public class RunJob extends Builder implements SimpleBuildStep {
         }
 
         public ListBoxModel doFillAgentIdItems() {
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
-            ApiResponse<AgentData[]> response = null;
-            try {
-                response = new ApiHelper(PluginConfiguration.getInstance().getApiKey()).Get(Constants.TP_RETURN_ACCOUNT_AGENTS, headers, AgentData[].class);
-
-                if (!response.isSuccessful()) {
-                    throw new AbortException(response.generateErrorMessage("Unable to fetch the agents list"));
-                }
-
-                ListBoxModel model = new ListBoxModel();
-                model.add("Select an agent to override job default", "");
-                for (AgentData agent : response.getData()) {
-                    if (agent.getOsType().equals("Unknown"))
-                        continue;
-
-                    model.add(agent.getAlias() + " (v" + agent.getVersion() + " on " + agent.getOsType() + ") [" + agent.getId() + "]",
-                            agent.getId());
-                }
-
-                return model;
-            } catch (Exception e) {
-                LogHelper.Error(e);
-            }
-
-            return null;
+            return DescriptorHelper.fillAgentIdItems(
+                    new ApiHelper(PluginConfiguration.getInstance().getApiKey()),
+                    "Select an agent to override job default");
         }
 
-        public ListBoxModel doFillJobIdItems(@QueryParameter String projectId) {
+        public ListBoxModel doFillJobIdItems(@QueryParameter String projectId, @QueryParameter String jobFilter,
+                                             @QueryParameter String jobId) {
             try {
-                return DescriptorHelper.fillJobIdItems(projectId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+                return DescriptorHelper.fillJobIdItems(projectId, jobFilter, jobId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
             } catch (Exception e) {
                 LogHelper.Error(e);
             }
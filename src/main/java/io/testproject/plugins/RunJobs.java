@@ -0,0 +1,293 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.Deadline;
+import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.TrackedExecution;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.steps.*;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several TestProject jobs with a limited number of concurrent executions.
+ * All executions are watched by the shared polling engine, so the step occupies a single Jenkins executor.
+ */
+public class RunJobs extends Step {
+
+    //region Private members
+    private List<JobEntry> jobs;
+    private int maxConcurrency;
+    private int waitSeconds;
+    private boolean failFast;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public RunJobs(List<JobEntry> jobs) {
+        this.jobs = jobs != null ? jobs : new ArrayList<>();
+        this.maxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+        this.waitSeconds = Constants.DEFAULT_EXECUTIONS_WAIT_TIME;
+        this.failFast = false;
+    }
+    //endregion
+
+    //region Setters & Getters
+    public List<JobEntry> getJobs() {
+        return jobs;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getWaitSeconds() {
+        return waitSeconds;
+    }
+
+    @DataBoundSetter
+    public void setWaitSeconds(int waitSeconds) {
+        this.waitSeconds = waitSeconds;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    @DataBoundSetter
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+    //endregion
+
+    @Override
+    public StepExecution start(StepContext stepContext) {
+        LogHelper.SetLogger(stepContext, PluginConfiguration.getInstance().isVerbose());
+        return new RunJobsExecution(this, stepContext);
+    }
+
+    /**
+     * Runs the jobs
+     * @param buildNumber The number of the Jenkins build that triggers the jobs
+     * @return The result of every job, in the order the jobs were provided
+     */
+    public List<Map<String, String>> runJobs(Object buildNumber) throws IOException, InterruptedException {
+        if (jobs.isEmpty())
+            throw new AbortException("At least one job must be provided");
+
+        for (JobEntry job : jobs) {
+            if (StringUtils.isEmpty(job.getProjectId()) || StringUtils.isEmpty(job.getJobId()))
+                throw new AbortException("The project id and job id of every job must be provided");
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        LogHelper.Info(String.format("Running %d TestProject jobs, up to %d at a time%s",
+                jobs.size(), getConcurrency(), failFast ? " (fail fast)" : ""));
+
+        ApiHelper apiHelper = new ApiHelper(PluginConfiguration.getInstance().getApiKey());
+        List<TrackedExecution> runs = new ArrayList<>();
+        for (JobEntry job : jobs)
+            runs.add(job.track(apiHelper));
+
+        runAll(runs, buildNumber, deadline);
+
+        List<Map<String, String>> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+
+        for (TrackedExecution run : runs) {
+            results.add(run.toResult());
+
+            if (!run.isPassed())
+                failures.add(run + ": " + run.getState());
+        }
+
+        LogHelper.Info(String.format("%d of %d TestProject jobs have passed", jobs.size() - failures.size(), jobs.size()));
+
+        if (!failures.isEmpty())
+            throw new AbortException("Some TestProject jobs did not pass: " + StringUtils.join(failures, ", "));
+
+        return results;
+    }
+
+    /**
+     * Triggers the executions, no more than the concurrency limit at a time, and waits for all of them to complete
+     * @param runs The executions to run, in the order they are triggered
+     * @param buildNumber The number of the Jenkins build that triggers the executions
+     * @param deadline When the executions must have finished (epoch milliseconds)
+     */
+    void runAll(List<TrackedExecution> runs, Object buildNumber, long deadline) throws IOException, InterruptedException {
+        int concurrency = getConcurrency();
+
+        BlockingQueue<TrackedExecution> completed = new LinkedBlockingQueue<>();
+        Set<TrackedExecution> running = new LinkedHashSet<>();
+        boolean failed = false;
+
+        try {
+            for (TrackedExecution run : runs) {
+                // Waiting for a free slot
+                while (running.size() >= concurrency && !(failed && failFast))
+                    failed |= !onCompleted(takeCompleted(completed, deadline, "jobs"), running);
+
+                if (failed && failFast)
+                    break;
+
+                if (!run.trigger(buildNumber, Deadline.at(deadline), () -> completed.add(run))) {
+                    failed = true;
+                    continue;
+                }
+
+                running.add(run);
+            }
+
+            if (failed && failFast)
+                abortAll(running);
+
+            while (!running.isEmpty()) {
+                if (!onCompleted(takeCompleted(completed, deadline, "jobs"), running) && failFast && !failed) {
+                    failed = true;
+                    abortAll(running);
+                }
+            }
+        } catch (InterruptedException | IOException | RuntimeException e) {
+            abortAll(running);
+            throw e;
+        }
+    }
+
+    private int getConcurrency() {
+        return maxConcurrency > 0 ? maxConcurrency : Constants.DEFAULT_MAX_CONCURRENCY;
+    }
+
+    /**
+     * Waits for the next execution to complete
+     * @param completed The queue the executions are added to when they complete
+     * @param deadline When to stop waiting (epoch milliseconds)
+     * @param items What is being executed, used in the error message
+     * @return The completed execution
+     */
+    static TrackedExecution takeCompleted(BlockingQueue<TrackedExecution> completed, long deadline, String items)
+            throws InterruptedException, AbortException {
+        TrackedExecution run = completed.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+
+        if (run == null)
+            throw new AbortException("The " + items + " did not finish within the defined time frame");
+
+        return run;
+    }
+
+    /**
+     * @return true if the execution has passed
+     */
+    static boolean onCompleted(TrackedExecution run, Set<TrackedExecution> running) {
+        running.remove(run);
+        run.complete();
+
+        return run.isPassed();
+    }
+
+    /**
+     * Aborts all the running executions and waits a bounded time for them to stop
+     */
+    static void abortAll(Collection<TrackedExecution> running) {
+        // The aborts must reach TestProject even when the build itself was interrupted
+        boolean interrupted = Thread.interrupted();
+
+        try {
+            List<TrackedExecution> aborted = new ArrayList<>();
+
+            for (TrackedExecution run : new ArrayList<>(running)) {
+                if (run.abort())
+                    aborted.add(run);
+            }
+
+            long deadline = System.currentTimeMillis() + Constants.ABORT_CONFIRM_TIMEOUT;
+            for (TrackedExecution run : aborted)
+                run.confirmAborted(deadline);
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class RunJobsExecution extends SynchronousNonBlockingStepExecution<List<Map<String, String>>> {
+        private final transient RunJobs step;
+        private static final long serialVersionUID = 1L;
+
+        protected RunJobsExecution(@Nonnull RunJobs step, @Nonnull StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected List<Map<String, String>> run() throws Exception {
+            try {
+                Run<?, ?> run = getContext().get(Run.class);
+                return step.runJobs(run != null ? run.getNumber() : "");
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new AbortException(e.getMessage());
+            }
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+        public static final int defaultMaxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+        public static final int defaultWaitSeconds = Constants.DEFAULT_EXECUTIONS_WAIT_TIME;
+
+        public DescriptorImpl() {}
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(TaskListener.class, Run.class));
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_JOBS_RUN_NAME;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return Constants.TP_JOBS_RUN_SYMBOL;
+        }
+
+        public FormValidation doCheckMaxConcurrency(@QueryParameter int value) {
+
+            if (value < 1)
+                return FormValidation.error("Concurrent jobs must be at least 1");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckWaitSeconds(@QueryParameter int value) {
+
+            if (value < 10)
+                return FormValidation.error("Wait for jobs to finish must be at least 10 seconds");
+
+            return FormValidation.ok();
+        }
+    }
+}
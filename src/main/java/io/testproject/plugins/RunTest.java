@@ -20,19 +20,18 @@ import io.testproject.helpers.*;
 import io.testproject.model.AgentBrowser;
 import io.testproject.model.AgentData;
 import io.testproject.model.AgentDevice;
-import io.testproject.model.ExecutionResponseData;
 import jenkins.tasks.SimpleBuildStep;
 import net.sf.json.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.HashMap;
 
 public class RunTest extends Builder implements SimpleBuildStep {
 
@@ -54,6 +53,9 @@ public class RunTest extends Builder implements SimpleBuildStep {
 
     private String browser;
     private String device;
+    private String fallbackAgents;
+    private boolean deduplicate;
+    private int reuseResultsMinutes;
 
     private @Nonnull
     String executionParameters;
@@ -127,6 +129,33 @@ public class RunTest extends Builder implements SimpleBuildStep {
     public void setDevice(String device) {
         this.device = device;
     }
+
+    public String getFallbackAgents() {
+        return fallbackAgents;
+    }
+
+    @DataBoundSetter
+    public void setFallbackAgents(String fallbackAgents) {
+        this.fallbackAgents = fallbackAgents;
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    @DataBoundSetter
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public int getReuseResultsMinutes() {
+        return reuseResultsMinutes;
+    }
+
+    @DataBoundSetter
+    public void setReuseResultsMinutes(int reuseResultsMinutes) {
+        this.reuseResultsMinutes = reuseResultsMinutes;
+    }
     //endregion
 
     //region Constructors
@@ -178,6 +207,8 @@ public class RunTest extends Builder implements SimpleBuildStep {
                 throw new AbortException("The agent id cannot be empty");
 
             triggerTest(run.getNumber(), filePath);
+        } catch (InterruptedException e) {
+            throw e;
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
@@ -196,6 +227,9 @@ public class RunTest extends Builder implements SimpleBuildStep {
                 getJunitResultsFile(),
                 filePath,
                 apiHelper);
+        executionHelper.setFallbackAgents(AgentAvailability.parse(getFallbackAgents()));
+        executionHelper.setDeduplicate(isDeduplicate());
+        executionHelper.setReuseResultsMinutes(getReuseResultsMinutes());
     }
 
     @Override
@@ -209,39 +243,12 @@ public class RunTest extends Builder implements SimpleBuildStep {
     }
 
     private void triggerTest(Object buildNumber, FilePath filePath) throws Exception {
-        try {
-            init(filePath);
-
-            LogHelper.Info(String.format("Starting TestProject test %s under project %s...", testId, projectId));
-
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.CI_NAME_HEADER, Constants.CI_NAME);
-            headers.put(Constants.CI_BUILD_HEADER, buildNumber);
-
-            ApiResponse<ExecutionResponseData> response = apiHelper.Post(
-                    String.format(Constants.TP_RUN_TEST_URL, projectId, testId),
-                    headers,
-                    null,
-                    executionHelper.generateRequestBody(),
-                    ExecutionResponseData.class);
+        init(filePath);
 
-            if (response.isSuccessful()) {
-                if (response.getData() != null) {
-                    ExecutionResponseData data = response.getData();
-                    executionId = data.getId();
-                    LogHelper.Info("Execution id: " + executionId);
+        LogHelper.Info(String.format("Starting TestProject test %s under project %s...", testId, projectId));
 
-                    executionHelper.waitForItemFinish(executionId);
-                }
-            } else {
-                throw new AbortException(response.generateErrorMessage("Unable to trigger TestProject test"));
-            }
-        } catch (InterruptedException ie) {
-            LogHelper.Error(ie);
-            if (executionId != null) {
-                executionHelper.abortExecution(executionId);
-            }
-        }
+        executionId = executionHelper.triggerExecution(buildNumber);
+        executionHelper.waitForItemFinish(executionId);
     }
 
     @Extension
@@ -300,6 +307,13 @@ public class RunTest extends Builder implements SimpleBuildStep {
             return FormValidation.ok();
         }
 
+        public FormValidation doCheckReuseResultsMinutes(@QueryParameter int value) {
+            if (value < 0)
+                return FormValidation.error("The age of reused results cannot be negative (0 = Don't reuse)");
+
+            return FormValidation.ok();
+        }
+
         public FormValidation doCheckExecutionParameters(@QueryParameter String value, @QueryParameter String agentId) {
             JsonObject executionParams = null;
             try {
@@ -341,38 +355,15 @@ public class RunTest extends Builder implements SimpleBuildStep {
         }
 
         public ListBoxModel doFillAgentIdItems() {
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
-            ApiResponse<AgentData[]> response = null;
-            try {
-                response = new ApiHelper(PluginConfiguration.getInstance().getApiKey()).Get(Constants.TP_RETURN_ACCOUNT_AGENTS, headers, AgentData[].class);
-
-                if (!response.isSuccessful()) {
-                    throw new AbortException(response.generateErrorMessage("Unable to fetch the agents list"));
-                }
-
-                ListBoxModel model = new ListBoxModel();
-                model.add("Select an agent that will execute the test", "");
-                for (AgentData agent : response.getData()) {
-                    if (agent.getOsType().equals("Unknown"))
-                        continue;
-
-                    model.add(agent.getAlias() + " (v" + agent.getVersion() + " on " + agent.getOsType() + ") [" + agent.getId() + "]",
-                            agent.getId());
-                }
-
-                return model;
-            } catch (Exception e) {
-                LogHelper.Error(e);
-            }
-
-            return null;
+            return DescriptorHelper.fillAgentIdItems(
+                    new ApiHelper(PluginConfiguration.getInstance().getApiKey()),
+                    "Select an agent that will execute the test");
         }
 
-        public ListBoxModel doFillTestIdItems(@QueryParameter String projectId) {
+        public ListBoxModel doFillTestIdItems(@QueryParameter String projectId, @QueryParameter String testFilter,
+                                             @QueryParameter String testId) {
             try {
-                return DescriptorHelper.fillTestIdItems(projectId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+                return DescriptorHelper.fillTestIdItems(projectId, testFilter, testId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
             } catch (Exception e) {
                 LogHelper.Error(e);
             }
@@ -393,12 +384,9 @@ public class RunTest extends Builder implements SimpleBuildStep {
                 return res;
             }
 
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
             ApiResponse<AgentBrowser[]> response = null;
             try {
-                response = new ApiHelper(PluginConfiguration.getInstance().getApiKey()).Get(String.format(Constants.TP_GET_AGENT_BROWSERS, agentId), headers, AgentBrowser[].class);
+                response = AgentInventory.getBrowsers(new ApiHelper(PluginConfiguration.getInstance().getApiKey()), agentId);
 
                 if (!response.isSuccessful()) {
                     throw new AbortException(response.generateErrorMessage("Unable to fetch the agent's browsers"));
@@ -431,12 +419,9 @@ public class RunTest extends Builder implements SimpleBuildStep {
                 return res;
             }
 
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
             ApiResponse<AgentDevice[]> response = null;
             try {
-                response = new ApiHelper(PluginConfiguration.getInstance().getApiKey()).Get(String.format(Constants.TP_GET_AGENT_DEVICES, agentId), headers, AgentDevice[].class);
+                response = AgentInventory.getDevices(new ApiHelper(PluginConfiguration.getInstance().getApiKey()), agentId);
 
                 if (!response.isSuccessful()) {
                     throw new AbortException(response.generateErrorMessage("Unable to fetch the agent's devices"));
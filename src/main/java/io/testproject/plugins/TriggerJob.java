@@ -0,0 +1,209 @@
+package io.testproject.plugins;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.testproject.constants.Constants;
+import io.testproject.constants.ExecutionType;
+import io.testproject.helpers.*;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.steps.*;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Triggers a TestProject job and returns an execution handle right away, without waiting for it to finish
+ */
+public class TriggerJob extends Step {
+
+    //region Private members
+    private String projectId;
+    private String jobId;
+    private String agentId;
+    private String executionParameters;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public TriggerJob(String projectId, String jobId) {
+        this.projectId = projectId;
+        this.jobId = jobId;
+        this.agentId = "";
+        this.executionParameters = "";
+    }
+    //endregion
+
+    //region Setters & Getters
+    public String getProjectId() {
+        return projectId;
+    }
+
+    @DataBoundSetter
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    @DataBoundSetter
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @DataBoundSetter
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    public String getExecutionParameters() {
+        return executionParameters;
+    }
+
+    @DataBoundSetter
+    public void setExecutionParameters(String executionParameters) {
+        this.executionParameters = executionParameters;
+    }
+    //endregion
+
+    @Override
+    public StepExecution start(StepContext stepContext) {
+        LogHelper.SetLogger(stepContext, PluginConfiguration.getInstance().isVerbose());
+        return new TriggerJobExecution(this, stepContext);
+    }
+
+    /**
+     * Triggers the job
+     * @param buildNumber The number of the Jenkins build that triggers the job
+     * @return The handle of the new execution
+     */
+    public String trigger(Object buildNumber) throws IOException {
+        if (StringUtils.isEmpty(projectId))
+            throw new AbortException("The project id cannot be empty");
+
+        if (StringUtils.isEmpty(jobId))
+            throw new AbortException("The job id cannot be empty");
+
+        LogHelper.Info(String.format("Triggering TestProject job %s under project %s...", jobId, projectId));
+
+        ExecutionHelper executionHelper = new ExecutionHelper(
+                projectId,
+                jobId,
+                agentId,
+                executionParameters,
+                0,
+                ExecutionType.JOB,
+                null,
+                null,
+                new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+
+        String executionId = executionHelper.triggerExecution(buildNumber);
+
+        return new ExecutionHandle(ExecutionType.JOB, executionHelper.getProjectId(), executionHelper.getItemId(), executionId).toString();
+    }
+
+    public static class TriggerJobExecution extends SynchronousNonBlockingStepExecution<String> {
+        private final transient TriggerJob step;
+        private static final long serialVersionUID = 1L;
+
+        protected TriggerJobExecution(@Nonnull TriggerJob step, @Nonnull StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected String run() throws AbortException {
+            try {
+                Run<?, ?> run = getContext().get(Run.class);
+                return step.trigger(run != null ? run.getNumber() : "");
+            } catch (Exception e) {
+                throw new AbortException(e.getMessage());
+            }
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+        public DescriptorImpl() {}
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(TaskListener.class, Run.class));
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_JOB_TRIGGER_NAME;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return Constants.TP_JOB_TRIGGER_SYMBOL;
+        }
+
+        public FormValidation doCheckProjectId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Project Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckJobId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Job Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckExecutionParameters(@QueryParameter String value) {
+            try {
+                SerializationHelper.fromJson(value, JsonObject.class);
+            } catch (JsonSyntaxException e) {
+                return FormValidation.error("Invalid JSON object");
+            }
+
+            return FormValidation.ok();
+        }
+
+        public ListBoxModel doFillProjectIdItems() {
+            try {
+                return DescriptorHelper.fillProjectIdItems(new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+            } catch (Exception e) {
+                LogHelper.Error(e);
+            }
+
+            return null;
+        }
+
+        public ListBoxModel doFillJobIdItems(@QueryParameter String projectId, @QueryParameter String jobFilter,
+                                             @QueryParameter String jobId) {
+            try {
+                return DescriptorHelper.fillJobIdItems(projectId, jobFilter, jobId, new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+            } catch (Exception e) {
+                LogHelper.Error(e);
+            }
+
+            return null;
+        }
+    }
+}
@@ -15,7 +15,6 @@ import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import io.testproject.constants.Constants;
 import io.testproject.helpers.*;
-import io.testproject.model.ApplicationData;
 import jenkins.model.GlobalConfiguration;
 import jenkins.tasks.SimpleBuildStep;
 import net.sf.json.JSONObject;
@@ -29,7 +28,6 @@ import org.kohsuke.stapler.StaplerRequest;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 public class UpdateApplicationFile extends Builder implements SimpleBuildStep {
 
@@ -111,16 +109,15 @@ public class UpdateApplicationFile extends Builder implements SimpleBuildStep {
             if (StringUtils.isEmpty(getAppId()))
                 throw new AbortException("The application id cannot be empty");
 
-            updateApplicationFile(filePath);
+            String projectId = NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId());
+            updateApplicationFile(projectId, NameResolver.resolve(apiHelper, NameResolver.Kind.APPLICATION, projectId, getAppId()), filePath);
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
     }
 
-    private void updateApplicationFile(FilePath fp) throws IOException, InterruptedException {
-        ArrayList<String> validExtensions = new ArrayList<String>();
-        validExtensions.add("apk");
-        validExtensions.add("ipa");
+    private void updateApplicationFile(String projectId, String appId, FilePath fp) throws IOException, InterruptedException {
+        ArrayList<String> validExtensions = new ArrayList<>(Constants.APP_FILE_EXTENSIONS);
 
         // Creating instance of FileUploadHelper
         FileUploadHelper helper = new FileUploadHelper(apiHelper, projectId, appId, filePath, Constants.TP_APP_FILE_SYMBOL, fp, validExtensions);
@@ -194,32 +191,11 @@ public class UpdateApplicationFile extends Builder implements SimpleBuildStep {
             return null;
         }
 
-        public ListBoxModel doFillAppIdItems(@QueryParameter String projectId) {
-            if (projectId.isEmpty()) {
-                return new ListBoxModel();
-            }
-
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
-            ApiResponse<ApplicationData[]> response = null;
+        public ListBoxModel doFillAppIdItems(@QueryParameter String projectId, @QueryParameter String applicationFilter,
+                                             @QueryParameter String appId) {
             try {
-                response = new ApiHelper(PluginConfiguration.getInstance().getApiKey()).Get(String.format(Constants.TP_RETURN_APP_FILE, projectId), headers, ApplicationData[].class);
-
-                if (!response.isSuccessful()) {
-                    throw new AbortException(response.generateErrorMessage("Unable to fetch the applications list"));
-                }
-
-                ListBoxModel model = new ListBoxModel();
-                model.add("Select an application", "");
-                for (ApplicationData application : response.getData()) {
-                    if (!application.getPlatform().equals("Web")) // only iOS & Android applications
-                        model.add(
-                                application.getPlatform() + ": " + application.getName() + " [" + application.getId() + "]",
-                                application.getId());
-                }
-
-                return model;
+                return DescriptorHelper.fillAppIdItems(projectId, applicationFilter, appId,
+                        new ApiHelper(PluginConfiguration.getInstance().getApiKey()), false);
             } catch (Exception e) {
                 LogHelper.Error(e);
             }
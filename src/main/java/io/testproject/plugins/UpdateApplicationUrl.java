@@ -27,7 +27,6 @@ import org.kohsuke.stapler.StaplerRequest;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
-import java.util.HashMap;
 
 public class UpdateApplicationUrl extends Builder implements SimpleBuildStep {
 
@@ -109,20 +108,21 @@ public class UpdateApplicationUrl extends Builder implements SimpleBuildStep {
             if (StringUtils.isEmpty(getAppId()))
                 throw new AbortException("The application id cannot be empty");
 
-            updateApplicationUrl();
+            String projectId = NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId());
+            updateApplicationUrl(projectId, NameResolver.resolve(apiHelper, NameResolver.Kind.APPLICATION, projectId, getAppId()));
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
     }
 
-    private void updateApplicationUrl() throws IOException {
+    private void updateApplicationUrl(String projectId, String appId) throws IOException {
         LogHelper.Info(String.format("Updating application '%s' in project '%s' to URL '%s'",
-                getAppId(), getProjectId(), getApplicationUrl()));
+                appId, projectId, getApplicationUrl()));
 
         ApplicationData body = new ApplicationData(getApplicationUrl());
 
         ApiResponse<ApplicationData> response = apiHelper.Put(
-                String.format(Constants.TP_UPDATE_APP_URL, getProjectId(), getAppId()),
+                String.format(Constants.TP_UPDATE_APP_URL, projectId, appId),
                 null,
                 null,
                 body,
@@ -132,8 +132,10 @@ public class UpdateApplicationUrl extends Builder implements SimpleBuildStep {
             throw new AbortException(response.generateErrorMessage("Unable to update the application URL"));
         }
 
+        // The URL is the content of a web application
+        ArtifactDigests.record(apiHelper, projectId, appId, getApplicationUrl());
         LogHelper.Info(String.format("Successfully updated the application '%s' in project '%s' to URL: '%s'",
-                getAppId(), getProjectId(), getApplicationUrl()));
+                appId, projectId, getApplicationUrl()));
     }
 
     @Override
@@ -201,32 +203,11 @@ public class UpdateApplicationUrl extends Builder implements SimpleBuildStep {
             return null;
         }
 
-        public ListBoxModel doFillAppIdItems(@QueryParameter String projectId) {
-            if (projectId.isEmpty()) {
-                return new ListBoxModel();
-            }
-
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
-
-            ApiResponse<ApplicationData[]> response = null;
+        public ListBoxModel doFillAppIdItems(@QueryParameter String projectId, @QueryParameter String applicationFilter,
+                                             @QueryParameter String appId) {
             try {
-                response = new ApiHelper(PluginConfiguration.getInstance().getApiKey()).Get(String.format(Constants.TP_RETURN_APP_FILE, projectId), headers, ApplicationData[].class);
-
-                if (!response.isSuccessful()) {
-                    throw new AbortException(response.generateErrorMessage("Unable to fetch the applications list"));
-                }
-
-                ListBoxModel model = new ListBoxModel();
-                model.add("Select an application", "");
-                for (ApplicationData application : response.getData()) {
-                    if (application.getPlatform().equals("Web")) // only web applications
-                        model.add(
-                                application.getName() + " [" + application.getId() + "]",
-                                application.getId());
-                }
-
-                return model;
+                return DescriptorHelper.fillAppIdItems(projectId, applicationFilter, appId,
+                        new ApiHelper(PluginConfiguration.getInstance().getApiKey()), true);
             } catch (Exception e) {
                 LogHelper.Error(e);
             }
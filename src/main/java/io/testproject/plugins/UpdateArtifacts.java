@@ -0,0 +1,247 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.AbstractProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.tasks.BuildStepDescriptor;
+import hudson.tasks.BuildStepMonitor;
+import hudson.tasks.Builder;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.DescriptorHelper;
+import io.testproject.helpers.ExecutorProvider;
+import io.testproject.helpers.FileUploadHelper;
+import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.NameResolver;
+import jenkins.tasks.SimpleBuildStep;
+import net.sf.json.JSONObject;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class UpdateArtifacts extends Builder implements SimpleBuildStep {
+
+    //region Private members
+    private ApiHelper apiHelper;
+
+    private @Nonnull
+    String projectId;
+
+    private @Nonnull
+    List<ArtifactFile> artifacts;
+
+    private int maxConcurrency;
+    //endregion
+
+    //region Setters & Getters
+    @Nonnull
+    public String getProjectId() {
+        return projectId;
+    }
+
+    @DataBoundSetter
+    public void setProjectId(@Nonnull String projectId) {
+        this.projectId = projectId;
+    }
+
+    @Nonnull
+    public List<ArtifactFile> getArtifacts() {
+        return artifacts;
+    }
+
+    @DataBoundSetter
+    public void setArtifacts(List<ArtifactFile> artifacts) {
+        this.artifacts = artifacts != null ? artifacts : new ArrayList<>();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    //endregion
+
+    //region Constructors
+    public UpdateArtifacts() {
+        this.projectId = "";
+        this.artifacts = new ArrayList<>();
+        this.maxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+    }
+
+    @DataBoundConstructor
+    public UpdateArtifacts(@Nonnull String projectId, List<ArtifactFile> artifacts) {
+        this.projectId = projectId;
+        this.artifacts = artifacts != null ? artifacts : new ArrayList<>();
+        this.maxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+    }
+    //endregion
+
+    @Override
+    public BuildStepMonitor getRequiredMonitorService() {
+        return BuildStepMonitor.NONE;
+    }
+
+    @Override
+    public void perform(@Nonnull Run<?, ?> run, @Nonnull FilePath filePath, @Nonnull Launcher launcher, @Nonnull TaskListener taskListener) throws InterruptedException, IOException {
+        try {
+            PluginConfiguration config = PluginConfiguration.getInstance();
+            this.apiHelper = new ApiHelper(config.getApiKey());
+            LogHelper.SetLogger(taskListener.getLogger(), config.isVerbose());
+
+            if (StringUtils.isEmpty(getProjectId()))
+                throw new AbortException("The project id cannot be empty");
+
+            if (getArtifacts().isEmpty())
+                throw new AbortException("At least one application or data source must be provided");
+
+            for (ArtifactFile artifact : getArtifacts()) {
+                if (StringUtils.isEmpty(artifact.getArtifactId()))
+                    throw new AbortException("The application/data source id cannot be empty");
+
+                // Rejects unknown types before any of the artifacts is uploaded
+                artifact.isApplication();
+
+                if (StringUtils.isEmpty(artifact.getFilePath()))
+                    throw new AbortException(String.format("The file path of %s cannot be empty", artifact));
+            }
+
+            updateArtifacts(apiHelper, NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId()), filePath);
+        } catch (Exception e) {
+            throw new AbortException(e.getMessage());
+        }
+    }
+
+    /**
+     * Updates every artifact, a failed artifact does not stop the others
+     * @param apiHelper An instance of ApiHelper
+     * @param projectId The ID of the project
+     * @param fp The workspace the file paths are relative to
+     */
+    void updateArtifacts(ApiHelper apiHelper, String projectId, FilePath fp) throws IOException, InterruptedException {
+        LogHelper.Info(String.format("Updating %d applications/data sources in project '%s'", getArtifacts().size(), projectId));
+
+        int threads = Math.max(1, Math.min(getArtifacts().size(), getMaxConcurrency() > 0 ? getMaxConcurrency() : Constants.DEFAULT_MAX_CONCURRENCY));
+        ExecutorService executor = ExecutorProvider.newExecutor("TestProject artifact update", threads);
+        long start = System.currentTimeMillis();
+
+        try {
+            // Each artifact requests its own upload link, uploads and confirms independently of the others
+            Map<ArtifactFile, Future<Long>> updates = new LinkedHashMap<>();
+            for (ArtifactFile artifact : getArtifacts()) {
+                updates.put(artifact, executor.submit(() -> {
+                    long artifactStart = System.currentTimeMillis();
+
+                    new FileUploadHelper(
+                            apiHelper,
+                            projectId,
+                            NameResolver.resolve(apiHelper, artifact.isApplication() ? NameResolver.Kind.APPLICATION : NameResolver.Kind.DATA_SOURCE,
+                                    projectId, artifact.getArtifactId()),
+                            artifact.getFilePath(),
+                            artifact.getActionName(),
+                            fp,
+                            artifact.getValidExtensions()).updateFile();
+
+                    return System.currentTimeMillis() - artifactStart;
+                }));
+            }
+
+            List<String> failed = new ArrayList<>();
+            for (Map.Entry<ArtifactFile, Future<Long>> update : updates.entrySet()) {
+                try {
+                    long elapsed = update.getValue().get();
+                    LogHelper.Info(String.format("Updated %s with file '%s' in %d ms", update.getKey(), update.getKey().getFilePath(), elapsed));
+                } catch (ExecutionException e) {
+                    LogHelper.Info(String.format("Failed to update %s: %s", update.getKey(), e.getCause().getMessage()));
+                    failed.add(update.getKey().toString());
+                }
+            }
+
+            if (!failed.isEmpty())
+                throw new AbortException("Failed to update: " + StringUtils.join(failed, ", "));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LogHelper.Info(String.format("Successfully updated %d applications/data sources in %d ms",
+                getArtifacts().size(), System.currentTimeMillis() - start));
+    }
+
+    @Override
+    public DescriptorImpl getDescriptor() {
+        return (DescriptorImpl) super.getDescriptor();
+    }
+
+    @Extension
+    @Symbol(Constants.TP_ARTIFACTS_SYMBOL)
+    public static class DescriptorImpl extends BuildStepDescriptor<Builder> {
+        public static final int defaultMaxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+
+        public DescriptorImpl() {
+            load();
+        }
+
+        @Override
+        public boolean configure(StaplerRequest req, JSONObject formData) throws FormException {
+            req.bindJSON(this, formData);
+            save();
+
+            return super.configure(req, formData);
+        }
+
+        @Override
+        public boolean isApplicable(@SuppressWarnings("rawtypes") Class<? extends AbstractProject> jobType) {
+            return true;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_ARTIFACTS_NAME;
+        }
+
+        public FormValidation doCheckProjectId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Project Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckMaxConcurrency(@QueryParameter int value) {
+
+            if (value < 1)
+                return FormValidation.error("Concurrent updates must be at least 1");
+
+            return FormValidation.ok();
+        }
+
+        public ListBoxModel doFillProjectIdItems() {
+            try {
+                return DescriptorHelper.fillProjectIdItems(new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+            } catch (Exception e) {
+                LogHelper.Error(e);
+            }
+
+            return null;
+        }
+    }
+}
@@ -27,7 +27,7 @@ import org.kohsuke.stapler.StaplerRequest;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Map;
 
 public class UpdateDataSourceFile extends Builder implements SimpleBuildStep {
 
@@ -109,16 +109,16 @@ public class UpdateDataSourceFile extends Builder implements SimpleBuildStep {
             if (StringUtils.isEmpty(getDataSourceId()))
                 throw new AbortException("The data source id cannot be empty");
 
-            updateDataSourceFile(filePath);
+            String projectId = NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId());
+            updateDataSourceFile(projectId, NameResolver.resolve(apiHelper, NameResolver.Kind.DATA_SOURCE, projectId, getDataSourceId()), filePath);
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
     }
 
-    private void updateDataSourceFile(FilePath fp) throws IOException, InterruptedException {
+    private void updateDataSourceFile(String projectId, String dataSourceId, FilePath fp) throws IOException, InterruptedException {
         // Create a list of allowed file formats
-        ArrayList<String> validExtensions = new ArrayList<String>();
-        validExtensions.add("csv");
+        ArrayList<String> validExtensions = new ArrayList<>(Constants.DATA_SOURCE_FILE_EXTENSIONS);
 
         // Creating instance of FileUploadHelper
         FileUploadHelper helper = new FileUploadHelper(apiHelper, projectId, dataSourceId, filePath, Constants.TP_DATA_SOURCE_SYMBOL, fp, validExtensions);
@@ -197,8 +197,7 @@ public class UpdateDataSourceFile extends Builder implements SimpleBuildStep {
                 return new ListBoxModel();
             }
 
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
+            Map<String, Object> headers = ApiHelper.JSON_HEADERS;
 
             ApiResponse<DataSourceData[]> response = null;
             try {
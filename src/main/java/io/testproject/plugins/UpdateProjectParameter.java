@@ -18,6 +18,7 @@ import io.testproject.helpers.ApiHelper;
 import io.testproject.helpers.ApiResponse;
 import io.testproject.helpers.DescriptorHelper;
 import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.NameResolver;
 import io.testproject.model.ProjectParameterData;
 import jenkins.tasks.SimpleBuildStep;
 import net.sf.json.JSONObject;
@@ -30,7 +31,7 @@ import org.kohsuke.stapler.StaplerRequest;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Map;
 
 public class UpdateProjectParameter extends Builder implements SimpleBuildStep {
 
@@ -115,20 +116,21 @@ public class UpdateProjectParameter extends Builder implements SimpleBuildStep {
             if (StringUtils.isEmpty(getParameterValue()))
                 throw new AbortException("The parameter value cannot be empty");
 
-            updateProjectParameter();
+            String projectId = NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId());
+            updateProjectParameter(projectId, NameResolver.resolve(apiHelper, NameResolver.Kind.PARAMETER, projectId, getParameterId()));
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
     }
 
-    private void updateProjectParameter() throws IOException {
+    private void updateProjectParameter(String projectId, String parameterId) throws IOException {
         LogHelper.Info(String.format("Updating project parameter '%s' in project '%s' --> value: '%s'",
-                getParameterId(), getProjectId(), getParameterValue()));
+                parameterId, projectId, getParameterValue()));
 
         ProjectParameterData body = new ProjectParameterData(getParameterValue());
 
         ApiResponse<ProjectParameterData> response = apiHelper.Put(
-                String.format(Constants.TP_UPDATE_PROJECT_PARAMETERS, getProjectId(), getParameterId()),
+                String.format(Constants.TP_UPDATE_PROJECT_PARAMETERS, projectId, parameterId),
                 null,
                 null,
                 body,
@@ -139,7 +141,7 @@ public class UpdateProjectParameter extends Builder implements SimpleBuildStep {
         }
 
         LogHelper.Info(String.format("Successfully updated project parameter '%s' in project '%s' to value: '%s'",
-                getParameterId(), getProjectId(), getParameterValue()));
+                parameterId, projectId, getParameterValue()));
     }
 
     @Override
@@ -212,8 +214,7 @@ public class UpdateProjectParameter extends Builder implements SimpleBuildStep {
                 return new ListBoxModel();
             }
 
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
+            Map<String, Object> headers = ApiHelper.JSON_HEADERS;
 
             ApiResponse<ProjectParameterData[]> response = null;
             try {
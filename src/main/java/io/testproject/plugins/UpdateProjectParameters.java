@@ -0,0 +1,327 @@
+package io.testproject.plugins;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.AbstractProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.tasks.BuildStepDescriptor;
+import hudson.tasks.BuildStepMonitor;
+import hudson.tasks.Builder;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.ApiResponse;
+import io.testproject.helpers.DescriptorHelper;
+import io.testproject.helpers.ExecutorProvider;
+import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.NameResolver;
+import io.testproject.helpers.SerializationHelper;
+import io.testproject.model.ProjectParameterData;
+import jenkins.tasks.SimpleBuildStep;
+import net.sf.json.JSONObject;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class UpdateProjectParameters extends Builder implements SimpleBuildStep {
+
+    //region Private members
+    private ApiHelper apiHelper;
+
+    private @Nonnull
+    String projectId;
+
+    private @Nonnull
+    String parameters;
+
+    private int maxConcurrency;
+    //endregion
+
+    //region Setters & Getters
+    @Nonnull
+    public String getProjectId() {
+        return projectId;
+    }
+
+    @DataBoundSetter
+    public void setProjectId(@Nonnull String projectId) {
+        this.projectId = projectId;
+    }
+
+    @Nonnull
+    public String getParameters() {
+        return parameters;
+    }
+
+    @DataBoundSetter
+    public void setParameters(@Nonnull String parameters) {
+        this.parameters = parameters;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    //endregion
+
+    //region Constructors
+    public UpdateProjectParameters() {
+        this.projectId = "";
+        this.parameters = "";
+        this.maxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+    }
+
+    @DataBoundConstructor
+    public UpdateProjectParameters(@Nonnull String projectId, @Nonnull String parameters) {
+        this.projectId = projectId;
+        this.parameters = parameters;
+        this.maxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+    }
+    //endregion
+
+    @Override
+    public BuildStepMonitor getRequiredMonitorService() {
+        return BuildStepMonitor.NONE;
+    }
+
+    @Override
+    public void perform(@Nonnull Run<?, ?> run, @Nonnull FilePath filePath, @Nonnull Launcher launcher, @Nonnull TaskListener taskListener) throws AbortException {
+        try {
+            PluginConfiguration config = PluginConfiguration.getInstance();
+            this.apiHelper = new ApiHelper(config.getApiKey());
+            LogHelper.SetLogger(taskListener.getLogger(), config.isVerbose());
+
+            if (StringUtils.isEmpty(getProjectId()))
+                throw new AbortException("The project id cannot be empty");
+
+            Map<String, String> values = parseParameters(getParameters());
+
+            if (values.isEmpty())
+                throw new AbortException("The project parameters cannot be empty");
+
+            updateProjectParameters(apiHelper, NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId()), values);
+        } catch (Exception e) {
+            throw new AbortException(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a JSON object of parameter names/IDs and their new values
+     * @param parameters The JSON object to parse
+     * @return Parameter names/IDs mapped to their new values, in the order they were provided
+     */
+    static Map<String, String> parseParameters(String parameters) throws AbortException {
+        Map<String, String> values = new LinkedHashMap<>();
+
+        JsonObject json;
+        try {
+            json = SerializationHelper.fromJson(parameters, JsonObject.class);
+        } catch (JsonSyntaxException e) {
+            throw new AbortException("The project parameters must be a valid JSON object: " + e.getMessage());
+        }
+
+        if (json == null)
+            return values;
+
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            JsonElement value = entry.getValue();
+
+            // Would otherwise be sent as the string "null"
+            if (value.isJsonNull())
+                throw new AbortException(String.format("The value of project parameter '%s' cannot be null, use \"\" for an empty value", entry.getKey()));
+
+            values.put(entry.getKey(), value.isJsonPrimitive() ? value.getAsString() : value.toString());
+        }
+
+        return values;
+    }
+
+    /**
+     * Updates the parameters whose values have changed, the others are not sent
+     * @param apiHelper An instance of ApiHelper
+     * @param projectId The ID of the project
+     * @param values Parameter names/IDs mapped to their new values
+     */
+    void updateProjectParameters(ApiHelper apiHelper, String projectId, Map<String, String> values) throws IOException, InterruptedException {
+        LogHelper.Info(String.format("Updating %d project parameters in project '%s'", values.size(), projectId));
+
+        // Fetching all the parameters once, both to resolve names and to skip values that are already up to date
+        ApiResponse<ProjectParameterData[]> response = apiHelper.Get(
+                String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, projectId),
+                ApiHelper.JSON_HEADERS,
+                ProjectParameterData[].class);
+
+        if (!response.isSuccessful() || response.getData() == null) {
+            throw new AbortException(response.generateErrorMessage("Unable to fetch the project parameters list"));
+        }
+
+        Map<String, ProjectParameterData> byId = new HashMap<>();
+        Map<String, ProjectParameterData> byName = new HashMap<>();
+        for (ProjectParameterData parameter : response.getData()) {
+            byId.put(parameter.getId(), parameter);
+            byName.putIfAbsent(parameter.getName(), parameter);
+        }
+
+        Map<ProjectParameterData, String> changed = new LinkedHashMap<>();
+        List<String> unknown = new ArrayList<>();
+
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            ProjectParameterData parameter = byId.containsKey(entry.getKey())
+                    ? byId.get(entry.getKey())
+                    : byName.get(entry.getKey());
+
+            if (parameter == null) {
+                unknown.add(entry.getKey());
+            } else if (StringUtils.equals(parameter.getValue(), entry.getValue())) {
+                LogHelper.Info(String.format("Project parameter '%s' is already set to '%s', skipping", parameter.getName(), entry.getValue()));
+            } else {
+                changed.put(parameter, entry.getValue());
+            }
+        }
+
+        if (!unknown.isEmpty())
+            throw new AbortException(String.format("Unknown project parameters in project '%s': %s", projectId, unknown));
+
+        if (changed.isEmpty()) {
+            LogHelper.Info("All project parameters are already up to date");
+            return;
+        }
+
+        int threads = Math.max(1, Math.min(changed.size(), getMaxConcurrency() > 0 ? getMaxConcurrency() : Constants.DEFAULT_MAX_CONCURRENCY));
+        ExecutorService executor = ExecutorProvider.newExecutor("TestProject parameter update", threads);
+
+        try {
+            Map<ProjectParameterData, Future<ApiResponse<ProjectParameterData>>> updates = new LinkedHashMap<>();
+            for (Map.Entry<ProjectParameterData, String> entry : changed.entrySet()) {
+                updates.put(entry.getKey(), executor.submit(() -> apiHelper.Put(
+                        String.format(Constants.TP_UPDATE_PROJECT_PARAMETERS, projectId, entry.getKey().getId()),
+                        null,
+                        null,
+                        new ProjectParameterData(entry.getValue()),
+                        ProjectParameterData.class)));
+            }
+
+            List<String> failed = new ArrayList<>();
+            for (Map.Entry<ProjectParameterData, Future<ApiResponse<ProjectParameterData>>> update : updates.entrySet()) {
+                String name = update.getKey().getName();
+                try {
+                    ApiResponse<ProjectParameterData> result = update.getValue().get();
+
+                    if (result.isSuccessful()) {
+                        LogHelper.Info(String.format("Successfully updated project parameter '%s' to value: '%s'", name, changed.get(update.getKey())));
+                    } else {
+                        LogHelper.Info(result.generateErrorMessage(String.format("Unable to update the project parameter '%s'", name)));
+                        failed.add(name);
+                    }
+                } catch (ExecutionException e) {
+                    LogHelper.Info(String.format("Unable to update the project parameter '%s': %s", name, e.getCause().getMessage()));
+                    failed.add(name);
+                }
+            }
+
+            if (!failed.isEmpty())
+                throw new AbortException("Unable to update the project parameters: " + failed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LogHelper.Info(String.format("Successfully updated %d project parameters in project '%s' (%d already up to date)",
+                changed.size(), projectId, values.size() - changed.size()));
+    }
+
+    @Override
+    public DescriptorImpl getDescriptor() {
+        return (DescriptorImpl) super.getDescriptor();
+    }
+
+    @Extension
+    @Symbol(Constants.TP_PROJ_PARAMS_SYMBOL)
+    public static class DescriptorImpl extends BuildStepDescriptor<Builder> {
+        public static final int defaultMaxConcurrency = Constants.DEFAULT_MAX_CONCURRENCY;
+
+        public DescriptorImpl() {
+            load();
+        }
+
+        @Override
+        public boolean configure(StaplerRequest req, JSONObject formData) throws FormException {
+            req.bindJSON(this, formData);
+            save();
+
+            return super.configure(req, formData);
+        }
+
+        @Override
+        public boolean isApplicable(@SuppressWarnings("rawtypes") Class<? extends AbstractProject> jobType) {
+            return true;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_PROJ_PARAMS_NAME;
+        }
+
+        public FormValidation doCheckProjectId(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Project Id cannot be empty");
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckParameters(@QueryParameter String value) {
+
+            if (value.isEmpty())
+                return FormValidation.error("Parameters cannot be empty");
+
+            try {
+                if (parseParameters(value).isEmpty())
+                    return FormValidation.error("Parameters cannot be empty");
+            } catch (AbortException e) {
+                return FormValidation.error("Invalid JSON object");
+            }
+
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckMaxConcurrency(@QueryParameter int value) {
+
+            if (value < 1)
+                return FormValidation.error("Concurrent updates must be at least 1");
+
+            return FormValidation.ok();
+        }
+
+        public ListBoxModel doFillProjectIdItems() {
+            try {
+                return DescriptorHelper.fillProjectIdItems(new ApiHelper(PluginConfiguration.getInstance().getApiKey()));
+            } catch (Exception e) {
+                LogHelper.Error(e);
+            }
+
+            return null;
+        }
+    }
+}
@@ -124,15 +124,16 @@ public class UpdateTestPackage extends Builder implements SimpleBuildStep {
             if (StringUtils.isEmpty(getTestPackageId()))
                 throw new AbortException("The test package id cannot be empty");
 
-            updateTestPackage(filePath);
+            String projectId = NameResolver.resolve(apiHelper, NameResolver.Kind.PROJECT, null, getProjectId());
+            updateTestPackage(projectId, NameResolver.resolve(apiHelper, NameResolver.Kind.TEST_PACKAGE, projectId, getTestPackageId()), filePath);
         } catch (Exception e) {
             throw new AbortException(e.getMessage());
         }
     }
 
-    private void updateTestPackage(FilePath fp) throws IOException, InterruptedException {
+    private void updateTestPackage(String projectId, String testPackageId, FilePath fp) throws IOException, InterruptedException {
         LogHelper.Info(String.format("Updating test package '%s' in project '%s' with file '%s'",
-                getTestPackageId(), getProjectId(), getFilePath()));
+                testPackageId, projectId, getFilePath()));
 
         File testPackageFile = getTestPackageFile(fp);
 
@@ -143,19 +144,23 @@ public class UpdateTestPackage extends Builder implements SimpleBuildStep {
         queries.put(Constants.RESOLVE_CONFLICTS, isResolveConflicts());
         queries.put(Constants.FILE_NAME, testPackageFile.getName());
 
-        ApiResponse<ProjectParameterData> response = apiHelper.Post(
-                String.format(Constants.TP_UPDATE_TEST_PACKAGE, getProjectId(), getTestPackageId()),
-                headers,
-                queries,
-                testPackageFile,
-                ProjectParameterData.class);
+        // The digest of the package is computed while it is uploaded
+        try (FileBody body = new FileBody(testPackageFile)) {
+            ApiResponse<ProjectParameterData> response = apiHelper.Post(
+                    String.format(Constants.TP_UPDATE_TEST_PACKAGE, projectId, testPackageId),
+                    headers,
+                    queries,
+                    body,
+                    ProjectParameterData.class);
+
+            if (response == null || !response.isSuccessful()) {
+                throw new AbortException(response.generateErrorMessage("Unable to update the test package"));
+            }
 
-        if (response == null || !response.isSuccessful()) {
-            throw new AbortException(response.generateErrorMessage("Unable to update the test package"));
+            ArtifactDigests.record(apiHelper, projectId, testPackageId, body.getDigest());
+            LogHelper.Info(String.format("Successfully updated test package '%s' in project '%s' to file '%s' (SHA-256: %s)",
+                    testPackageId, projectId, getFilePath(), body.getDigest()));
         }
-
-        LogHelper.Info(String.format("Successfully updated test package '%s' in project '%s' to file '%s'",
-                getTestPackageId(), getProjectId(), getFilePath()));
     }
 
     private File getTestPackageFile(FilePath fp) throws IOException, InterruptedException {
@@ -241,8 +246,7 @@ public class UpdateTestPackage extends Builder implements SimpleBuildStep {
                 return new ListBoxModel();
             }
 
-            HashMap<String, Object> headers = new HashMap<>();
-            headers.put(Constants.ACCEPT, Constants.APPLICATION_JSON);
+            Map<String, Object> headers = ApiHelper.JSON_HEADERS;
 
             ApiResponse<TestPackageData[]> response = null;
             try {
@@ -0,0 +1,306 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.*;
+import io.testproject.model.ExecutionStateResponseData;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.workflow.steps.*;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Waits for one or more executions that were started by a trigger step
+ */
+public class WaitForExecutions extends Step {
+
+    //region Private members
+    private List<String> handles;
+    private String mode;
+    private int waitSeconds;
+    //endregion
+
+    //region Constructors
+    @DataBoundConstructor
+    public WaitForExecutions(List<String> handles) {
+        this.handles = handles != null ? handles : new ArrayList<>();
+        this.mode = Constants.WAIT_MODE_ALL;
+        this.waitSeconds = Constants.DEFAULT_EXECUTIONS_WAIT_TIME;
+    }
+    //endregion
+
+    //region Setters & Getters
+    public List<String> getHandles() {
+        return handles;
+    }
+
+    /**
+     * @return The handles one per line, as they are shown in the configuration form
+     */
+    public String getHandlesText() {
+        return String.join("\n", handles);
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    @DataBoundSetter
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public int getWaitSeconds() {
+        return waitSeconds;
+    }
+
+    @DataBoundSetter
+    public void setWaitSeconds(int waitSeconds) {
+        this.waitSeconds = waitSeconds;
+    }
+    //endregion
+
+    @Override
+    public StepExecution start(StepContext stepContext) {
+        LogHelper.SetLogger(stepContext, PluginConfiguration.getInstance().isVerbose());
+        return new WaitForExecutionsExecution(this, stepContext);
+    }
+
+    /**
+     * Waits for the executions
+     * @return The final state of each execution that has finished, by handle
+     */
+    public Map<String, String> await() throws IOException, InterruptedException {
+        if (handles.isEmpty())
+            throw new AbortException("At least one execution handle must be provided");
+
+        if (waitSeconds < 10)
+            throw new AbortException("Wait for executions to finish must be at least 10 seconds");
+
+        boolean any = Constants.WAIT_MODE_ANY.equalsIgnoreCase(mode);
+        if (!any && !Constants.WAIT_MODE_ALL.equalsIgnoreCase(mode))
+            throw new AbortException(String.format("Invalid wait mode '%s', expected '%s' or '%s'", mode, Constants.WAIT_MODE_ALL, Constants.WAIT_MODE_ANY));
+
+        ApiHelper apiHelper = new ApiHelper(PluginConfiguration.getInstance().getApiKey());
+        Deadline deadline = Deadline.after(waitSeconds, TimeUnit.SECONDS);
+        Map<ExecutionHandle, CompletableFuture<ExecutionStateResponseData>> watches = new LinkedHashMap<>();
+        Map<ExecutionHandle, ExecutionHelper> helpers = new HashMap<>();
+
+        for (String handle : handles) {
+            ExecutionHandle executionHandle = ExecutionHandle.parse(handle);
+            ExecutionHelper executionHelper = new ExecutionHelper(
+                    executionHandle.getProjectId(),
+                    executionHandle.getItemId(),
+                    null,
+                    null,
+                    waitSeconds,
+                    executionHandle.getType(),
+                    null,
+                    null,
+                    apiHelper);
+
+            watches.put(executionHandle, executionHelper.watchExecution(executionHandle.getExecutionId(), deadline));
+            helpers.put(executionHandle, executionHelper);
+        }
+
+        return awaitWatches(watches, any, TimeUnit.SECONDS.toMillis(waitSeconds), unfinished -> {
+            long abortStarted = System.currentTimeMillis();
+            for (ExecutionHandle handle : unfinished)
+                helpers.get(handle).abortExecution(handle.getExecutionId());
+
+            long abortDeadline = abortStarted + Constants.ABORT_CONFIRM_TIMEOUT;
+            for (ExecutionHandle handle : unfinished)
+                helpers.get(handle).confirmAborted(handle.getExecutionId(), abortStarted, abortDeadline);
+        });
+    }
+
+    /**
+     * Waits for all or any of the watched executions, and aborts the unfinished ones when the wait fails
+     * @param watches The watch of each execution
+     * @param any true to wait for the first execution to finish, false to wait for all of them
+     * @param timeout How long to wait, in milliseconds
+     * @param abort Aborts the executions that have not finished
+     * @return The final state of each execution that has finished, by handle
+     */
+    static Map<String, String> awaitWatches(Map<ExecutionHandle, CompletableFuture<ExecutionStateResponseData>> watches,
+                                            boolean any, long timeout, Consumer<List<ExecutionHandle>> abort)
+            throws IOException, InterruptedException {
+        LogHelper.Info(String.format("Waiting up to %d seconds for %s of %d executions to finish",
+                TimeUnit.MILLISECONDS.toSeconds(timeout), any ? "any" : "all", watches.size()));
+
+        CompletableFuture<Object> completion = new CompletableFuture<>();
+        (any ? CompletableFuture.anyOf(watches.values().toArray(new CompletableFuture[0]))
+                : CompletableFuture.allOf(watches.values().toArray(new CompletableFuture[0])))
+                .whenComplete((result, e) -> complete(completion, e));
+
+        // A failed watch ends the wait right away, allOf would only report it once all the others have finished
+        for (CompletableFuture<ExecutionStateResponseData> watch : watches.values())
+            watch.whenComplete((state, e) -> {
+                if (e != null)
+                    complete(completion, e);
+            });
+
+        try {
+            completion.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abortUnfinished(watches, abort);
+            throw new AbortException("The executions did not finish within the defined time frame");
+        } catch (InterruptedException e) {
+            LogHelper.Info("The build was cancelled");
+            abortUnfinished(watches, abort);
+            throw e;
+        } catch (ExecutionException e) {
+            abortUnfinished(watches, abort);
+            throw new AbortException("Unable to get execution state: " + e.getCause().getMessage());
+        } finally {
+            for (CompletableFuture<ExecutionStateResponseData> watch : watches.values())
+                watch.cancel(false);
+        }
+
+        Map<String, String> results = new LinkedHashMap<>();
+        List<String> failed = new ArrayList<>();
+
+        for (Map.Entry<ExecutionHandle, CompletableFuture<ExecutionStateResponseData>> watch : watches.entrySet()) {
+            if (!watch.getValue().isDone() || watch.getValue().isCompletedExceptionally())
+                continue;
+
+            ExecutionStateResponseData state = watch.getValue().join();
+            String executionId = watch.getKey().getExecutionId();
+            results.put(watch.getKey().toString(), String.valueOf(state.getState()));
+
+            LogHelper.Info(String.format("Execution %s has finished - state: %s%s", executionId, state.getState(),
+                    state.getReport() != null && !state.getReport().isEmpty() ? " (report: " + state.getReport() + ")" : ""));
+
+            if (state.hasFinishedWithErrors())
+                failed.add(executionId);
+        }
+
+        if (!failed.isEmpty())
+            throw new AbortException("The following executions have finished with errors: " + failed);
+
+        return results;
+    }
+
+    private static void complete(CompletableFuture<Object> completion, Throwable e) {
+        if (e == null)
+            completion.complete(null);
+        else
+            completion.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+    }
+
+    /**
+     * Aborts the executions that are still running, nobody will read their results
+     */
+    private static void abortUnfinished(Map<ExecutionHandle, CompletableFuture<ExecutionStateResponseData>> watches,
+                                        Consumer<List<ExecutionHandle>> abort) {
+        boolean interrupted = Thread.interrupted();
+
+        try {
+            List<ExecutionHandle> unfinished = new ArrayList<>();
+            for (Map.Entry<ExecutionHandle, CompletableFuture<ExecutionStateResponseData>> watch : watches.entrySet()) {
+                if (!watch.getValue().isDone())
+                    unfinished.add(watch.getKey());
+            }
+
+            if (!unfinished.isEmpty())
+                abort.accept(unfinished);
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class WaitForExecutionsExecution extends SynchronousNonBlockingStepExecution<Map<String, String>> {
+        private final transient WaitForExecutions step;
+        private static final long serialVersionUID = 1L;
+
+        protected WaitForExecutionsExecution(@Nonnull WaitForExecutions step, @Nonnull StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected Map<String, String> run() throws Exception {
+            try {
+                return step.await();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new AbortException(e.getMessage());
+            }
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+        public static final int defaultWaitSeconds = Constants.DEFAULT_EXECUTIONS_WAIT_TIME;
+
+        public DescriptorImpl() {}
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Collections.singleton(TaskListener.class);
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Constants.TP_EXECUTIONS_WAIT_NAME;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return Constants.TP_EXECUTIONS_WAIT_SYMBOL;
+        }
+
+        /**
+         * Binds the configuration form (used by the snippet generator), where the handles are entered one per line
+         */
+        @Override
+        public Step newInstance(StaplerRequest req, @Nonnull JSONObject formData) throws FormException {
+            List<String> handles = new ArrayList<>();
+            for (String handle : formData.optString("handles").split("\\r?\\n")) {
+                if (!handle.trim().isEmpty())
+                    handles.add(handle.trim());
+            }
+
+            WaitForExecutions step = new WaitForExecutions(handles);
+            step.setMode(formData.optString("mode", Constants.WAIT_MODE_ALL));
+            step.setWaitSeconds(formData.optInt("waitSeconds", Constants.DEFAULT_EXECUTIONS_WAIT_TIME));
+
+            return step;
+        }
+
+        public ListBoxModel doFillModeItems() {
+            ListBoxModel model = new ListBoxModel();
+            model.add("Wait for all executions", Constants.WAIT_MODE_ALL);
+            model.add("Wait for the first execution", Constants.WAIT_MODE_ANY);
+
+            return model;
+        }
+
+        public FormValidation doCheckWaitSeconds(@QueryParameter int value) {
+
+            if (value < 10)
+                return FormValidation.error("Wait for executions to finish must be at least 10 seconds");
+
+            return FormValidation.ok();
+        }
+    }
+}
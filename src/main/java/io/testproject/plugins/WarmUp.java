@@ -0,0 +1,70 @@
+package io.testproject.plugins;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ApiHelper;
+import io.testproject.helpers.ApiResponse;
+import io.testproject.helpers.MetadataCache;
+import io.testproject.helpers.SerializationHelper;
+import io.testproject.model.*;
+import jenkins.util.Timer;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Warms up the connection to TestProject, the metadata caches and the serialization paths after Jenkins has started,
+ * so the first configuration pages and builds after a restart perform like the following ones
+ */
+public class WarmUp {
+    private static final Logger LOGGER = Logger.getLogger(WarmUp.class.getName());
+
+    @Initializer(after = InitMilestone.JOB_LOADED, fatal = false)
+    public static void schedule() {
+        PluginConfiguration config = PluginConfiguration.getInstance();
+
+        if (config == null || !config.isWarmUp() || StringUtils.isEmpty(config.getApiKey()))
+            return;
+
+        Timer.get().submit(() -> run(config.getApiKey()));
+    }
+
+    private static void run(String apiKey) {
+        long started = System.currentTimeMillis();
+
+        try {
+            warmUpSerialization();
+
+            // The first request opens a keep-alive connection that the following requests reuse
+            ApiHelper apiHelper = new ApiHelper(apiKey);
+            ApiResponse<ProjectData[]> projects = MetadataCache.get(apiHelper, Constants.TP_RETURN_ACCOUNT_PROJECTS, ProjectData[].class);
+            MetadataCache.get(apiHelper, Constants.TP_RETURN_ACCOUNT_AGENTS, AgentData[].class);
+
+            if (projects.isSuccessful() && projects.getData() != null) {
+                int count = Math.min(projects.getData().length, Constants.WARM_UP_MAX_PROJECTS);
+
+                for (int i = 0; i < count; i++)
+                    MetadataCache.get(apiHelper, String.format(Constants.TP_RETURN_PROJECT_JOBS, projects.getData()[i].getId()), JobData[].class);
+            }
+
+            LOGGER.log(Level.INFO, "TestProject warm up has finished in {0}ms", System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "TestProject warm up has failed", e);
+        }
+    }
+
+    /**
+     * Creates the type adapters of the models that every build uses
+     */
+    private static void warmUpSerialization() {
+        SerializationHelper.fromJson("{}", ExecutionStateResponseData.class);
+        SerializationHelper.fromJson("{}", ExecutionResponseData.class);
+        SerializationHelper.fromJson("[]", AgentData[].class);
+        SerializationHelper.fromJson("[]", ProjectData[].class);
+        SerializationHelper.fromJson("[]", JobData[].class);
+        SerializationHelper.fromJson("[]", TestData[].class);
+        SerializationHelper.toJson(new ExecutionStateResponseData());
+    }
+}
@@ -0,0 +1,112 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class AgentAvailabilityTest {
+
+    private static final String AGENTS = "[" + agent("selected", "Main", "Disconnected") + ","
+            + agent("updating", "Updating agent", "Updating") + ","
+            + agent("no-device", "Without device", "Idle") + ","
+            + agent("backup", "Backup", "Executing") + "]";
+
+    /**
+     * Every test has its own API key, so the agents lists cached by other tests are not used
+     */
+    private final ApiHelper apiHelper = new ApiHelper(UUID.randomUUID().toString());
+    private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() {
+        LogHelper.SetLogger(new PrintStream(log, true), false);
+    }
+
+    @After
+    public void tearDown() {
+        LogHelper.SetLogger((PrintStream) null, false);
+    }
+
+    private static String agent(String id, String alias, String state) {
+        return "{\"id\":\"" + id + "\",\"alias\":\"" + alias + "\",\"state\":\"" + state + "\"}";
+    }
+
+    @Test
+    public void availableAgentIsKept() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 200, "[" + agent("selected", "Main", "Idle") + "]");
+
+            assertEquals("selected", AgentAvailability.check(apiHelper, "selected", Collections.singletonList("backup"), id -> true, 60));
+            assertEquals(1, api.served("GET", Constants.TP_RETURN_ACCOUNT_AGENTS));
+        }
+    }
+
+    @Test
+    public void unavailableAgentIsReplacedByTheFirstFallbackThatCanRun() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 200, AGENTS);
+
+            String agentId = AgentAvailability.check(apiHelper, "selected",
+                    Arrays.asList("missing", "updating agent", "no-device", "Backup"), id -> !id.equals("no-device"), 60);
+
+            assertEquals("backup", agentId);
+            String output = log.toString();
+            assertTrue(output.contains("Fallback agent 'missing' was not found"));
+            assertTrue(output.contains("Fallback agent 'Updating agent' [updating] is Updating"));
+            assertTrue(output.contains("Fallback agent 'Without device' [no-device] cannot run this execution"));
+            assertTrue(output.contains("Agent 'Main' [selected] is Disconnected, using fallback agent 'Backup' [backup] instead"));
+        }
+    }
+
+    @Test
+    public void unavailableAgentWithoutFallbacksAborts() {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 200, AGENTS);
+
+            try {
+                AgentAvailability.check(apiHelper, "selected", Collections.emptyList(), id -> true, 0);
+                fail("The execution was not stopped");
+            } catch (IOException e) {
+                assertTrue(e instanceof AbortException);
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Agent 'Main' [selected] is Disconnected, the execution was not triggered"));
+            }
+        }
+    }
+
+    @Test
+    public void unavailableStateIsConfirmedBeforeRerouting() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 200, AGENTS)
+                    .respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 200, "[" + agent("selected", "Main", "Idle") + "]");
+
+            assertEquals("selected", AgentAvailability.check(apiHelper, "selected", Collections.singletonList("backup"), id -> true, 60));
+            assertEquals(2, api.served("GET", Constants.TP_RETURN_ACCOUNT_AGENTS));
+        }
+    }
+
+    @Test
+    public void unknownAgentsAreLeftToTestProject() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 404, "{\"message\":\"Not found\"}");
+
+            assertEquals("selected", AgentAvailability.check(apiHelper, "selected", Collections.singletonList("backup"), id -> true, 60));
+        }
+    }
+
+    @Test
+    public void parsesAgentLists() {
+        assertEquals(Arrays.asList("a", "b c", "d"), AgentAvailability.parse(" a, b c,,d ,"));
+        assertTrue(AgentAvailability.parse(null).isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+import io.testproject.model.AgentBrowser;
+import io.testproject.model.AgentData;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AgentInventoryTest {
+
+    private static final String BROWSERS = "[{\"type\":\"Chrome\"}]";
+
+    private final String agentId = UUID.randomUUID().toString();
+    private final String browsersUrl = String.format(Constants.TP_GET_AGENT_BROWSERS, agentId);
+
+    private static AgentData[] agents(String json) {
+        return SerializationHelper.fromJson(json, AgentData[].class);
+    }
+
+    private static String agent(String id, String version, String state) {
+        return "{\"id\":\"" + id + "\",\"version\":\"" + version + "\",\"state\":\"" + state + "\",\"osType\":\"Linux\"}";
+    }
+
+    /**
+     * Waits for requests that are sent in the background
+     */
+    private static void awaitServed(ReplayedApi api, String url, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (api.served("GET", url) < count && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+
+        // Leaving time for the response to be stored
+        Thread.sleep(50);
+        assertEquals(count, api.served("GET", url));
+    }
+
+    @Test
+    public void servesRecentInventoriesFromTheCache() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", browsersUrl, 200, BROWSERS);
+            ApiHelper apiHelper = api.apiHelper();
+
+            assertTrue(AgentInventory.getBrowsers(apiHelper, agentId).isSuccessful());
+            assertTrue(AgentInventory.getBrowsers(apiHelper, agentId).isSuccessful());
+
+            assertEquals(1, api.served("GET", browsersUrl));
+        }
+    }
+
+    @Test
+    public void concurrentRequestsShareOneCall() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", browsersUrl, 200, BROWSERS, 200);
+            ApiHelper apiHelper = api.apiHelper();
+
+            CompletableFuture<ApiResponse<AgentBrowser[]>> first = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return AgentInventory.getBrowsers(apiHelper, agentId);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertTrue(AgentInventory.getBrowsers(apiHelper, agentId).isSuccessful());
+            assertTrue(first.get(5, TimeUnit.SECONDS).isSuccessful());
+            assertEquals(1, api.served("GET", browsersUrl));
+        }
+    }
+
+    @Test
+    public void failedResponsesAreNotCached() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", browsersUrl, 404, "{\"message\":\"Agent not found\"}")
+                    .respond("GET", browsersUrl, 200, BROWSERS);
+            ApiHelper apiHelper = api.apiHelper();
+
+            assertFalse(AgentInventory.getBrowsers(apiHelper, agentId).isSuccessful());
+            Thread.sleep(50);
+
+            assertTrue(AgentInventory.getBrowsers(apiHelper, agentId).isSuccessful());
+            assertEquals(2, api.served("GET", browsersUrl));
+        }
+    }
+
+    @Test
+    public void changedAgentDropsItsInventory() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", browsersUrl, 200, BROWSERS);
+            ApiHelper apiHelper = api.apiHelper();
+
+            AgentInventory.update(apiHelper, agents("[" + agent(agentId, "1.0", "Idle") + "]"));
+            AgentInventory.getBrowsers(apiHelper, agentId);
+
+            // The same version and state keep the inventory
+            AgentInventory.update(apiHelper, agents("[" + agent(agentId, "1.0", "Idle") + "]"));
+            AgentInventory.getBrowsers(apiHelper, agentId);
+            assertEquals(1, api.served("GET", browsersUrl));
+
+            AgentInventory.update(apiHelper, agents("[" + agent(agentId, "1.1", "Idle") + "]"));
+            AgentInventory.getBrowsers(apiHelper, agentId);
+            assertEquals(2, api.served("GET", browsersUrl));
+        }
+    }
+
+    @Test
+    public void sweepRefreshesTheConnectedAgents() throws Exception {
+        String disconnectedId = UUID.randomUUID().toString();
+        String disconnectedUrl = String.format(Constants.TP_GET_AGENT_BROWSERS, disconnectedId);
+        String devicesUrl = String.format(Constants.TP_GET_AGENT_DEVICES, agentId);
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", Constants.TP_RETURN_ACCOUNT_AGENTS, 200,
+                            "[" + agent(agentId, "1.0", "Idle") + "," + agent(disconnectedId, "1.0", "Disconnected") + "]")
+                    .respond("GET", browsersUrl, 200, BROWSERS)
+                    .respond("GET", devicesUrl, 200, "[]")
+                    .respond("GET", disconnectedUrl, 200, BROWSERS);
+            ApiHelper apiHelper = api.apiHelper();
+
+            // The configuration page is in use
+            AgentInventory.getBrowsers(apiHelper, agentId);
+
+            AgentInventory.sweep(apiHelper);
+            awaitServed(api, browsersUrl, 2);
+            awaitServed(api, devicesUrl, 1);
+            assertEquals(0, api.served("GET", disconnectedUrl));
+
+            // Served from the refreshed inventory
+            AgentInventory.getBrowsers(apiHelper, agentId);
+            AgentInventory.getDevices(apiHelper, agentId);
+            assertEquals(2, api.served("GET", browsersUrl));
+            assertEquals(1, api.served("GET", devicesUrl));
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+import io.testproject.constants.EndpointClass;
+import io.testproject.model.ProjectParameterData;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class ApiHelperTest {
+
+    /**
+     * A connection that captures the request body
+     */
+    private static class CapturingConnection extends HttpURLConnection {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        CapturingConnection() throws IOException {
+            super(new URL("https://api.testproject.io/v2/projects/p/parameters"));
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return body;
+        }
+
+        long getFixedLength() {
+            return fixedContentLengthLong;
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public void connect() {
+        }
+    }
+
+    private static Map<String, String> body(int size) {
+        Map<String, String> body = new LinkedHashMap<>();
+        for (int i = 0; body.toString().length() < size; i++)
+            body.put("parameter" + i, "value " + i);
+
+        return body;
+    }
+
+    @Test
+    public void sendsSmallBodiesUncompressed() throws IOException {
+        CapturingConnection con = new CapturingConnection();
+        Map<String, String> body = body(100);
+
+        assertFalse(ApiHelper.writeJsonBody(con, body, true));
+
+        String json = new String(con.body.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(SerializationHelper.toJson(body), json);
+        assertEquals(con.body.size(), con.getFixedLength());
+        assertNull(con.getRequestProperty(Constants.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void compressesLargeBodies() throws IOException {
+        CapturingConnection con = new CapturingConnection();
+        Map<String, String> body = body(Constants.COMPRESSION_MIN_SIZE * 2);
+
+        assertTrue(ApiHelper.writeJsonBody(con, body, true));
+
+        String json = IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(con.body.toByteArray())), StandardCharsets.UTF_8);
+        assertEquals(SerializationHelper.toJson(body), json);
+        assertEquals(con.body.size(), con.getFixedLength());
+        assertEquals(Constants.GZIP, con.getRequestProperty(Constants.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void sendsLargeBodiesUncompressedWhenCompressionIsOff() throws IOException {
+        CapturingConnection con = new CapturingConnection();
+        Map<String, String> body = body(Constants.COMPRESSION_MIN_SIZE * 2);
+
+        assertFalse(ApiHelper.writeJsonBody(con, body, false));
+        assertEquals(SerializationHelper.toJson(body), new String(con.body.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void spillsVeryLargeBodiesToDisk() throws IOException {
+        CapturingConnection con = new CapturingConnection();
+        Map<String, String> body = body(Constants.REQUEST_BODY_MEMORY_LIMIT + 1024);
+
+        assertFalse(ApiHelper.writeJsonBody(con, body, false));
+        assertEquals(SerializationHelper.toJson(body), new String(con.body.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void usesTheTimeoutOfTheEndpointClass() throws IOException {
+        ApiHelper apiHelper = new ApiHelper("api-key");
+
+        for (EndpointClass endpointClass : EndpointClass.values())
+            assertEquals(endpointClass.getDefaultTimeoutSeconds() * 1000, apiHelper.getTimeout(endpointClass));
+    }
+
+    @Test
+    public void clampsTheTimeoutToTheDeadline() throws IOException {
+        ApiHelper apiHelper = new ApiHelper("api-key").withDeadline(Deadline.after(5, TimeUnit.SECONDS));
+
+        int timeout = apiHelper.getTimeout(EndpointClass.UPLOAD);
+        assertTrue("Timeout " + timeout, timeout > 4000 && timeout <= 5000);
+    }
+
+    @Test
+    public void keepsTheTimeoutWhenTheDeadlineIsLater() throws IOException {
+        ApiHelper apiHelper = new ApiHelper("api-key").withDeadline(Deadline.after(1, TimeUnit.HOURS));
+
+        assertEquals(EndpointClass.POLL.getDefaultTimeoutSeconds() * 1000, apiHelper.getTimeout(EndpointClass.POLL));
+    }
+
+    @Test(expected = SkippedRequestException.class)
+    public void expiredDeadlineSkipsTheRequest() throws IOException {
+        new ApiHelper("api-key").withDeadline(Deadline.at(System.currentTimeMillis() - 1)).getTimeout(EndpointClass.METADATA);
+    }
+
+    @Test
+    public void expiredDeadlineDoesNotSendTheRequest() throws IOException {
+        String url = String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, UUID.randomUUID());
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", url, 200, "[]");
+
+            try {
+                api.apiHelper().withDeadline(Deadline.at(System.currentTimeMillis() - 1)).Get(url, Object[].class);
+                fail("The request was sent");
+            } catch (SkippedRequestException e) {
+                assertEquals("The time frame for the metadata request has expired", e.getMessage());
+            }
+
+            assertEquals(0, api.served("GET", url));
+        }
+    }
+
+    @Test
+    public void asyncRequestsDoNotBlockTheCaller() throws Exception {
+        String url = String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, UUID.randomUUID());
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", url, 200, "[{\"id\":\"param-1\"}]", 300);
+
+            CompletableFuture<ApiResponse<ProjectParameterData[]>> response = api.apiHelper().GetAsync(url, null, null, ProjectParameterData[].class);
+            assertFalse(response.isDone());
+
+            assertEquals("param-1", response.get(5, TimeUnit.SECONDS).getData()[0].getId());
+        }
+    }
+
+    @Test
+    public void asyncRequestsRunNoMoreThanTheLimitAtATime() throws Exception {
+        String url = String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, UUID.randomUUID());
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", url, 200, "[]", 200);
+            ApiHelper apiHelper = api.apiHelper();
+
+            long started = System.currentTimeMillis();
+            List<CompletableFuture<ApiResponse<Object[]>>> responses = new ArrayList<>();
+            for (int i = 0; i < Constants.MAX_CONCURRENT_REQUESTS * 2; i++)
+                responses.add(apiHelper.GetAsync(url, null, null, Object[].class));
+
+            for (CompletableFuture<ApiResponse<Object[]>> response : responses)
+                assertTrue(response.get(5, TimeUnit.SECONDS).isSuccessful());
+
+            // Twice as many requests as the limit are sent in two rounds
+            long elapsed = System.currentTimeMillis() - started;
+            assertTrue("Took " + elapsed + " ms", elapsed >= 2 * 200 - 20);
+            assertEquals(Constants.MAX_CONCURRENT_REQUESTS * 2, api.served("GET", url));
+        }
+    }
+
+    @Test
+    public void interruptedCallerStopsWaiting() throws Exception {
+        String url = String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, UUID.randomUUID());
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", url, 200, "[]", 10000);
+            ApiHelper apiHelper = api.apiHelper();
+            CompletableFuture<Throwable> failure = new CompletableFuture<>();
+
+            Thread caller = new Thread(() -> {
+                try {
+                    apiHelper.Get(url, Object[].class);
+                    failure.complete(null);
+                } catch (Throwable e) {
+                    failure.complete(e);
+                }
+            });
+            caller.start();
+            Thread.sleep(100);
+            caller.interrupt();
+
+            assertTrue(failure.get(2, TimeUnit.SECONDS) instanceof InterruptedIOException);
+        }
+    }
+
+    @Test
+    public void cancelledRequestIsNotCompleted() throws Exception {
+        String url = String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, UUID.randomUUID());
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", url, 200, "[]", 10000);
+
+            CompletableFuture<ApiResponse<Object[]>> response = api.apiHelper().GetAsync(url, null, null, Object[].class);
+            assertTrue(response.cancel(true));
+
+            assertTrue(response.isCancelled());
+        }
+    }
+
+    @Test
+    public void uploadsDoNotHoldTheRequestThreads() throws Exception {
+        String projectId = UUID.randomUUID().toString();
+        String uploadUrl = "https://uploads.example.com/" + projectId;
+        String url = String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, projectId);
+        File file = File.createTempFile("application", ".apk");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("PUT", uploadUrl, 200, "", 1000)
+                    .respond("GET", url, 200, "[]");
+            ApiHelper apiHelper = api.apiHelper();
+
+            List<CompletableFuture<ApiResponse<Object>>> uploads = new ArrayList<>();
+            for (int i = 0; i < Constants.MAX_CONCURRENT_REQUESTS; i++)
+                uploads.add(apiHelper.PutAsync(uploadUrl, null, null, new FileBody(file), Object.class));
+
+            assertTrue(apiHelper.GetAsync(url, null, null, Object[].class).get(500, TimeUnit.MILLISECONDS).isSuccessful());
+
+            for (CompletableFuture<ApiResponse<Object>> upload : uploads)
+                upload.cancel(true);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.testproject.helpers;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ApiResponseTest {
+
+    /**
+     * A connection that serves a canned response and remembers whether its body was closed
+     */
+    private static class CannedConnection extends HttpURLConnection {
+        private final int status;
+        private final String encoding;
+        private final byte[] body;
+        private boolean closed;
+
+        CannedConnection(int status, String encoding, byte[] body) throws IOException {
+            super(new URL("https://api.testproject.io/v2/projects"));
+            this.status = status;
+            this.encoding = encoding;
+            this.body = body;
+        }
+
+        private InputStream stream() {
+            return body == null ? null : new ByteArrayInputStream(body) {
+                @Override
+                public void close() throws IOException {
+                    closed = true;
+                    super.close();
+                }
+            };
+        }
+
+        @Override
+        public int getResponseCode() {
+            return status;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            if (status >= 400)
+                throw new IOException("Server returned HTTP response code: " + status);
+
+            return stream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return status >= 400 ? stream() : null;
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return encoding;
+        }
+
+        @Override
+        public int getContentLength() {
+            return encoding == null && body != null ? body.length : -1;
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public void connect() {
+        }
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static String largeBody() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            body.append("{\"id\":\"").append(i).append("\"},\n");
+
+        return body.toString();
+    }
+
+    @Test
+    public void readsTheBodyToTheEndAndClosesIt() throws IOException {
+        String body = largeBody();
+        CannedConnection con = new CannedConnection(200, null, body.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(body, ApiResponse.readContent(con));
+        assertTrue(con.closed);
+    }
+
+    @Test
+    public void readsAndClosesErrorBodies() throws IOException {
+        CannedConnection con = new CannedConnection(404, null, "{\"message\":\"Not found\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("{\"message\":\"Not found\"}", ApiResponse.readContent(con));
+        assertTrue(con.closed);
+    }
+
+    @Test
+    public void decompressesGzipBodies() throws IOException {
+        String body = largeBody();
+        CannedConnection con = new CannedConnection(200, "gzip", gzip(body));
+
+        assertEquals(body, ApiResponse.readContent(con));
+        assertTrue(con.closed);
+    }
+
+    @Test
+    public void keepsMultiByteCharacters() throws IOException {
+        String body = "{\"name\":\"\u05d1\u05d3\u05d9\u05e7\u05d4 \u2713\"}";
+
+        assertEquals(body, ApiResponse.readContent(new CannedConnection(200, null, body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void responseWithoutBodyHasNoContent() throws IOException {
+        assertNull(ApiResponse.readContent(new CannedConnection(204, null, null)));
+    }
+
+    @Test
+    public void keepsTheStatusOfErrorResponses() throws IOException {
+        ApiResponse<Object> response = new ApiResponse<>(new CannedConnection(503, null, null), Object.class);
+
+        assertEquals(503, response.getStatusCode());
+        assertFalse(response.isSuccessful());
+    }
+}
@@ -0,0 +1,156 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+import io.testproject.model.ProjectData;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ApiTrafficTest {
+
+    private static final String API_KEY = "secret-api-key";
+
+    @Test
+    public void redactsTheApiKey() {
+        assertEquals("{\"key\":\"***\"}", ApiTraffic.redact("{\"key\":\"" + API_KEY + "\"}", API_KEY));
+    }
+
+    @Test
+    public void redactsTheSignatureOfUploadLinks() {
+        String content = "{\"url\":\"https://storage.example.com/bucket/app.apk?X-Amz-Signature=abc&X-Amz-Expires=300\"}";
+
+        assertEquals("{\"url\":\"https://storage.example.com/bucket/app.apk?***\"}", ApiTraffic.redact(content, API_KEY));
+    }
+
+    @Test
+    public void redactsUploadRequestsTheSameWayAsTheLinks() {
+        String link = "https://storage.example.com/bucket/app.apk?X-Amz-Signature=abc";
+        String redactedLink = ApiTraffic.redact("{\"url\":\"" + link + "\"}", API_KEY);
+
+        assertTrue(redactedLink.contains(ApiTraffic.redact(link, API_KEY)));
+    }
+
+    @Test
+    public void keepsTheQueryOfApiUrls() {
+        String url = "https://api.testproject.io/v2/projects/p1/jobs?_start=0&_limit=100";
+
+        assertEquals(url, ApiTraffic.redact(url, API_KEY));
+    }
+
+    @Test
+    public void keepsMissingValues() {
+        assertNull(ApiTraffic.redact(null, API_KEY));
+    }
+
+    private static final String URL = Constants.TP_RETURN_ACCOUNT_PROJECTS;
+
+    private static long timeReplay(String method, String url) throws IOException {
+        long started = System.nanoTime();
+        ApiTraffic.replay(method, url);
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    @Test
+    public void replaysTheRecordedLatency() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", URL, 200, "[]", 200);
+
+            long elapsed = timeReplay("GET", URL);
+            assertTrue("Replayed in " + elapsed + "ms", elapsed >= 200 && elapsed < 1000);
+        }
+    }
+
+    @Test
+    public void replaySpeedDividesTheLatency() throws IOException {
+        File file = writeReplayFile(".jsonl", exchange(400));
+
+        try (ReplayedApi ignored = new ReplayedApi()) {
+            ApiTraffic.setReplay(ApiTraffic.load(file), 4);
+
+            long elapsed = timeReplay("GET", URL);
+            assertTrue("Replayed in " + elapsed + "ms", elapsed >= 100 && elapsed < 400);
+        }
+    }
+
+    @Test
+    public void servesTheExchangesInOrderAndRepeatsTheLastOne() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", URL, 200, "first").respond("GET", URL, 200, "second");
+
+            assertEquals("first", ApiTraffic.replay("GET", URL).content);
+            assertEquals("second", ApiTraffic.replay("GET", URL).content);
+            assertEquals("second", ApiTraffic.replay("GET", URL).content);
+            assertEquals(3, api.served("GET", URL));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void failsRequestsThatWereNotRecorded() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", URL, 200, "[]");
+
+            ApiTraffic.replay("POST", URL);
+        }
+    }
+
+    @Test
+    public void replaysThroughApiHelper() throws IOException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", URL + "/replayed-project", 200, "{\"id\":\"p1\",\"name\":\"Replayed\"}");
+
+            ApiResponse<ProjectData> response = api.apiHelper().Get(URL + "/replayed-project", ProjectData.class);
+
+            assertTrue(response.isSuccessful());
+            assertEquals("Replayed", response.getData().getName());
+        }
+    }
+
+    @Test
+    public void loadsCompressedFiles() throws IOException {
+        File file = File.createTempFile("replay", ".jsonl.gz");
+        file.deleteOnExit();
+
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(file))) {
+            out.write((exchange(5) + "\n" + exchange(5) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(2, ApiTraffic.load(file).get("GET " + URL).size());
+    }
+
+    @Test
+    public void loadsTheCompleteExchangesOfATruncatedRecording() throws IOException {
+        File file = File.createTempFile("replay", ".jsonl.gz");
+        file.deleteOnExit();
+
+        // Flushed but never closed, as when Jenkins is killed while recording, and cut off in the middle of an exchange
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(file), true);
+        out.write((exchange(5) + "\n" + exchange(5) + "\n" + exchange(5).substring(0, 20)).getBytes(StandardCharsets.UTF_8));
+        out.flush();
+
+        try {
+            assertEquals(2, ApiTraffic.load(file).get("GET " + URL).size());
+        } finally {
+            out.close();
+        }
+    }
+
+    private static String exchange(long latency) {
+        return "{\"method\":\"GET\",\"url\":\"" + URL + "\",\"status\":200,\"content\":\"[]\",\"latency\":" + latency + "}";
+    }
+
+    private static File writeReplayFile(String suffix, String... lines) throws IOException {
+        File file = File.createTempFile("replay", suffix);
+        file.deleteOnExit();
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+
+        return file;
+    }
+}
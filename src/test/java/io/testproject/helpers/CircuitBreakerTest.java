@@ -0,0 +1,126 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 100;
+
+    private static CircuitBreaker openBreaker() throws AbortException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, OPEN_MILLIS);
+
+        for (int i = 0; i < 2; i++) {
+            breaker.acquire();
+            breaker.onFailure();
+        }
+
+        return breaker;
+    }
+
+    @Test
+    public void staysClosedBelowTheThreshold() throws AbortException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_MILLIS);
+
+        breaker.acquire();
+        breaker.onFailure();
+        breaker.acquire();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    public void successResetsTheFailureCount() throws AbortException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, OPEN_MILLIS);
+
+        breaker.acquire();
+        breaker.onFailure();
+        breaker.acquire();
+        breaker.onSuccess();
+        breaker.acquire();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    public void rejectsRequestsWhileOpen() throws AbortException {
+        CircuitBreaker breaker = openBreaker();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        try {
+            breaker.acquire();
+            fail("The request was not rejected");
+        } catch (AbortException e) {
+            assertEquals(1, breaker.getRejected());
+        }
+    }
+
+    @Test
+    public void letsASingleProbeThroughAfterTheOpenPeriod() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        Thread.sleep(OPEN_MILLIS + 20);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquire();
+
+        try {
+            breaker.acquire();
+            fail("A second probe was let through");
+        } catch (AbortException e) {
+            assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        }
+    }
+
+    @Test
+    public void successfulProbeClosesTheBreaker() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        Thread.sleep(OPEN_MILLIS + 20);
+
+        breaker.acquire();
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.acquire();
+    }
+
+    @Test
+    public void failedProbeReopensTheBreaker() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        Thread.sleep(OPEN_MILLIS + 20);
+
+        breaker.acquire();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void ignoredProbeReleasesTheProbeSlot() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        Thread.sleep(OPEN_MILLIS + 20);
+
+        breaker.acquire();
+        breaker.onIgnored();
+
+        // The open period is already over, so the next request is the new probe
+        breaker.acquire();
+        assertEquals(2, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    public void ignoredRequestsDoNotCountAsFailures() throws AbortException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MILLIS);
+
+        breaker.acquire();
+        breaker.onIgnored();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+    }
+}
@@ -0,0 +1,26 @@
+package io.testproject.helpers;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DeadlineTest {
+
+    @Test
+    public void countsDownTheRemainingTime() {
+        Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remainingMillis() > 9000 && deadline.remainingMillis() <= 10000);
+    }
+
+    @Test
+    public void expiresAtTheGivenTime() {
+        Deadline deadline = Deadline.at(System.currentTimeMillis() - 1);
+
+        assertTrue(deadline.isExpired());
+        assertTrue(deadline.remainingMillis() < 0);
+    }
+}
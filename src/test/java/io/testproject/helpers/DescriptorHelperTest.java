@@ -0,0 +1,69 @@
+package io.testproject.helpers;
+
+import hudson.util.ListBoxModel;
+import io.testproject.constants.Constants;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class DescriptorHelperTest {
+
+    private static NameIndex<String[]> index(int size) {
+        String[][] items = new String[size][];
+        for (int i = 0; i < size; i++)
+            items[i] = new String[]{"id-" + i, String.format("Test %03d", i)};
+
+        return new NameIndex<>(items, item -> item[1], item -> item[0]);
+    }
+
+    private static ListBoxModel matches(NameIndex<String[]> index, String filter, String selected) {
+        ListBoxModel model = new ListBoxModel();
+        DescriptorHelper.addMatches(model, index, filter, selected, null, item -> item[1], item -> item[0]);
+
+        return model;
+    }
+
+    private static List<String> values(ListBoxModel model) {
+        return model.stream().map(option -> option.value).collect(Collectors.toList());
+    }
+
+    @Test
+    public void listsAllTheMatchesWhenUnderTheLimit() {
+        ListBoxModel model = matches(index(3), "", null);
+
+        assertEquals(3, model.size());
+        assertEquals("id-0", model.get(0).value);
+    }
+
+    @Test
+    public void asksToRefineTheFilterWhenThereAreMoreMatches() {
+        int size = Constants.SEARCH_RESULTS_LIMIT + 5;
+        ListBoxModel model = matches(index(size), "test", null);
+
+        assertEquals(Constants.SEARCH_RESULTS_LIMIT + 1, model.size());
+
+        ListBoxModel.Option more = model.get(model.size() - 1);
+        assertEquals("", more.value);
+        assertTrue(more.name, more.name.startsWith("More results, refine the filter"));
+        assertTrue(more.name, more.name.contains(Constants.SEARCH_RESULTS_LIMIT + " of " + size));
+    }
+
+    @Test
+    public void keepsTheSelectedItemListed() {
+        String selected = "id-" + (Constants.SEARCH_RESULTS_LIMIT + 2);
+        ListBoxModel model = matches(index(Constants.SEARCH_RESULTS_LIMIT + 5), "", selected);
+
+        assertEquals(selected, model.get(0).value);
+        assertEquals(1, values(model).stream().filter(selected::equals).count());
+    }
+
+    @Test
+    public void doesNotRepeatAListedSelection() {
+        ListBoxModel model = matches(index(3), "", "id-1");
+
+        assertEquals(3, model.size());
+    }
+}
@@ -0,0 +1,67 @@
+package io.testproject.helpers;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ExecutionCallbacksTest {
+
+    @Test
+    public void notifiesEveryWatchOfTheExecution() {
+        String executionId = UUID.randomUUID().toString();
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        ExecutionCallbacks.register(executionId, first::incrementAndGet);
+        ExecutionCallbacks.register(executionId, second::incrementAndGet);
+
+        assertTrue(ExecutionCallbacks.complete(executionId));
+        assertEquals(1, first.get());
+        assertEquals(1, second.get());
+    }
+
+    @Test
+    public void unregisteringKeepsTheOtherWatches() {
+        String executionId = UUID.randomUUID().toString();
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        Runnable firstListener = first::incrementAndGet;
+
+        ExecutionCallbacks.register(executionId, firstListener);
+        ExecutionCallbacks.register(executionId, second::incrementAndGet);
+        ExecutionCallbacks.unregister(executionId, firstListener);
+
+        assertTrue(ExecutionCallbacks.complete(executionId));
+        assertEquals(0, first.get());
+        assertEquals(1, second.get());
+    }
+
+    @Test
+    public void completesWithoutListenersAfterTheLastIsUnregistered() {
+        String executionId = UUID.randomUUID().toString();
+        Runnable listener = () -> { };
+
+        ExecutionCallbacks.register(executionId, listener);
+        ExecutionCallbacks.unregister(executionId, listener);
+
+        assertFalse(ExecutionCallbacks.complete(executionId));
+    }
+
+    @Test
+    public void deliversAnEarlyCallbackToEveryLaterWatch() {
+        String executionId = UUID.randomUUID().toString();
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        assertFalse(ExecutionCallbacks.complete(executionId));
+
+        ExecutionCallbacks.register(executionId, first::incrementAndGet);
+        ExecutionCallbacks.register(executionId, second::incrementAndGet);
+
+        assertEquals(1, first.get());
+        assertEquals(1, second.get());
+    }
+}
@@ -0,0 +1,76 @@
+package io.testproject.helpers;
+
+import com.google.gson.JsonObject;
+import io.testproject.constants.ExecutionType;
+import org.junit.Test;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class ExecutionFingerprintTest {
+
+    private static final SortedMap<String, String> NO_ARTIFACTS = new TreeMap<>();
+
+    private static JsonObject request(String json) {
+        return SerializationHelper.fromJson(json, JsonObject.class);
+    }
+
+    private static String fingerprint(String json) {
+        return ExecutionFingerprint.of(ExecutionType.JOB, "project", "job", request(json), NO_ARTIFACTS);
+    }
+
+    @Test
+    public void isAHexSha256() {
+        assertTrue(fingerprint("{}").matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    public void ignoresTheOrderOfMembers() {
+        assertEquals(
+                fingerprint("{\"agentId\":\"a\",\"projectParameters\":{\"x\":\"1\",\"y\":\"2\"}}"),
+                fingerprint("{\"projectParameters\":{\"y\":\"2\",\"x\":\"1\"},\"agentId\":\"a\"}"));
+    }
+
+    @Test
+    public void sortsObjectsInsideArrays() {
+        assertEquals(
+                fingerprint("{\"queue\":[{\"b\":1,\"a\":2}]}"),
+                fingerprint("{\"queue\":[{\"a\":2,\"b\":1}]}"));
+    }
+
+    @Test
+    public void keepsTheOrderOfArrays() {
+        assertNotEquals(fingerprint("{\"queue\":[1,2]}"), fingerprint("{\"queue\":[2,1]}"));
+    }
+
+    @Test
+    public void changesWithTheParameters() {
+        assertNotEquals(fingerprint("{\"agentId\":\"a\"}"), fingerprint("{\"agentId\":\"b\"}"));
+    }
+
+    @Test
+    public void changesWithTheItem() {
+        JsonObject request = request("{}");
+
+        assertNotEquals(
+                ExecutionFingerprint.of(ExecutionType.JOB, "project", "item", request, NO_ARTIFACTS),
+                ExecutionFingerprint.of(ExecutionType.TEST, "project", "item", request, NO_ARTIFACTS));
+        assertNotEquals(
+                ExecutionFingerprint.of(ExecutionType.JOB, "project", "item", request, NO_ARTIFACTS),
+                ExecutionFingerprint.of(ExecutionType.JOB, "project", "other", request, NO_ARTIFACTS));
+    }
+
+    @Test
+    public void changesWithTheArtifacts() {
+        SortedMap<String, String> before = new TreeMap<>();
+        before.put("app", "digest-1");
+        SortedMap<String, String> after = new TreeMap<>();
+        after.put("app", "digest-2");
+
+        assertNotEquals(
+                ExecutionFingerprint.of(ExecutionType.JOB, "project", "job", request("{}"), before),
+                ExecutionFingerprint.of(ExecutionType.JOB, "project", "job", request("{}"), after));
+    }
+}
@@ -0,0 +1,41 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import io.testproject.constants.ExecutionType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExecutionHandleTest {
+
+    @Test
+    public void roundTripsThroughItsString() throws AbortException {
+        ExecutionHandle handle = ExecutionHandle.parse(new ExecutionHandle(ExecutionType.JOB, "project", "job", "execution").toString());
+
+        assertEquals(ExecutionType.JOB, handle.getType());
+        assertEquals("project", handle.getProjectId());
+        assertEquals("job", handle.getItemId());
+        assertEquals("execution", handle.getExecutionId());
+        assertEquals("JOB:project:job:execution", handle.toString());
+    }
+
+    @Test
+    public void ignoresSurroundingWhitespace() throws AbortException {
+        assertEquals("TEST:project:test:execution", ExecutionHandle.parse(" TEST:project:test:execution\n").toString());
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsMissingParts() throws AbortException {
+        ExecutionHandle.parse("JOB:project:job");
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsUnknownTypes() throws AbortException {
+        ExecutionHandle.parse("SUITE:project:job:execution");
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsNull() throws AbortException {
+        ExecutionHandle.parse(null);
+    }
+}
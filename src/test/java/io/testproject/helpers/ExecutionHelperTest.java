@@ -0,0 +1,217 @@
+package io.testproject.helpers;
+
+import com.google.gson.JsonObject;
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import io.testproject.constants.ExecutionState;
+import io.testproject.constants.ExecutionType;
+import io.testproject.model.ExecutionStateResponseData;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class ExecutionHelperTest {
+
+    private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+    private final ApiHelper apiHelper = new ApiHelper("api-key");
+
+    private ExecutionHelper helper(String projectId) {
+        return helper(projectId, apiHelper);
+    }
+
+    private ExecutionHelper helper(String projectId, ApiHelper apiHelper) {
+        LogHelper.SetLogger(new PrintStream(log, true), false);
+
+        return new ExecutionHelper(projectId, "job", null, null, 60, ExecutionType.JOB, null, null, apiHelper);
+    }
+
+    private ExecutionHelper helper(int failFastThreshold) {
+        ExecutionHelper helper = helper("project");
+        helper.setFailFastThreshold(failFastThreshold);
+
+        return helper;
+    }
+
+    private void storePassingResult(String projectId, String executionId, SortedMap<String, String> artifacts) {
+        ExecutionStateResponseData state = new ExecutionStateResponseData();
+        state.setState(ExecutionState.Passed);
+
+        String fingerprint = ExecutionFingerprint.of(ExecutionType.JOB, projectId, "job", new JsonObject(), artifacts);
+        ResultCache.store(apiHelper.getCacheKey() + " " + fingerprint, new ResultCache.Result(executionId, state, "build 1", "report"));
+    }
+
+    private static ExecutionStateResponseData running(Integer failedTests) {
+        ExecutionStateResponseData state = new ExecutionStateResponseData();
+        state.setState(ExecutionState.Executing);
+        state.setFailedTests(failedTests);
+
+        return state;
+    }
+
+    private int countLogLines(String text) {
+        String output = new String(log.toByteArray(), StandardCharsets.UTF_8);
+        return output.isEmpty() ? 0 : output.split(text, -1).length - 1;
+    }
+
+    @After
+    public void resetLogger() {
+        LogHelper.SetLogger((PrintStream) null, false);
+    }
+
+    @Test
+    public void stopsOnceTheThresholdIsReached() {
+        ExecutionHelper helper = helper(3);
+
+        assertFalse(helper.hasCrossedFailureThreshold(running(0)));
+        assertFalse(helper.hasCrossedFailureThreshold(running(2)));
+        assertTrue(helper.hasCrossedFailureThreshold(running(3)));
+        assertTrue(helper.hasCrossedFailureThreshold(running(4)));
+    }
+
+    @Test
+    public void disabledThresholdNeverStops() {
+        for (int threshold : new int[]{0, -1}) {
+            ExecutionHelper helper = helper(threshold);
+
+            assertFalse(helper.hasCrossedFailureThreshold(running(0)));
+            assertFalse(helper.hasCrossedFailureThreshold(running(100)));
+            assertFalse(helper.hasCrossedFailureThreshold(running(null)));
+        }
+
+        assertEquals(0, countLogLines("fail fast is unavailable"));
+    }
+
+    @Test
+    public void missingCountsDoNotStopAndAreLoggedOnce() {
+        ExecutionHelper helper = helper(1);
+
+        assertFalse(helper.hasCrossedFailureThreshold(running(null)));
+        assertFalse(helper.hasCrossedFailureThreshold(running(null)));
+        assertEquals(1, countLogLines("fail fast is unavailable"));
+
+        // Counts that show up later are still applied
+        assertTrue(helper.hasCrossedFailureThreshold(running(1)));
+    }
+
+    @Test
+    public void reusesResultsWithTheSameArtifacts() throws Exception {
+        String projectId = UUID.randomUUID().toString();
+        ArtifactDigests.record(apiHelper, projectId, "app", "digest-1");
+        storePassingResult(projectId, "execution-1", ArtifactDigests.get(apiHelper, projectId));
+
+        ExecutionHelper helper = helper(projectId);
+        helper.setReuseResultsMinutes(60);
+
+        ResultCache.Result result = helper.findReusableResult();
+        assertNotNull(result);
+        assertEquals("execution-1", result.getExecutionId());
+        assertEquals(1, countLogLines("Reusing the passing result of execution execution-1 that build build 1"));
+    }
+
+    @Test
+    public void changedArtifactsAreNotReused() throws Exception {
+        String projectId = UUID.randomUUID().toString();
+        ArtifactDigests.record(apiHelper, projectId, "app", "digest-1");
+        storePassingResult(projectId, "execution-1", ArtifactDigests.get(apiHelper, projectId));
+        ArtifactDigests.record(apiHelper, projectId, "app", "digest-2");
+
+        ExecutionHelper helper = helper(projectId);
+        helper.setReuseResultsMinutes(60);
+
+        assertNull(helper.findReusableResult());
+    }
+
+    @Test
+    public void unknownArtifactsAreNotReused() throws Exception {
+        String projectId = UUID.randomUUID().toString();
+        storePassingResult(projectId, "execution-1", new TreeMap<>());
+
+        ExecutionHelper helper = helper(projectId);
+        helper.setReuseResultsMinutes(60);
+
+        assertNull(helper.findReusableResult());
+        assertEquals(1, countLogLines("Not reusing earlier results"));
+    }
+
+    private static String[] abortUrls(String projectId, String executionId) {
+        return new String[]{
+                String.format(Constants.TP_ABORT_EXECUTION_URL, projectId, "job", executionId),
+                String.format(Constants.TP_CHECK_EXECUTION_STATE_URL, projectId, "job", executionId)};
+    }
+
+    @Test
+    public void abortIsConfirmedOnceTheExecutionHasStopped() {
+        String projectId = UUID.randomUUID().toString();
+        String[] urls = abortUrls(projectId, "execution-1");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("POST", urls[0], 200, "{}")
+                    .respond("GET", urls[1], 200, "{\"state\":\"Aborted\"}");
+
+            ExecutionHelper helper = helper(projectId, api.apiHelper());
+
+            assertTrue(helper.abortAndConfirm("execution-1"));
+            assertEquals(1, api.served("POST", urls[0]));
+        }
+    }
+
+    @Test
+    public void abortIsSentWhenTheBuildWasCancelled() {
+        String projectId = UUID.randomUUID().toString();
+        String[] urls = abortUrls(projectId, "execution-1");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("POST", urls[0], 200, "{}")
+                    .respond("GET", urls[1], 200, "{\"state\":\"Aborted\"}");
+
+            ExecutionHelper helper = helper(projectId, api.apiHelper());
+
+            Thread.currentThread().interrupt();
+            assertTrue(helper.abortAndConfirm("execution-1"));
+
+            // The interrupt of the cancelled build is kept for the caller
+            assertTrue(Thread.interrupted());
+            assertEquals(1, api.served("POST", urls[0]));
+        }
+    }
+
+    @Test
+    public void abortConfirmationStopsAtTheDeadline() {
+        String projectId = UUID.randomUUID().toString();
+        String[] urls = abortUrls(projectId, "execution-1");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", urls[1], 200, "{\"state\":\"Executing\"}");
+
+            ExecutionHelper helper = helper(projectId, api.apiHelper());
+            long now = System.currentTimeMillis();
+
+            assertFalse(helper.confirmAborted("execution-1", now, now + 100));
+            assertEquals(1, countLogLines("Unable to confirm that execution execution-1 has stopped"));
+        }
+    }
+
+    @Test
+    public void expiredWaitStopsTheWatch() throws Exception {
+        CompletableFuture<ExecutionStateResponseData> watch = new CompletableFuture<>();
+
+        try {
+            ExecutionHelper.awaitExecution(watch, 0);
+            fail("The wait did not time out");
+        } catch (AbortException e) {
+            assertEquals("The execution did not finish within the defined time frame", e.getMessage());
+        }
+
+        assertTrue(watch.isCancelled());
+    }
+}
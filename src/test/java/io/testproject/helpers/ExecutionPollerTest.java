@@ -0,0 +1,195 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.ExecutionState;
+import io.testproject.model.ExecutionStateResponseData;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ExecutionPollerTest {
+
+    private static ExecutionStateResponseData state(ExecutionState executionState) {
+        ExecutionStateResponseData state = new ExecutionStateResponseData();
+        state.setState(executionState);
+
+        return state;
+    }
+
+    /**
+     * Triggers a state check right away (as a completion callback does) and waits for it to run
+     */
+    private static void poll(String executionId, Semaphore checked) throws InterruptedException {
+        ExecutionCallbacks.complete(executionId);
+        assertTrue("The state was not checked", checked.tryAcquire(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void openBreakerDoesNotFailTheWatch() throws Exception {
+        String executionId = UUID.randomUUID().toString();
+        CircuitBreaker breaker = new CircuitBreaker("poll", 1, TimeUnit.HOURS.toMillis(1));
+        breaker.acquire();
+        breaker.onFailure();
+
+        AtomicBoolean recovered = new AtomicBoolean();
+        Semaphore checked = new Semaphore(0);
+
+        CompletableFuture<ExecutionStateResponseData> watch = ExecutionPoller.watch(executionId, () -> {
+            try {
+                if (!recovered.get())
+                    breaker.acquire();
+
+                return state(ExecutionState.Passed);
+            } finally {
+                checked.release();
+            }
+        }, null);
+
+        try {
+            for (int i = 0; i < 10; i++)
+                poll(executionId, checked);
+
+            assertFalse(watch.isDone());
+            assertEquals(10, breaker.getRejected());
+
+            recovered.set(true);
+            poll(executionId, checked);
+
+            assertEquals(ExecutionState.Passed, watch.get(5, TimeUnit.SECONDS).getState());
+        } finally {
+            watch.cancel(false);
+        }
+    }
+
+    @Test
+    public void expiredDeadlineDoesNotFailTheWatch() throws Exception {
+        String executionId = UUID.randomUUID().toString();
+        Semaphore checked = new Semaphore(0);
+
+        CompletableFuture<ExecutionStateResponseData> watch = ExecutionPoller.watch(executionId, () -> {
+            checked.release();
+            throw new SkippedRequestException("The time frame for the request has expired");
+        }, null);
+
+        try {
+            for (int i = 0; i < 10; i++)
+                poll(executionId, checked);
+
+            assertFalse(watch.isDone());
+        } finally {
+            watch.cancel(false);
+        }
+    }
+
+    @Test
+    public void consecutiveFailuresFailTheWatch() throws Exception {
+        String executionId = UUID.randomUUID().toString();
+        Semaphore checked = new Semaphore(0);
+
+        CompletableFuture<ExecutionStateResponseData> watch = ExecutionPoller.watch(executionId, () -> {
+            checked.release();
+            throw new IOException("Connection reset");
+        }, null);
+
+        try {
+            for (int i = 0; i < 4; i++)
+                poll(executionId, checked);
+            assertFalse(watch.isDone());
+
+            poll(executionId, checked);
+
+            try {
+                watch.get(5, TimeUnit.SECONDS);
+                fail("The watch did not fail");
+            } catch (ExecutionException e) {
+                assertEquals("Connection reset", e.getCause().getMessage());
+            }
+        } finally {
+            watch.cancel(false);
+        }
+    }
+
+    @Test
+    public void skippedChecksDoNotResetTheFailures() throws Exception {
+        String executionId = UUID.randomUUID().toString();
+        Semaphore checked = new Semaphore(0);
+        AtomicBoolean skip = new AtomicBoolean();
+
+        CompletableFuture<ExecutionStateResponseData> watch = ExecutionPoller.watch(executionId, () -> {
+            try {
+                if (skip.get())
+                    throw new SkippedRequestException("TestProject poll requests are failing");
+
+                throw new IOException("Connection reset");
+            } finally {
+                checked.release();
+            }
+        }, null);
+
+        try {
+            for (int i = 0; i < 4; i++)
+                poll(executionId, checked);
+
+            skip.set(true);
+            poll(executionId, checked);
+            assertFalse(watch.isDone());
+
+            skip.set(false);
+            poll(executionId, checked);
+
+            try {
+                watch.get(5, TimeUnit.SECONDS);
+                fail("The watch did not fail");
+            } catch (ExecutionException e) {
+                assertEquals("Connection reset", e.getCause().getMessage());
+            }
+        } finally {
+            watch.cancel(false);
+        }
+    }
+
+    @Test
+    public void mergesChecksRequestedWhileAnotherOneRuns() throws Exception {
+        String executionId = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger checks = new AtomicInteger();
+
+        CompletableFuture<ExecutionStateResponseData> watch = ExecutionPoller.watch(executionId, () -> {
+            checks.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return state(ExecutionState.Executing);
+        }, null);
+
+        try {
+            ExecutionCallbacks.complete(executionId);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 100; i++)
+                ExecutionCallbacks.complete(executionId);
+
+            release.countDown();
+            Thread.sleep(200);
+
+            // The running check and the merged ones, a queued request may still arrive after a merged check has started
+            assertTrue("Ran " + checks.get() + " checks", checks.get() >= 2 && checks.get() <= 3);
+        } finally {
+            watch.cancel(false);
+        }
+    }
+}
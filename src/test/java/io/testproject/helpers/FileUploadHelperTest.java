@@ -0,0 +1,116 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import io.testproject.constants.Constants;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class FileUploadHelperTest {
+
+    private static final String APP_ID = "app1234567890123456789";
+    private static final String UPLOAD_URL = "https://uploads.example.com/app";
+    private static final byte[] CONTENT = "application content".getBytes(StandardCharsets.UTF_8);
+
+    private final String projectId = UUID.randomUUID().toString();
+    private final String linkUrl = String.format(Constants.TP_GET_UPLOAD_LINK_APP, projectId, APP_ID);
+    private final String confirmUrl = String.format(Constants.TP_CONFIRM_NEW_APP_FILE, projectId, APP_ID);
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("application", ".apk");
+        Files.write(file.toPath(), CONTENT);
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private FileUploadHelper helper(ReplayedApi api) {
+        return new FileUploadHelper(api.apiHelper(), projectId, APP_ID, file.getName(), Constants.TP_APP_FILE_SYMBOL,
+                new FilePath(file.getParentFile()), new ArrayList<>(Constants.APP_FILE_EXTENSIONS));
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(content)));
+    }
+
+    @Test
+    public void recordsTheDigestOfTheUploadedFile() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", linkUrl, 200, "{\"url\":\"" + UPLOAD_URL + "\"}")
+                    .respond("PUT", UPLOAD_URL, 200, "")
+                    .respond("POST", confirmUrl, 200, "");
+
+            FileUploadHelper helper = helper(api);
+            helper.updateFile();
+
+            assertEquals(sha256(CONTENT), helper.getDigest());
+            assertEquals(sha256(CONTENT), ArtifactDigests.get(api.apiHelper(), projectId).get(APP_ID));
+            assertEquals(1, api.served("PUT", UPLOAD_URL));
+            assertEquals(1, api.served("POST", confirmUrl));
+        }
+    }
+
+    @Test
+    public void failedLinkRequestSkipsTheUpload() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", linkUrl, 403, "{\"message\":\"Forbidden\"}")
+                    .respond("PUT", UPLOAD_URL, 200, "");
+
+            try {
+                helper(api).updateFile();
+                fail("The update did not fail");
+            } catch (AbortException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Failed to initialize TestProject artifact"));
+            }
+
+            assertEquals(0, api.served("PUT", UPLOAD_URL));
+            assertNull(ArtifactDigests.get(api.apiHelper(), projectId).get(APP_ID));
+        }
+    }
+
+    @Test
+    public void unconfirmedUploadIsNotRecorded() throws Exception {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", linkUrl, 200, "{\"url\":\"" + UPLOAD_URL + "\"}")
+                    .respond("PUT", UPLOAD_URL, 200, "")
+                    .respond("POST", confirmUrl, 400, "{\"message\":\"Invalid file\"}");
+
+            try {
+                helper(api).updateFile();
+                fail("The update did not fail");
+            } catch (AbortException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Failed to update artifact"));
+            }
+
+            assertNull(ArtifactDigests.get(api.apiHelper(), projectId).get(APP_ID));
+        }
+    }
+
+    @Test
+    public void digestCoversTheStreamedContent() throws Exception {
+        try (FileBody body = new FileBody(file)) {
+            try (InputStream in = body.takeStream()) {
+                assertArrayEquals(CONTENT, IOUtils.toByteArray(in));
+            }
+
+            assertEquals(sha256(CONTENT), body.getDigest());
+        }
+    }
+}
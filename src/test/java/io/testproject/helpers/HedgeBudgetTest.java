@@ -0,0 +1,54 @@
+package io.testproject.helpers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HedgeBudgetTest {
+
+    private static void requests(HedgeBudget budget, int count) {
+        for (int i = 0; i < count; i++)
+            budget.onRequest();
+    }
+
+    @Test
+    public void hedgesOneInTwentyRequests() {
+        HedgeBudget budget = new HedgeBudget(5, 10);
+
+        requests(budget, 19);
+        assertFalse(budget.tryAcquire());
+
+        budget.onRequest();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        assertEquals(1, budget.getHedged());
+    }
+
+    @Test
+    public void quietPeriodsOnlySaveUpTheCap() {
+        HedgeBudget budget = new HedgeBudget(5, 10);
+
+        // Thousands of fast requests would allow a burst of 100 hedges with lifetime counters
+        requests(budget, 2000);
+
+        int hedged = 0;
+        while (budget.tryAcquire())
+            hedged++;
+
+        assertEquals(10, hedged);
+    }
+
+    @Test
+    public void refillsAsRequestsContinue() {
+        HedgeBudget budget = new HedgeBudget(5, 10);
+        requests(budget, 2000);
+        while (budget.tryAcquire()) ;
+
+        requests(budget, 40);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        assertEquals(12, budget.getHedged());
+    }
+}
@@ -0,0 +1,139 @@
+package io.testproject.helpers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.testproject.model.ExecutionStateResponseData;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Guards the hand-written model adapters against drifting from the model classes.
+ * Every model must read and write the same JSON as reflective Gson does.
+ */
+public class ModelTypeAdaptersTest {
+
+    private static final Gson REFLECTIVE = new Gson();
+
+    private static List<Field> serializedFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()) && !field.isSynthetic())
+                fields.add(field);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Creates an instance of a model with a value in every field
+     */
+    private static Object sample(Class<?> clazz) throws Exception {
+        Object instance = clazz.getDeclaredConstructor().newInstance();
+
+        for (Field field : serializedFields(clazz)) {
+            field.setAccessible(true);
+            field.set(instance, sampleValue(field));
+        }
+
+        return instance;
+    }
+
+    private static Object sampleValue(Field field) throws Exception {
+        Class<?> type = field.getType();
+
+        if (type == String.class || type == Object.class)
+            return field.getName() + "-value";
+        if (type == Integer.class || type == int.class)
+            return 7;
+        if (type == Boolean.class || type == boolean.class)
+            return true;
+        if (type.isEnum())
+            return type.getEnumConstants()[type.getEnumConstants().length - 1];
+        if (type == JsonObject.class) {
+            JsonObject object = new JsonObject();
+            object.addProperty("key", "value");
+            return object;
+        }
+        if (ModelTypeAdapters.getModelClasses().contains(type))
+            return sample(type);
+
+        throw new AssertionError("No sample value for " + field + ", add one to the test");
+    }
+
+    private static JsonElement parse(String json) {
+        return new JsonParser().parse(json);
+    }
+
+    @Test
+    public void everyModelClassIsRegistered() {
+        URL models = ExecutionStateResponseData.class.getResource("");
+        assertNotNull(models);
+
+        File[] classes = new File(models.getPath()).listFiles((dir, name) -> name.endsWith(".class") && !name.contains("$"));
+        assertNotNull("The model classes are not in a directory: " + models, classes);
+        assertTrue(classes.length > 0);
+
+        for (File file : classes) {
+            String name = ExecutionStateResponseData.class.getPackage().getName() + "." + file.getName().replace(".class", "");
+            boolean registered = false;
+            for (Class<?> clazz : ModelTypeAdapters.getModelClasses())
+                registered |= clazz.getName().equals(name);
+
+            assertTrue(name + " has no adapter in ModelTypeAdapters", registered);
+        }
+    }
+
+    @Test
+    public void everyFieldIsRegistered() {
+        for (Class<?> clazz : ModelTypeAdapters.getModelClasses()) {
+            List<String> properties = ModelTypeAdapters.getPropertyNames(clazz);
+
+            for (Field field : serializedFields(clazz))
+                assertTrue(clazz.getSimpleName() + "." + field.getName() + " is not registered in ModelTypeAdapters",
+                        properties.contains(field.getName()));
+
+            assertEquals(clazz.getSimpleName() + " registers properties it does not have",
+                    serializedFields(clazz).size(), properties.size());
+        }
+    }
+
+    @Test
+    public void writesTheSameJsonAsReflectiveGson() throws Exception {
+        for (Class<?> clazz : ModelTypeAdapters.getModelClasses()) {
+            Object filled = sample(clazz);
+            assertEquals(clazz.getSimpleName(), parse(REFLECTIVE.toJson(filled)), parse(SerializationHelper.toJson(filled)));
+
+            Object empty = clazz.getDeclaredConstructor().newInstance();
+            assertEquals(clazz.getSimpleName(), parse(REFLECTIVE.toJson(empty)), parse(SerializationHelper.toJson(empty)));
+        }
+    }
+
+    @Test
+    public void readsTheSameJsonAsReflectiveGson() throws Exception {
+        for (Class<?> clazz : ModelTypeAdapters.getModelClasses()) {
+            String json = REFLECTIVE.toJson(sample(clazz));
+
+            assertEquals(clazz.getSimpleName(),
+                    parse(REFLECTIVE.toJson(REFLECTIVE.fromJson(json, clazz))),
+                    parse(REFLECTIVE.toJson(SerializationHelper.fromJson(json, clazz))));
+        }
+    }
+
+    @Test
+    public void readsUnknownEnumConstantsAsNull() {
+        ExecutionStateResponseData state = SerializationHelper.fromJson("{\"state\":\"Paused\",\"failedTests\":2}", ExecutionStateResponseData.class);
+
+        assertNull(state.getState());
+        assertEquals(Integer.valueOf(2), state.getFailedTests());
+    }
+}
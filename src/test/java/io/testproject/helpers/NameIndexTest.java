@@ -0,0 +1,85 @@
+package io.testproject.helpers;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class NameIndexTest {
+
+    private static final String[][] ITEMS = {
+            {"id-3", "Smoke tests"},
+            {"id-1", "Login flow"},
+            {"id-2", "Checkout"},
+            {"id-4", "login - admin"},
+            {"id-5", "Logout"},
+            {"xyz-login", "Settings"},
+    };
+
+    private static NameIndex<String[]> index() {
+        return new NameIndex<>(ITEMS, item -> item[1], item -> item[0]);
+    }
+
+    private static List<String> ids(NameIndex.Page<String[]> page) {
+        return page.getItems().stream().map(item -> item[0]).collect(Collectors.toList());
+    }
+
+    @Test
+    public void emptyQueryListsItemsInTheirOriginalOrder() {
+        NameIndex.Page<String[]> page = index().search("  ", null, 10);
+
+        assertEquals(Arrays.asList("id-3", "id-1", "id-2", "id-4", "id-5", "xyz-login"), ids(page));
+        assertEquals(6, page.getTotal());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    public void prefixMatchesComeFirst() {
+        NameIndex.Page<String[]> page = index().search("LOG", null, 10);
+
+        // Prefix matches in name order, then the items whose ID contains the query
+        assertEquals(Arrays.asList("id-4", "id-1", "id-5", "xyz-login"), ids(page));
+    }
+
+    @Test
+    public void matchesPartOfTheNameOrId() {
+        assertEquals(Arrays.asList("id-3"), ids(index().search("tests", null, 10)));
+        assertEquals(Arrays.asList("id-2"), ids(index().search("id-2", null, 10)));
+    }
+
+    @Test
+    public void limitsTheMatches() {
+        NameIndex.Page<String[]> page = index().search("log", null, 2);
+
+        assertEquals(Arrays.asList("id-4", "id-1"), ids(page));
+        assertEquals(4, page.getTotal());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    public void filtersTheItems() {
+        NameIndex.Page<String[]> page = index().search("log", item -> item[0].startsWith("id-"), 10);
+
+        assertEquals(Arrays.asList("id-4", "id-1", "id-5"), ids(page));
+        assertEquals(3, page.getTotal());
+    }
+
+    @Test
+    public void findsNothing() {
+        NameIndex.Page<String[]> page = index().search("missing", null, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(0, page.getTotal());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    public void findsAnItemById() {
+        assertEquals("Checkout", index().find("ID-2")[1]);
+        assertNull(index().find("id-9"));
+        assertNull(index().find(null));
+    }
+}
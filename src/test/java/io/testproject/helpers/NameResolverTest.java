@@ -0,0 +1,99 @@
+package io.testproject.helpers;
+
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class NameResolverTest {
+
+    private static final String JOB_ID = "job4567890123456789012";
+    private static final String JOBS = "[{\"id\":\"" + JOB_ID + "\",\"name\":\"Nightly\"},"
+            + "{\"id\":\"other\",\"name\":\"Smoke\"},"
+            + "{\"id\":\"copy-1\",\"name\":\"Copy\"},"
+            + "{\"id\":\"copy-2\",\"name\":\"copy\"}]";
+
+    private final String projectId = UUID.randomUUID().toString();
+    private final String jobsUrl = String.format(Constants.TP_RETURN_PROJECT_JOBS, projectId);
+    private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+    @After
+    public void resetLogger() {
+        LogHelper.SetLogger((PrintStream) null, false);
+    }
+
+    private static String resolve(ReplayedApi api, String projectId, String value) throws AbortException {
+        return NameResolver.resolve(api.apiHelper(), NameResolver.Kind.JOB, projectId, value);
+    }
+
+    @Test
+    public void idsAreUsedWithoutFetchingTheList() throws AbortException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", jobsUrl, 200, JOBS);
+
+            assertEquals(JOB_ID, resolve(api, projectId, JOB_ID));
+            assertEquals(0, api.served("GET", jobsUrl));
+        }
+    }
+
+    @Test
+    public void resolvesNamesIgnoringTheirCase() throws AbortException {
+        LogHelper.SetLogger(new PrintStream(log, true), false);
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", jobsUrl, 200, JOBS);
+
+            assertEquals(JOB_ID, resolve(api, projectId, "nightly"));
+            assertEquals("other", resolve(api, projectId, "Smoke"));
+            assertEquals(1, api.served("GET", jobsUrl));
+            assertTrue(log.toString().contains("Using job 'nightly' [" + JOB_ID + "]"));
+        }
+    }
+
+    @Test
+    public void unknownValuesAreUsedAsTheyAre() throws AbortException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", jobsUrl, 200, JOBS);
+
+            assertEquals("Missing", resolve(api, projectId, "Missing"));
+            assertEquals(1, api.served("GET", jobsUrl));
+        }
+    }
+
+    @Test
+    public void valuesAreUsedAsTheyAreWhenTheListIsUnavailable() throws AbortException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", jobsUrl, 404, "{\"message\":\"Not found\"}");
+
+            assertEquals("Nightly", resolve(api, projectId, "Nightly"));
+        }
+    }
+
+    @Test
+    public void ambiguousNamesAbort() {
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", jobsUrl, 200, JOBS);
+
+            try {
+                resolve(api, projectId, "COPY");
+                fail("The name was resolved");
+            } catch (AbortException e) {
+                assertEquals("There are 2 jobs named 'COPY' (copy-1, copy-2), please use the ID instead", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void emptyValuesAreNotResolved() throws AbortException {
+        try (ReplayedApi api = new ReplayedApi()) {
+            assertEquals("", resolve(api, projectId, ""));
+            assertNull(resolve(api, projectId, null));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.testproject.helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves canned TestProject API responses through the replay transport, for tests of code that sends requests with ApiHelper.
+ * Responses of the same request are served in the order they were added, and the last one is served again once they run out.
+ */
+public class ReplayedApi implements AutoCloseable {
+    public static final String API_KEY = "replayed-api-key";
+
+    private final Map<String, Deque<ApiTraffic.Exchange>> exchanges = new ConcurrentHashMap<>();
+
+    /**
+     * Every added exchange, including the ones that were already served and removed from the replay queue
+     */
+    private final List<ApiTraffic.Exchange> added = new ArrayList<>();
+
+    public ReplayedApi() {
+        ApiTraffic.setReplay(exchanges, 1);
+    }
+
+    public ReplayedApi respond(String method, String url, int status, String content) {
+        return respond(method, url, status, content, 0);
+    }
+
+    /**
+     * Adds a response
+     * @param method The method of the request
+     * @param url The full URL of the request, including the query string
+     * @param status The status code of the response
+     * @param content The body of the response
+     * @param latency How long the response takes, in milliseconds
+     * @return This instance
+     */
+    public synchronized ReplayedApi respond(String method, String url, int status, String content, long latency) {
+        ApiTraffic.Exchange exchange = new ApiTraffic.Exchange();
+        exchange.method = method;
+        exchange.url = url;
+        exchange.status = status;
+        exchange.content = content;
+        exchange.latency = latency;
+
+        added.add(exchange);
+        Deque<ApiTraffic.Exchange> queue = exchanges.computeIfAbsent(method + " " + url, key -> new ArrayDeque<>());
+        synchronized (queue) {
+            queue.add(exchange);
+        }
+
+        return this;
+    }
+
+    /**
+     * @return How many times a request was sent
+     */
+    public synchronized int served(String method, String url) {
+        int served = 0;
+        for (ApiTraffic.Exchange exchange : added) {
+            if (exchange.method.equals(method) && exchange.url.equals(url))
+                served += exchange.served;
+        }
+
+        return served;
+    }
+
+    /**
+     * @return An ApiHelper with an API key, requests are not sent without one
+     */
+    public ApiHelper apiHelper() {
+        return new ApiHelper(API_KEY);
+    }
+
+    @Override
+    public void close() {
+        ApiTraffic.setReplay(null, 1);
+    }
+}
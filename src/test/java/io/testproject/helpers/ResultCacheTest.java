@@ -0,0 +1,94 @@
+package io.testproject.helpers;
+
+import io.testproject.constants.Constants;
+import io.testproject.constants.ExecutionState;
+import io.testproject.model.ExecutionStateResponseData;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ResultCacheTest {
+
+    private static ResultCache.Result result(ExecutionState state, String report) {
+        ExecutionStateResponseData data = new ExecutionStateResponseData();
+        data.setState(state);
+
+        return new ResultCache.Result(UUID.randomUUID().toString(), data, "build", report);
+    }
+
+    @Test
+    public void findsStoredPassingResults() {
+        String key = UUID.randomUUID().toString();
+        ResultCache.Result result = result(ExecutionState.Passed, "report");
+
+        ResultCache.store(key, result);
+
+        assertSame(result, ResultCache.find(key, 60));
+    }
+
+    @Test
+    public void doesNotStoreFailedResults() {
+        String key = UUID.randomUUID().toString();
+
+        ResultCache.store(key, result(ExecutionState.Failed, "report"));
+
+        assertNull(ResultCache.find(key, 60));
+    }
+
+    @Test
+    public void ignoresResultsOlderThanRequested() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        ResultCache.store(key, result(ExecutionState.Passed, "report"));
+
+        Thread.sleep(5);
+
+        assertNull(ResultCache.find(key, 0));
+        assertNotNull(ResultCache.find(key, 1));
+    }
+
+    @Test
+    public void evictsTheOldestResults() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i <= Constants.RESULT_CACHE_MAX_ENTRIES; i++) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            ResultCache.store(key, result(ExecutionState.Passed, "report " + i));
+        }
+
+        assertNull(ResultCache.find(keys.get(0), 60));
+        for (String key : keys.subList(1, keys.size()))
+            assertNotNull(ResultCache.find(key, 60));
+    }
+
+    @Test
+    public void storingAgainKeepsTheResult() {
+        String first = UUID.randomUUID().toString();
+        ResultCache.store(first, result(ExecutionState.Passed, "report"));
+
+        for (int i = 0; i < Constants.RESULT_CACHE_MAX_ENTRIES; i++) {
+            // Refreshing the first result moves it behind the others in the eviction order
+            if (i == Constants.RESULT_CACHE_MAX_ENTRIES / 2)
+                ResultCache.store(first, result(ExecutionState.Passed, "newer report"));
+
+            ResultCache.store(UUID.randomUUID().toString(), result(ExecutionState.Passed, "report"));
+        }
+
+        assertNotNull(ResultCache.find(first, 60));
+    }
+
+    @Test
+    public void fetchesAMissingReportOnce() throws IOException {
+        ResultCache.Result result = result(ExecutionState.Passed, null);
+        AtomicInteger fetched = new AtomicInteger();
+
+        assertEquals("report 1", result.getReport(() -> "report " + fetched.incrementAndGet()));
+        assertEquals("report 1", result.getReport(() -> "report " + fetched.incrementAndGet()));
+        assertEquals(1, fetched.get());
+    }
+}
@@ -0,0 +1,143 @@
+package io.testproject.helpers;
+
+import io.testproject.model.ExecutionStateResponseData;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SharedExecutionTest {
+
+    @Test
+    public void firstBuildOwnsTheExecution() {
+        String key = UUID.randomUUID().toString();
+
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        assertTrue(owner.isOwner());
+        assertFalse(joined.isOwner());
+        assertEquals("build 1", joined.getBuild());
+        assertEquals(1, owner.getOtherWaiters());
+    }
+
+    @Test
+    public void sharesTheExecutionId() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        owner.started("execution");
+
+        assertEquals("execution", joined.awaitExecutionId());
+    }
+
+    @Test
+    public void failedTriggerIsNotShared() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        owner.failed(new IOException("Agent is offline"));
+
+        assertNull(joined.awaitExecutionId());
+        assertTrue(SharedExecution.join(key, "build 3").isOwner());
+    }
+
+    @Test
+    public void startsASingleWatch() {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<ExecutionStateResponseData> watch = new CompletableFuture<>();
+
+        CompletableFuture<ExecutionStateResponseData> first = owner.watch(() -> {
+            started.incrementAndGet();
+            return watch;
+        });
+        CompletableFuture<ExecutionStateResponseData> second = joined.watch(() -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        ExecutionStateResponseData state = new ExecutionStateResponseData();
+        watch.complete(state);
+
+        assertEquals(1, started.get());
+        assertSame(state, first.join());
+        assertSame(state, second.join());
+    }
+
+    @Test
+    public void finishedExecutionIsNotJoined() {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+
+        CompletableFuture<ExecutionStateResponseData> watch = new CompletableFuture<>();
+        owner.watch(() -> watch);
+        watch.complete(new ExecutionStateResponseData());
+
+        assertTrue(SharedExecution.join(key, "build 2").isOwner());
+    }
+
+    @Test
+    public void fetchesTheReportOnce() throws IOException {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        AtomicInteger fetched = new AtomicInteger();
+        SharedExecution.ReportSource source = () -> "report " + fetched.incrementAndGet();
+
+        assertEquals("report 1", owner.getReport(source));
+        assertEquals("report 1", joined.getReport(source));
+        assertEquals(1, fetched.get());
+    }
+
+    @Test
+    public void cancelledViewKeepsTheSharedWatch() {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        CompletableFuture<ExecutionStateResponseData> watch = new CompletableFuture<>();
+        owner.watch(() -> watch).cancel(false);
+        joined.watch(() -> watch);
+
+        assertFalse(watch.isCancelled());
+    }
+
+    @Test
+    public void lastReleaseStopsTheWatch() {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.Member joined = SharedExecution.join(key, "build 2");
+
+        CompletableFuture<ExecutionStateResponseData> watch = new CompletableFuture<>();
+        owner.watch(() -> watch);
+
+        assertFalse(owner.release());
+        assertFalse(watch.isCancelled());
+        assertEquals(1, owner.getOtherWaiters());
+
+        assertTrue(joined.release());
+        assertTrue(watch.isCancelled());
+        assertTrue(SharedExecution.join(key, "build 3").isOwner());
+    }
+
+    @Test
+    public void releasingTwiceCountsOnce() {
+        String key = UUID.randomUUID().toString();
+        SharedExecution.Member owner = SharedExecution.join(key, "build 1");
+        SharedExecution.join(key, "build 2");
+
+        assertFalse(owner.release());
+        assertFalse(owner.release());
+    }
+}
@@ -0,0 +1,38 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ArtifactFileTest {
+
+    @Test
+    public void uploadsApplications() throws AbortException {
+        ArtifactFile artifact = new ArtifactFile(ArtifactFile.TYPE_APPLICATION, "app", "app.apk");
+
+        assertTrue(artifact.isApplication());
+        assertEquals(Constants.TP_APP_FILE_SYMBOL, artifact.getActionName());
+        assertEquals(Constants.APP_FILE_EXTENSIONS, artifact.getValidExtensions());
+    }
+
+    @Test
+    public void uploadsDataSources() throws AbortException {
+        ArtifactFile artifact = new ArtifactFile(ArtifactFile.TYPE_DATA_SOURCE, "data", "data.csv");
+
+        assertFalse(artifact.isApplication());
+        assertEquals(Constants.TP_DATA_SOURCE_SYMBOL, artifact.getActionName());
+        assertEquals(Constants.DATA_SOURCE_FILE_EXTENSIONS, artifact.getValidExtensions());
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsUnknownTypes() throws AbortException {
+        new ArtifactFile("testPackage", "package", "tests.jar").getActionName();
+    }
+
+    @Test
+    public void describesUnknownTypes() {
+        assertEquals("artifact 'package'", new ArtifactFile("testPackage", "package", "tests.jar").toString());
+    }
+}
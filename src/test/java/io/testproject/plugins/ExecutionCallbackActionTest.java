@@ -0,0 +1,123 @@
+package io.testproject.plugins;
+
+import io.testproject.constants.Constants;
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ExecutionCallbackActionTest {
+    private static final String SECRET = "callback-secret";
+    private static final byte[] BODY = "{\"executionId\":\"abc\",\"state\":\"Passed\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final String TIMESTAMP = "1700000000";
+
+    private static String sign(String secret, String timestamp, byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        mac.update((timestamp + ".").getBytes(StandardCharsets.UTF_8));
+        return Constants.TP_CALLBACK_SIGNATURE_PREFIX + String.format("%064x", new BigInteger(1, mac.doFinal(body)));
+    }
+
+    private static String sign(String secret, byte[] body) throws Exception {
+        return sign(secret, TIMESTAMP, body);
+    }
+
+    @Test
+    public void acceptsAValidSignature() throws Exception {
+        assertTrue(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, BODY, sign(SECRET, BODY)));
+    }
+
+    @Test
+    public void acceptsAnUpperCaseSignature() throws Exception {
+        String signature = sign(SECRET, BODY);
+        String upperCase = Constants.TP_CALLBACK_SIGNATURE_PREFIX
+                + signature.substring(Constants.TP_CALLBACK_SIGNATURE_PREFIX.length()).toUpperCase();
+
+        assertTrue(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, BODY, upperCase));
+    }
+
+    @Test
+    public void rejectsASignatureOfAnotherSecret() throws Exception {
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, BODY, sign("other-secret", BODY)));
+    }
+
+    @Test
+    public void rejectsATamperedBody() throws Exception {
+        byte[] tampered = "{\"executionId\":\"xyz\",\"state\":\"Passed\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, tampered, sign(SECRET, BODY)));
+    }
+
+    @Test
+    public void rejectsAMissingOrMalformedSignature() throws Exception {
+        String hex = sign(SECRET, BODY).substring(Constants.TP_CALLBACK_SIGNATURE_PREFIX.length());
+
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, BODY, null));
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, BODY, hex));
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, TIMESTAMP, BODY, Constants.TP_CALLBACK_SIGNATURE_PREFIX));
+    }
+
+    @Test
+    public void rejectsAChangedTimestamp() throws Exception {
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, "1700000001", BODY, sign(SECRET, BODY)));
+        assertFalse(ExecutionCallbackAction.isSignatureValid(SECRET, null, BODY, sign(SECRET, BODY)));
+    }
+
+    @Test
+    public void acceptsTimestampsWithinTheSkew() {
+        long now = TimeUnit.SECONDS.toMillis(Long.parseLong(TIMESTAMP));
+
+        assertTrue(ExecutionCallbackAction.isTimestampFresh(TIMESTAMP, now));
+        assertTrue(ExecutionCallbackAction.isTimestampFresh(TIMESTAMP, now + Constants.TP_CALLBACK_MAX_SKEW));
+        assertTrue(ExecutionCallbackAction.isTimestampFresh(TIMESTAMP, now - Constants.TP_CALLBACK_MAX_SKEW));
+    }
+
+    @Test
+    public void rejectsTimestampsOutsideTheSkew() {
+        long now = TimeUnit.SECONDS.toMillis(Long.parseLong(TIMESTAMP));
+
+        assertFalse(ExecutionCallbackAction.isTimestampFresh(TIMESTAMP, now + Constants.TP_CALLBACK_MAX_SKEW + 1000));
+        assertFalse(ExecutionCallbackAction.isTimestampFresh(TIMESTAMP, now - Constants.TP_CALLBACK_MAX_SKEW - 1000));
+    }
+
+    @Test
+    public void rejectsMalformedTimestamps() {
+        long now = System.currentTimeMillis();
+
+        assertFalse(ExecutionCallbackAction.isTimestampFresh(null, now));
+        assertFalse(ExecutionCallbackAction.isTimestampFresh("", now));
+        assertFalse(ExecutionCallbackAction.isTimestampFresh("yesterday", now));
+    }
+
+    @Test
+    public void replayWindowCoversTheSkew() {
+        // A callback is remembered for as long as its timestamp is accepted on either side of the Jenkins clock
+        assertTrue(Constants.TP_CALLBACK_REPLAY_WINDOW >= 2 * Constants.TP_CALLBACK_MAX_SKEW);
+    }
+
+    @Test
+    public void detectsAReplayedCallback() {
+        String signature = Constants.TP_CALLBACK_SIGNATURE_PREFIX + UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        assertFalse(ExecutionCallbackAction.isReplay(signature, now));
+        assertTrue(ExecutionCallbackAction.isReplay(signature, now + 1000));
+        assertTrue(ExecutionCallbackAction.isReplay(signature.toUpperCase(), now + 2000));
+    }
+
+    @Test
+    public void acceptsTheSameSignatureAfterTheReplayWindow() {
+        String signature = Constants.TP_CALLBACK_SIGNATURE_PREFIX + UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        assertFalse(ExecutionCallbackAction.isReplay(signature, now));
+        assertFalse(ExecutionCallbackAction.isReplay(signature, now + Constants.TP_CALLBACK_REPLAY_WINDOW + 1));
+    }
+}
@@ -0,0 +1,95 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RunExecutionGraphTest {
+
+    private static GraphNode node(String id, String dependsOn) {
+        GraphNode node = new GraphNode(id, "project");
+        node.setJobId("job-" + id);
+        node.setDependsOn(dependsOn);
+
+        return node;
+    }
+
+    private static List<String> ids(List<GraphNode> nodes) {
+        List<String> ids = new ArrayList<>();
+        for (GraphNode node : nodes)
+            ids.add(node.getId());
+
+        return ids;
+    }
+
+    @Test
+    public void sortsNodesAfterTheirDependencies() throws AbortException {
+        RunExecutionGraph graph = new RunExecutionGraph(Arrays.asList(
+                node("deploy", "build, test"),
+                node("test", "build"),
+                node("build", "")));
+
+        assertEquals(Arrays.asList("build", "test", "deploy"), ids(graph.sortNodes()));
+    }
+
+    @Test
+    public void reportsTheNodesOfACycle() {
+        RunExecutionGraph graph = new RunExecutionGraph(Arrays.asList(
+                node("setup", ""),
+                node("a", "setup, c"),
+                node("b", "a"),
+                node("c", "b")));
+
+        try {
+            graph.sortNodes();
+            fail("The cycle was not detected");
+        } catch (AbortException e) {
+            assertEquals("The dependencies of the following nodes form a cycle: a, b, c", e.getMessage());
+        }
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsSelfDependencies() throws AbortException {
+        new RunExecutionGraph(Collections.singletonList(node("a", "a"))).sortNodes();
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsUnknownDependencies() throws AbortException {
+        new RunExecutionGraph(Collections.singletonList(node("a", "missing"))).sortNodes();
+    }
+
+    @Test
+    public void findsTheSlowestChain() throws AbortException {
+        RunExecutionGraph graph = new RunExecutionGraph(Arrays.asList(
+                node("build", ""),
+                node("fast", "build"),
+                node("slow", "build"),
+                node("deploy", "fast, slow"),
+                node("lint", "")));
+
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("build", 10L);
+        durations.put("fast", 5L);
+        durations.put("slow", 30L);
+        durations.put("deploy", 20L);
+        durations.put("lint", 50L);
+
+        List<String> path = new ArrayList<>();
+        long seconds = RunExecutionGraph.findCriticalPath(graph.sortNodes(), durations::get, path);
+
+        assertEquals(60, seconds);
+        assertEquals(Arrays.asList("build", "slow", "deploy"), path);
+    }
+
+    @Test
+    public void findsASingleNodePath() throws AbortException {
+        RunExecutionGraph graph = new RunExecutionGraph(Collections.singletonList(node("only", "")));
+
+        List<String> path = new ArrayList<>();
+        assertEquals(7, RunExecutionGraph.findCriticalPath(graph.sortNodes(), id -> 7, path));
+        assertEquals(Collections.singletonList("only"), path);
+    }
+}
@@ -0,0 +1,151 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import io.testproject.helpers.Deadline;
+import io.testproject.helpers.TrackedExecution;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RunJobsTest {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    /**
+     * An execution that runs for a while without TestProject, and tracks how many executions are running at once
+     */
+    private class FakeExecution extends TrackedExecution {
+        private final boolean passes;
+        private final long runMillis;
+        private volatile Runnable onComplete;
+        private volatile boolean triggered;
+        private volatile boolean aborted;
+
+        FakeExecution(String name, boolean passes, long runMillis) {
+            super(name, Collections.emptyMap(), null);
+            this.passes = passes;
+            this.runMillis = runMillis;
+        }
+
+        @Override
+        public boolean trigger(Object buildNumber, Deadline deadline, Runnable onComplete) {
+            this.onComplete = onComplete;
+            triggered = true;
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(runMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finish();
+            });
+
+            return true;
+        }
+
+        private synchronized void finish() {
+            if (onComplete == null)
+                return;
+
+            active.decrementAndGet();
+            onComplete.run();
+            onComplete = null;
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public boolean abort() {
+            aborted = true;
+            finish();
+
+            return true;
+        }
+
+        @Override
+        public void confirmAborted(long deadline) {
+        }
+
+        @Override
+        public boolean isPassed() {
+            return passes && !aborted;
+        }
+    }
+
+    private static RunJobs step(int maxConcurrency, boolean failFast) {
+        RunJobs step = new RunJobs(Collections.singletonList(new JobEntry("project", "job")));
+        step.setMaxConcurrency(maxConcurrency);
+        step.setFailFast(failFast);
+
+        return step;
+    }
+
+    private static long deadline(int seconds) {
+        return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    @Test
+    public void runsNoMoreThanTheLimitAtATime() throws Exception {
+        List<TrackedExecution> runs = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+            runs.add(new FakeExecution("job " + i, true, 30));
+
+        step(2, false).runAll(runs, 1, deadline(10));
+
+        assertEquals(2, maxActive.get());
+        assertEquals(0, active.get());
+        for (TrackedExecution run : runs)
+            assertTrue(((FakeExecution) run).triggered);
+    }
+
+    @Test
+    public void failureStopsTriggeringWithFailFast() throws Exception {
+        FakeExecution failing = new FakeExecution("failing", false, 10);
+        FakeExecution slow = new FakeExecution("slow", true, 5000);
+        FakeExecution queued = new FakeExecution("queued", true, 10);
+
+        step(2, true).runAll(Arrays.asList(failing, slow, queued), 1, deadline(10));
+
+        assertFalse(queued.triggered);
+        assertTrue(slow.aborted);
+    }
+
+    @Test
+    public void failureDoesNotStopTheOthersWithoutFailFast() throws Exception {
+        FakeExecution failing = new FakeExecution("failing", false, 10);
+        FakeExecution running = new FakeExecution("running", true, 50);
+        FakeExecution queued = new FakeExecution("queued", true, 10);
+
+        step(2, false).runAll(Arrays.asList(failing, running, queued), 1, deadline(10));
+
+        assertTrue(queued.triggered);
+        assertFalse(running.aborted);
+    }
+
+    @Test
+    public void expiredWaitAbortsTheRunningJobs() throws Exception {
+        FakeExecution slow = new FakeExecution("slow", true, 5000);
+
+        try {
+            step(1, false).runAll(Collections.singletonList(slow), 1, System.currentTimeMillis() + 100);
+            fail("The wait did not time out");
+        } catch (AbortException e) {
+            assertEquals("The jobs did not finish within the defined time frame", e.getMessage());
+        }
+
+        assertTrue(slow.aborted);
+    }
+}
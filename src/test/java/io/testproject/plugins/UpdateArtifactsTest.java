@@ -0,0 +1,115 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.ReplayedApi;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UpdateArtifactsTest {
+
+    private static final String APP_ID = "app1234567890123456789";
+    private static final String DATA_SOURCE_ID = "dat1234567890123456789";
+    private static final String UPLOAD_URL = "https://uploads.example.com/";
+
+    private final String projectId = UUID.randomUUID().toString();
+    private final List<File> files = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (File file : files)
+            file.delete();
+    }
+
+    private File file(String extension) throws IOException {
+        File file = File.createTempFile("artifact", "." + extension);
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        files.add(file);
+
+        return file;
+    }
+
+    private UpdateArtifacts step(ArtifactFile... artifacts) {
+        UpdateArtifacts step = new UpdateArtifacts(projectId, Arrays.asList(artifacts));
+        step.setMaxConcurrency(2);
+
+        return step;
+    }
+
+    private void respondUpload(ReplayedApi api, String linkUrl, String confirmUrl, String artifactId) {
+        api.respond("GET", String.format(linkUrl, projectId, artifactId), 200, "{\"url\":\"" + UPLOAD_URL + artifactId + "\"}")
+                .respond("PUT", UPLOAD_URL + artifactId, 200, "")
+                .respond("POST", String.format(confirmUrl, projectId, artifactId), 200, "");
+    }
+
+    @Test
+    public void updatesEveryArtifact() throws Exception {
+        File app = file("apk");
+        File dataSource = file("csv");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            respondUpload(api, Constants.TP_GET_UPLOAD_LINK_APP, Constants.TP_CONFIRM_NEW_APP_FILE, APP_ID);
+            respondUpload(api, Constants.TP_GET_UPLOAD_LINK_DS, Constants.TP_CONFIRM_NEW_DS_FILE, DATA_SOURCE_ID);
+
+            step(new ArtifactFile(ArtifactFile.TYPE_APPLICATION, APP_ID, app.getPath()),
+                    new ArtifactFile(ArtifactFile.TYPE_DATA_SOURCE, DATA_SOURCE_ID, dataSource.getPath()))
+                    .updateArtifacts(api.apiHelper(), projectId, new FilePath(app.getParentFile()));
+
+            assertEquals(1, api.served("POST", String.format(Constants.TP_CONFIRM_NEW_APP_FILE, projectId, APP_ID)));
+            assertEquals(1, api.served("POST", String.format(Constants.TP_CONFIRM_NEW_DS_FILE, projectId, DATA_SOURCE_ID)));
+        }
+    }
+
+    @Test
+    public void failedArtifactDoesNotStopTheOthers() throws Exception {
+        File app = file("apk");
+        File dataSource = file("csv");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            api.respond("GET", String.format(Constants.TP_GET_UPLOAD_LINK_APP, projectId, APP_ID), 404, "{\"message\":\"Not found\"}");
+            respondUpload(api, Constants.TP_GET_UPLOAD_LINK_DS, Constants.TP_CONFIRM_NEW_DS_FILE, DATA_SOURCE_ID);
+
+            try {
+                step(new ArtifactFile(ArtifactFile.TYPE_APPLICATION, APP_ID, app.getPath()),
+                        new ArtifactFile(ArtifactFile.TYPE_DATA_SOURCE, DATA_SOURCE_ID, dataSource.getPath()))
+                        .updateArtifacts(api.apiHelper(), projectId, new FilePath(app.getParentFile()));
+                fail("The update did not fail");
+            } catch (AbortException e) {
+                assertEquals("Failed to update: application '" + APP_ID + "'", e.getMessage());
+            }
+
+            assertEquals(1, api.served("POST", String.format(Constants.TP_CONFIRM_NEW_DS_FILE, projectId, DATA_SOURCE_ID)));
+        }
+    }
+
+    @Test
+    public void invalidFileIsNotUploaded() throws Exception {
+        File wrongExtension = file("txt");
+
+        try (ReplayedApi api = new ReplayedApi()) {
+            respondUpload(api, Constants.TP_GET_UPLOAD_LINK_APP, Constants.TP_CONFIRM_NEW_APP_FILE, APP_ID);
+
+            try {
+                step(new ArtifactFile(ArtifactFile.TYPE_APPLICATION, APP_ID, wrongExtension.getPath()))
+                        .updateArtifacts(api.apiHelper(), projectId, new FilePath(wrongExtension.getParentFile()));
+                fail("The update did not fail");
+            } catch (AbortException e) {
+                assertEquals("Failed to update: application '" + APP_ID + "'", e.getMessage());
+            }
+
+            assertEquals(0, api.served("PUT", UPLOAD_URL + APP_ID));
+        }
+    }
+}
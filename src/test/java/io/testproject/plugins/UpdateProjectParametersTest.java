@@ -0,0 +1,113 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import io.testproject.helpers.LogHelper;
+import io.testproject.helpers.ReplayedApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UpdateProjectParametersTest {
+
+    private final String projectId = UUID.randomUUID().toString();
+    private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() {
+        LogHelper.SetLogger(new PrintStream(log, true), false);
+    }
+
+    @After
+    public void tearDown() {
+        LogHelper.SetLogger((PrintStream) null, false);
+    }
+
+    private String parameterUrl(String parameterId) {
+        return String.format(Constants.TP_UPDATE_PROJECT_PARAMETERS, projectId, parameterId);
+    }
+
+    private ReplayedApi api() {
+        return new ReplayedApi().respond("GET", String.format(Constants.TP_RETURN_PROJECT_PARAMETERS, projectId), 200,
+                "[{\"id\":\"param-1\",\"name\":\"url\",\"value\":\"https://example.com\"},"
+                        + "{\"id\":\"param-2\",\"name\":\"user\",\"value\":\"admin\"},"
+                        + "{\"id\":\"param-3\",\"name\":\"retries\",\"value\":\"3\"}]");
+    }
+
+    private static Map<String, String> values(String... pairs) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2)
+            values.put(pairs[i], pairs[i + 1]);
+
+        return values;
+    }
+
+    @Test
+    public void sendsOnlyTheChangedParameters() throws Exception {
+        try (ReplayedApi api = api()) {
+            api.respond("PUT", parameterUrl("param-2"), 200, "{\"id\":\"param-2\",\"name\":\"user\",\"value\":\"guest\"}");
+
+            new UpdateProjectParameters().updateProjectParameters(api.apiHelper(), projectId,
+                    values("url", "https://example.com", "param-2", "guest", "retries", "3"));
+
+            assertEquals(1, api.served("PUT", parameterUrl("param-2")));
+            assertEquals(0, api.served("PUT", parameterUrl("param-1")));
+            assertEquals(0, api.served("PUT", parameterUrl("param-3")));
+            assertTrue(log.toString().contains("Project parameter 'url' is already set to 'https://example.com', skipping"));
+        }
+    }
+
+    @Test
+    public void sendsNothingWhenEveryParameterIsUpToDate() throws Exception {
+        try (ReplayedApi api = api()) {
+            new UpdateProjectParameters().updateProjectParameters(api.apiHelper(), projectId,
+                    values("url", "https://example.com", "user", "admin"));
+
+            assertEquals(0, api.served("PUT", parameterUrl("param-1")));
+            assertEquals(0, api.served("PUT", parameterUrl("param-2")));
+            assertTrue(log.toString().contains("All project parameters are already up to date"));
+        }
+    }
+
+    @Test
+    public void unknownParameterAbortsBeforeAnyUpdate() throws Exception {
+        try (ReplayedApi api = api()) {
+            api.respond("PUT", parameterUrl("param-2"), 200, "{}");
+
+            try {
+                new UpdateProjectParameters().updateProjectParameters(api.apiHelper(), projectId,
+                        values("user", "guest", "missing", "value"));
+                fail("The update did not abort");
+            } catch (AbortException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("[missing]"));
+            }
+
+            assertEquals(0, api.served("PUT", parameterUrl("param-2")));
+        }
+    }
+
+    @Test
+    public void parsesValuesInTheirOriginalOrder() throws AbortException {
+        Map<String, String> values = UpdateProjectParameters.parseParameters("{\"b\":\"x\",\"a\":3,\"c\":\"\"}");
+
+        assertEquals(values("b", "x", "a", "3", "c", ""), values);
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsNullValues() throws AbortException {
+        UpdateProjectParameters.parseParameters("{\"a\":null}");
+    }
+
+    @Test(expected = AbortException.class)
+    public void rejectsInvalidJson() throws AbortException {
+        UpdateProjectParameters.parseParameters("{\"a\":");
+    }
+}
@@ -0,0 +1,145 @@
+package io.testproject.plugins;
+
+import hudson.AbortException;
+import io.testproject.constants.Constants;
+import io.testproject.constants.ExecutionState;
+import io.testproject.constants.ExecutionType;
+import io.testproject.helpers.ExecutionHandle;
+import io.testproject.model.ExecutionStateResponseData;
+import net.sf.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class WaitForExecutionsTest {
+
+    private static final ExecutionHandle FIRST = new ExecutionHandle(ExecutionType.JOB, "project", "job-1", "execution-1");
+    private static final ExecutionHandle SECOND = new ExecutionHandle(ExecutionType.JOB, "project", "job-2", "execution-2");
+
+    private final Map<ExecutionHandle, CompletableFuture<ExecutionStateResponseData>> watches = new LinkedHashMap<>();
+    private final List<ExecutionHandle> aborted = new ArrayList<>();
+    private final Consumer<List<ExecutionHandle>> abort = aborted::addAll;
+
+    private static ExecutionStateResponseData state(ExecutionState executionState) {
+        ExecutionStateResponseData state = new ExecutionStateResponseData();
+        state.setState(executionState);
+
+        return state;
+    }
+
+    private CompletableFuture<ExecutionStateResponseData> watch(ExecutionHandle handle) {
+        CompletableFuture<ExecutionStateResponseData> watch = new CompletableFuture<>();
+        watches.put(handle, watch);
+
+        return watch;
+    }
+
+    @Test
+    public void allWaitsForEveryExecution() throws Exception {
+        watch(FIRST).complete(state(ExecutionState.Passed));
+        CompletableFuture<ExecutionStateResponseData> second = watch(SECOND);
+        new Thread(() -> second.complete(state(ExecutionState.Passed))).start();
+
+        Map<String, String> results = WaitForExecutions.awaitWatches(watches, false, 5000, abort);
+
+        assertEquals(Arrays.asList(FIRST.toString(), SECOND.toString()), new ArrayList<>(results.keySet()));
+        assertEquals("Passed", results.get(SECOND.toString()));
+        assertTrue(aborted.isEmpty());
+    }
+
+    @Test
+    public void anyReturnsWithTheFirstExecutionAndLeavesTheOthersRunning() throws Exception {
+        watch(FIRST);
+        watch(SECOND).complete(state(ExecutionState.Passed));
+
+        Map<String, String> results = WaitForExecutions.awaitWatches(watches, true, 5000, abort);
+
+        assertEquals(Collections.singleton(SECOND.toString()), results.keySet());
+        assertTrue(aborted.isEmpty());
+        assertTrue("The unfinished watch was not stopped", watches.get(FIRST).isCancelled());
+    }
+
+    @Test
+    public void timeoutAbortsTheUnfinishedExecutions() {
+        watch(FIRST).complete(state(ExecutionState.Passed));
+        watch(SECOND);
+
+        try {
+            WaitForExecutions.awaitWatches(watches, false, 50, abort);
+            fail("The wait did not time out");
+        } catch (Exception e) {
+            assertTrue(e instanceof AbortException);
+        }
+
+        assertEquals(Collections.singletonList(SECOND), aborted);
+    }
+
+    @Test
+    public void failedWatchAbortsTheOthers() {
+        watch(FIRST).completeExceptionally(new AbortException("Agent is offline"));
+        watch(SECOND);
+
+        try {
+            WaitForExecutions.awaitWatches(watches, false, 5000, abort);
+            fail("The wait did not fail");
+        } catch (Exception e) {
+            assertEquals("Unable to get execution state: Agent is offline", e.getMessage());
+        }
+
+        assertEquals(Collections.singletonList(SECOND), aborted);
+    }
+
+    @Test
+    public void cancelledBuildAbortsTheUnfinishedExecutions() {
+        watch(FIRST);
+        Thread.currentThread().interrupt();
+
+        try {
+            WaitForExecutions.awaitWatches(watches, false, 5000, abort);
+            fail("The wait was not interrupted");
+        } catch (Exception e) {
+            assertTrue(e instanceof InterruptedException);
+        }
+
+        assertEquals(Collections.singletonList(FIRST), aborted);
+    }
+
+    @Test
+    public void failsWhenAFinishedExecutionHasFailed() {
+        watch(FIRST).complete(state(ExecutionState.Passed));
+        watch(SECOND).complete(state(ExecutionState.Failed));
+
+        try {
+            WaitForExecutions.awaitWatches(watches, false, 5000, abort);
+            fail("The wait did not fail");
+        } catch (Exception e) {
+            assertEquals("The following executions have finished with errors: [execution-2]", e.getMessage());
+        }
+
+        assertTrue(aborted.isEmpty());
+    }
+
+    @Test
+    public void bindsTheHandlesFromTheForm() throws Exception {
+        JSONObject form = new JSONObject();
+        form.put("handles", FIRST + "\r\n\n  " + SECOND + "  \n");
+        form.put("mode", Constants.WAIT_MODE_ANY);
+        form.put("waitSeconds", 60);
+
+        WaitForExecutions step = (WaitForExecutions) new WaitForExecutions.DescriptorImpl().newInstance(null, form);
+
+        assertEquals(Arrays.asList(FIRST.toString(), SECOND.toString()), step.getHandles());
+        assertEquals(FIRST + "\n" + SECOND, step.getHandlesText());
+        assertEquals(Constants.WAIT_MODE_ANY, step.getMode());
+        assertEquals(60, step.getWaitSeconds());
+    }
+}